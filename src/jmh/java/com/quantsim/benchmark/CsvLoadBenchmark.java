@@ -0,0 +1,80 @@
+package com.quantsim.benchmark;
+
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.repository.InMemoryMarketDataRepository;
+import com.quantsim.service.BulkCsvIngestionService;
+import com.quantsim.service.CsvBarParser;
+import com.quantsim.service.IngestionReport;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * CSV ingestion throughput: {@link CsvBarParser} on a single file of the given size, and
+ * {@link BulkCsvIngestionService} on a directory of per-ticker files.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class CsvLoadBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"100"})
+    public int files;
+
+    private Path file;
+    private Path directory;
+    private BulkCsvIngestionService ingestionService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("quantsim-bench", ".csv");
+        SyntheticMarketData.writeCsv(SyntheticMarketData.series("SPY", rows, 42L), file);
+
+        directory = Files.createTempDirectory("quantsim-bench");
+        int rowsPerFile = Math.max(1, rows / files);
+        for (int t = 0; t < files; t++) {
+            String ticker = SyntheticMarketData.ticker(t);
+            SyntheticMarketData.writeCsv(SyntheticMarketData.series(ticker, rowsPerFile, 42L),
+                    directory.resolve(ticker + ".csv"));
+        }
+        ingestionService = new BulkCsvIngestionService(new InMemoryMarketDataRepository(), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ingestionService.shutdown();
+        Files.deleteIfExists(file);
+        try (Stream<Path> entries = Files.walk(directory)) {
+            for (Path path : entries.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public PriceSeries parseFile() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return new CsvBarParser("SPY").parse(in).series().get("SPY");
+        }
+    }
+
+    /**
+     * The same total row count split across {@code files} per-ticker files, parsed in parallel.
+     */
+    @Benchmark
+    public IngestionReport ingestDirectory() throws IOException {
+        return ingestionService.ingestDirectory(directory);
+    }
+}
@@ -0,0 +1,77 @@
+package com.quantsim.benchmark;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationService;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.strategy.MovingAverageCrossoverStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-bar cost of the {@code FAST} simulation under each {@link ExecutionModel}, against the closes-only
+ * kernel used without one. Scores are nanoseconds per bar; signals are precomputed, so only the simulation
+ * is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ExecutionModelBenchmark.BARS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ExecutionModelBenchmark {
+
+    static final int BARS = 1_000_000;
+    private static final BigDecimal INITIAL_CAPITAL = new BigDecimal("100000");
+
+    /**
+     * {@code NONE} runs the execution kernel with the frictionless model; the others add one feature each,
+     * and {@code ALL} combines them.
+     */
+    @Param({"NONE", "COMMISSION", "SLIPPAGE", "NEXT_OPEN", "STOPS", "ALL"})
+    public String model;
+
+    private final SimulationService simulationService = new SimulationService();
+    private PriceSeries series;
+    private double[] closes;
+    private byte[] signals;
+    private ExecutionModel execution;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        series = SyntheticMarketData.series("SPY", BARS, 42L);
+        SeriesIndicators indicators = SeriesIndicators.of(series);
+        closes = indicators.closes();
+        signals = new byte[BARS];
+        new MovingAverageCrossoverStrategy().generateSignals(indicators,
+                Map.of("shortWindow", 20.0, "longWindow", 50.0), signals);
+        execution = switch (model) {
+            case "NONE" -> ExecutionModel.NONE;
+            case "COMMISSION" -> new ExecutionModel(ExecutionModel.Fill.CLOSE, 1.0, 1.0, 0, 0, 0, 0);
+            case "SLIPPAGE" -> new ExecutionModel(ExecutionModel.Fill.CLOSE, 0, 0, 2.0, 10.0, 0, 0);
+            case "NEXT_OPEN" -> new ExecutionModel(ExecutionModel.Fill.NEXT_OPEN, 0, 0, 0, 0, 0, 0);
+            case "STOPS" -> new ExecutionModel(ExecutionModel.Fill.CLOSE, 0, 0, 0, 0, 0.05, 0.10);
+            case "ALL" -> new ExecutionModel(ExecutionModel.Fill.NEXT_OPEN, 1.0, 1.0, 2.0, 10.0, 0.05, 0.10);
+            default -> throw new IllegalArgumentException("Unknown model: " + model);
+        };
+    }
+
+    /**
+     * The closes-only kernel that backtests use without an execution model; the same for every {@code model}.
+     */
+    @Benchmark
+    public BacktestResult baseline() {
+        return simulationService.simulate(INITIAL_CAPITAL, closes, signals);
+    }
+
+    @Benchmark
+    public BacktestResult withExecution() {
+        return simulationService.simulate(INITIAL_CAPITAL, series, signals, execution, ProgressMonitor.NONE);
+    }
+}
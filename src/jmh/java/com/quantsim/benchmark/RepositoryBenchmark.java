@@ -0,0 +1,90 @@
+package com.quantsim.benchmark;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.repository.InMemoryMarketDataRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InMemoryMarketDataRepository} read and save throughput across universe sizes,
+ * alone and with readers running concurrently with a writer that keeps replacing tickers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class RepositoryBenchmark {
+
+    @Param({"1", "100", "5000"})
+    public int tickers;
+
+    @Param({"1000"})
+    public int barsPerTicker;
+
+    private InMemoryMarketDataRepository repository;
+    private PriceSeries replacement;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryMarketDataRepository();
+        for (int t = 0; t < tickers; t++) {
+            String ticker = SyntheticMarketData.ticker(t);
+            repository.saveSeries(ticker, SyntheticMarketData.series(ticker, barsPerTicker, 42L));
+        }
+        replacement = SyntheticMarketData.series(SyntheticMarketData.ticker(0), barsPerTicker, 7L);
+        windowStart = replacement.getDate(barsPerTicker / 4);
+        windowEnd = replacement.getDate(barsPerTicker / 2);
+        for (int t = 0; t < tickers; t++) {
+            // Materialize the compatibility views up front so reads measure steady state
+            repository.findByTicker(SyntheticMarketData.ticker(t));
+        }
+    }
+
+    @Benchmark
+    public Optional<PriceSeries> findSeries() {
+        return repository.findSeriesByTicker(randomTicker());
+    }
+
+    @Benchmark
+    public Optional<PriceSeries> findSeriesRange() {
+        return repository.findSeriesByTicker(randomTicker(), windowStart, windowEnd);
+    }
+
+    @Benchmark
+    public Optional<List<MarketData>> findMarketData() {
+        return repository.findByTicker(randomTicker());
+    }
+
+    @Benchmark
+    public void saveSeries() {
+        repository.saveSeries(randomTicker(), replacement);
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(7)
+    public Optional<List<MarketData>> concurrentRead() {
+        return repository.findByTicker(randomTicker(), windowStart, windowEnd);
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public void concurrentSave() {
+        repository.saveSeries(randomTicker(), replacement);
+    }
+
+    private String randomTicker() {
+        return SyntheticMarketData.ticker(ThreadLocalRandom.current().nextInt(tickers));
+    }
+}
@@ -0,0 +1,50 @@
+package com.quantsim.benchmark;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.analytics.SimulationService;
+import com.quantsim.domain.MarketData;
+import com.quantsim.strategy.MovingAverageCrossoverStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link SimulationService#runBacktest} throughput (signal generation plus simulation)
+ * in each {@link SimulationMode}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 10M bars of MarketData need well over 4 GB; the heap only grows that far for that size
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@State(Scope.Benchmark)
+public class SimulationBenchmark {
+
+    private static final BigDecimal INITIAL_CAPITAL = new BigDecimal("100000");
+    private static final Map<String, Double> PARAMETERS = Map.of("shortWindow", 20.0, "longWindow", 50.0);
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int bars;
+
+    @Param({"EXACT", "FAST"})
+    public SimulationMode mode;
+
+    private final SimulationService simulationService = new SimulationService();
+    private final MovingAverageCrossoverStrategy strategy = new MovingAverageCrossoverStrategy();
+    private List<MarketData> data;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SyntheticMarketData.marketData("SPY", bars, 42L);
+    }
+
+    @Benchmark
+    public BacktestResult runBacktest() {
+        return simulationService.runBacktest(strategy, INITIAL_CAPITAL, data, PARAMETERS, mode);
+    }
+}
@@ -0,0 +1,113 @@
+package com.quantsim.benchmark;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.strategy.MovingAverageCrossoverStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signal generation throughput of {@link MovingAverageCrossoverStrategy} per data size and window pair,
+ * through the list contract and the vectorized {@code byte[]} contract (single and 64-set batches).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// 10M bars of MarketData need well over 4 GB; the heap only grows that far for that size
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx16g"})
+@State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int bars;
+
+    @Param({"5:20", "20:50", "50:200"})
+    public String windows;
+
+    private final MovingAverageCrossoverStrategy strategy = new MovingAverageCrossoverStrategy();
+    private List<MarketData> data;
+    private double[] closes;
+    private Map<String, Double> parameters;
+    private byte[] signalCodes;
+    private SeriesIndicators sharedIndicators;
+    private List<Map<String, Double>> parameterSets;
+    private byte[][] batchCodes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = SyntheticMarketData.marketData("SPY", bars, 42L);
+        closes = SeriesIndicators.of(data).closes();
+        String[] parts = windows.split(":");
+        parameters = Map.of(
+                "shortWindow", Double.parseDouble(parts[0]),
+                "longWindow", Double.parseDouble(parts[1]));
+        signalCodes = new byte[bars];
+
+        // A 64-set grid around the configured windows, as one sweep batch would see it.
+        int shortWindow = Integer.parseInt(parts[0]);
+        int longWindow = Integer.parseInt(parts[1]);
+        parameterSets = new ArrayList<>();
+        for (int s = 0; s < 8; s++) {
+            for (int l = 0; l < 8; l++) {
+                parameterSets.add(Map.of(
+                        "shortWindow", (double) Math.max(1, shortWindow - 4 + s),
+                        "longWindow", (double) (longWindow + l * 5)));
+            }
+        }
+        sharedIndicators = SeriesIndicators.ofCloses(closes);
+        batchCodes = new byte[parameterSets.size()][bars];
+    }
+
+    /**
+     * Full path from {@link MarketData} objects, as used by a single backtest request.
+     */
+    @Benchmark
+    public List<TradeSignal> fromMarketData() {
+        return strategy.generateSignals(data, parameters);
+    }
+
+    /**
+     * From a primitive close column, including computing both moving averages.
+     */
+    @Benchmark
+    public List<TradeSignal> fromCloses() {
+        return strategy.generateSignals(SeriesIndicators.ofCloses(closes), parameters);
+    }
+
+    /**
+     * Vectorized contract into a reused {@code byte[]}, including computing both moving averages.
+     */
+    @Benchmark
+    public byte[] codesFromCloses() {
+        strategy.generateSignals(SeriesIndicators.ofCloses(closes), parameters, signalCodes);
+        return signalCodes;
+    }
+
+    /**
+     * 64 parameter sets, one set at a time through the list contract, over shared indicator columns.
+     */
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public void gridOneByOne(Blackhole blackhole) {
+        for (Map<String, Double> set : parameterSets) {
+            blackhole.consume(strategy.generateSignals(sharedIndicators, set));
+        }
+    }
+
+    /**
+     * The same 64 parameter sets in one blocked multi-parameter pass.
+     */
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public byte[][] gridBatched() {
+        strategy.generateSignals(sharedIndicators, parameterSets, batchCodes);
+        return batchCodes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.quantsim.benchmark;
+
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic OHLCV generator for benchmarks.
+ * Closes follow a geometric random walk; the same (ticker, bars, seed) always yields the same series.
+ */
+public final class SyntheticMarketData {
+
+    private static final LocalDate START = LocalDate.of(1990, 1, 1);
+
+    private SyntheticMarketData() {
+    }
+
+    public static PriceSeries series(String ticker, int bars, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ ticker.hashCode());
+        int[] timestamps = new int[bars];
+        double[] open = new double[bars];
+        double[] high = new double[bars];
+        double[] low = new double[bars];
+        double[] close = new double[bars];
+        double[] volume = new double[bars];
+
+        int startDay = Math.toIntExact(START.toEpochDay());
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            double o = price;
+            price = Math.max(0.01, price * Math.exp(0.0002 + 0.01 * random.nextGaussian()));
+            double range = Math.abs(price - o) + price * 0.005 * random.nextDouble();
+            timestamps[i] = startDay + i;
+            open[i] = o;
+            close[i] = price;
+            high[i] = Math.max(o, price) + range * random.nextDouble();
+            low[i] = Math.max(0.01, Math.min(o, price) - range * random.nextDouble());
+            volume[i] = Math.floor(1_000_000 + 9_000_000 * random.nextDouble());
+        }
+        return new PriceSeries(ticker, BarResolution.DAY, timestamps, open, high, low, close, volume);
+    }
+
+    public static List<MarketData> marketData(String ticker, int bars, long seed) {
+        return series(ticker, bars, seed).toMarketDataList();
+    }
+
+    public static String ticker(int index) {
+        return "T" + index;
+    }
+
+    /**
+     * Writes a series as a CSV file in the loader's {@code Date,Open,High,Low,Close,Volume} format.
+     */
+    public static void writeCsv(PriceSeries series, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Date,Open,High,Low,Close,Volume\n");
+            for (int i = 0; i < series.size(); i++) {
+                writer.write(series.getDate(i) + "," + series.getOpen(i) + "," + series.getHigh(i) + ","
+                        + series.getLow(i) + "," + series.getClose(i) + "," + (long) series.getVolume(i) + "\n");
+            }
+        }
+    }
+}
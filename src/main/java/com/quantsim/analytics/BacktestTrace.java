@@ -0,0 +1,327 @@
+package com.quantsim.analytics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-bar equity, drawdown and position columns of a {@link SimulationMode#FAST} backtest, plus its trade log.
+ * All columns are primitive arrays aligned by point. A trace covers every bar of the backtest until it is
+ * {@linkplain #downsample(int) downsampled}; trades are never downsampled.
+ * <p>
+ * Serializes to JSON as arrays of numbers, or to a little-endian columnar binary layout with
+ * {@link #writeColumns(OutputStream)}:
+ * <pre>
+ * int32 magic "QSTR", int32 version, int32 resolution, int32 points, int32 trades, int32 bars,
+ * float64 initialCapital, finalCapital, sharpeRatio, maxDrawdown,
+ * int32 timestamp[points], float64 equity[points], float64 drawdown[points], float64 position[points],
+ * int32 entryTimestamp[trades], int32 exitTimestamp[trades] (-1 while open),
+ * float64 entryPrice[trades], float64 exitPrice[trades], float64 shares[trades], float64 pnl[trades]
+ * </pre>
+ * Timestamps are in the series' {@link BarResolution}.
+ */
+@JsonPropertyOrder({"summary", "bars", "points", "dates", "equity", "drawdown", "position", "trades"})
+public final class BacktestTrace {
+
+    /** Media type of {@link #writeColumns(OutputStream)}. */
+    public static final String COLUMNS_MEDIA_TYPE = "application/vnd.quantsim.trace";
+
+    private static final int MAGIC = 0x52545351; // "QSTR" little-endian
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 6 * Integer.BYTES + 4 * Double.BYTES;
+
+    private final BacktestResult summary;
+    private final BarResolution resolution;
+    private final int bars;
+    private final int[] timestamps;
+    private final double[] equity;
+    private final double[] drawdown;
+    private final double[] position;
+    private final Trades trades;
+
+    private BacktestTrace(BacktestResult summary, BarResolution resolution, int bars, int[] timestamps,
+                          double[] equity, double[] drawdown, double[] position, Trades trades) {
+        this.summary = summary;
+        this.resolution = resolution;
+        this.bars = bars;
+        this.timestamps = timestamps;
+        this.equity = equity;
+        this.drawdown = drawdown;
+        this.position = position;
+        this.trades = trades;
+    }
+
+    /**
+     * Simulates {@code signals} over {@code series} and records every bar.
+     * The equity column and the summary come from {@link FastSimulationKernel}; drawdown, position and
+     * trades are derived from them in one more pass, following the kernel's all-in/all-out rules.
+     */
+    public static BacktestTrace simulate(BigDecimal initialCapital, PriceSeries series, byte[] signals) {
+        return simulate(initialCapital, series, signals, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Like {@link #simulate(BigDecimal, PriceSeries, byte[])}, reporting simulated bars to {@code progress}.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code progress} is cancelled while simulating
+     */
+    public static BacktestTrace simulate(BigDecimal initialCapital, PriceSeries series, byte[] signals,
+                                         ProgressMonitor progress) {
+        int n = series.size();
+        if (n == 0) {
+            throw new IllegalArgumentException("Cannot trace a backtest without bars");
+        }
+        double[] closes = new double[n];
+        int[] timestamps = new int[n];
+        for (int i = 0; i < n; i++) {
+            closes[i] = series.getClose(i);
+            timestamps[i] = series.getTimestamp(i);
+        }
+        double[] equity = new double[n];
+        BacktestResult summary = FastSimulationKernel.run(initialCapital, closes, signals, 0, n, equity, progress);
+
+        double[] drawdown = new double[n];
+        double[] position = new double[n];
+        Trades trades = new Trades(16);
+        double peak = initialCapital.doubleValue();
+        double shares = 0.0;
+        for (int i = 0; i < n; i++) {
+            byte signal = i < signals.length ? signals[i] : TradeSignal.HOLD_CODE;
+            if (signal == TradeSignal.BUY_CODE && shares == 0.0 && equity[i] > 0.0) {
+                shares = equity[i] / closes[i];
+                trades.open(timestamps[i], closes[i], shares);
+            } else if (signal == TradeSignal.SELL_CODE && shares > 0.0) {
+                trades.close(timestamps[i], closes[i]);
+                shares = 0.0;
+            }
+            position[i] = shares;
+            peak = Math.max(peak, equity[i]);
+            drawdown[i] = peak > 0.0 ? (peak - equity[i]) / peak : 0.0;
+        }
+        if (shares > 0.0) {
+            trades.mark(closes[n - 1]);
+        }
+        return new BacktestTrace(summary, series.getResolution(), n, timestamps, equity, drawdown, position,
+                trades);
+    }
+
+    /**
+     * Returns a trace with at most {@code maxPoints} points chosen by {@link Downsampling#lttb} on the equity
+     * column; 0 keeps every point.
+     */
+    public BacktestTrace downsample(int maxPoints) {
+        int[] keep = Downsampling.lttb(timestamps, equity, maxPoints);
+        if (keep.length == timestamps.length) {
+            return this;
+        }
+        int[] sampledTimestamps = new int[keep.length];
+        double[] sampledEquity = new double[keep.length];
+        double[] sampledDrawdown = new double[keep.length];
+        double[] sampledPosition = new double[keep.length];
+        for (int k = 0; k < keep.length; k++) {
+            int i = keep[k];
+            sampledTimestamps[k] = timestamps[i];
+            sampledEquity[k] = equity[i];
+            sampledDrawdown[k] = drawdown[i];
+            sampledPosition[k] = position[i];
+        }
+        return new BacktestTrace(summary, resolution, bars, sampledTimestamps, sampledEquity, sampledDrawdown,
+                sampledPosition, trades);
+    }
+
+    /**
+     * Writes the columnar binary layout described in the class documentation.
+     */
+    public void writeColumns(OutputStream out) throws IOException {
+        int points = timestamps.length;
+        int tradeCount = trades.size;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(resolution.ordinal())
+                .putInt(points)
+                .putInt(tradeCount)
+                .putInt(bars)
+                .putDouble(summary.initialCapital().doubleValue())
+                .putDouble(summary.finalCapital().doubleValue())
+                .putDouble(summary.sharpeRatio().doubleValue())
+                .putDouble(summary.maxDrawdown().doubleValue());
+        WritableByteChannel channel = Channels.newChannel(out);
+        write(channel, buffer);
+        write(channel, timestamps, points);
+        write(channel, equity, points);
+        write(channel, drawdown, points);
+        write(channel, position, points);
+        write(channel, trades.entryTimestamps, tradeCount);
+        write(channel, trades.exitTimestamps, tradeCount);
+        write(channel, trades.entryPrices, tradeCount);
+        write(channel, trades.exitPrices, tradeCount);
+        write(channel, trades.shares, tradeCount);
+        write(channel, trades.pnl, tradeCount);
+    }
+
+    public BacktestResult getSummary() {
+        return summary;
+    }
+
+    /**
+     * Number of bars in the backtest; {@link #getPoints()} is smaller after downsampling.
+     */
+    public int getBars() {
+        return bars;
+    }
+
+    public int getPoints() {
+        return timestamps.length;
+    }
+
+    public List<LocalDate> getDates() {
+        return new AbstractList<>() {
+            @Override
+            public LocalDate get(int index) {
+                return resolution.toDate(timestamps[index]);
+            }
+
+            @Override
+            public int size() {
+                return timestamps.length;
+            }
+        };
+    }
+
+    @JsonIgnore
+    public int[] getTimestamps() {
+        return timestamps;
+    }
+
+    public double[] getEquity() {
+        return equity;
+    }
+
+    public double[] getDrawdown() {
+        return drawdown;
+    }
+
+    /**
+     * Shares held after each point's bar; 0 while flat.
+     */
+    public double[] getPosition() {
+        return position;
+    }
+
+    public List<Trade> getTrades() {
+        return new AbstractList<>() {
+            @Override
+            public Trade get(int index) {
+                return trades.get(index, resolution);
+            }
+
+            @Override
+            public int size() {
+                return trades.size;
+            }
+        };
+    }
+
+    /**
+     * One round trip. {@code exitDate} is null and {@code exitPrice} is the last close while the trade is open.
+     */
+    public record Trade(LocalDate entryDate, LocalDate exitDate, double entryPrice, double exitPrice,
+                        double shares, double pnl) {}
+
+    private static void write(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void write(WritableByteChannel channel, int[] values, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asIntBuffer().put(values, 0, length);
+        buffer.position(buffer.limit());
+        write(channel, buffer);
+    }
+
+    private static void write(WritableByteChannel channel, double[] values, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(values, 0, length);
+        buffer.position(buffer.limit());
+        write(channel, buffer);
+    }
+
+    /**
+     * Growable primitive columns of the trade log.
+     */
+    private static final class Trades {
+
+        private int[] entryTimestamps;
+        private int[] exitTimestamps;
+        private double[] entryPrices;
+        private double[] exitPrices;
+        private double[] shares;
+        private double[] pnl;
+        private int size;
+
+        Trades(int capacity) {
+            entryTimestamps = new int[capacity];
+            exitTimestamps = new int[capacity];
+            entryPrices = new double[capacity];
+            exitPrices = new double[capacity];
+            shares = new double[capacity];
+            pnl = new double[capacity];
+        }
+
+        void open(int timestamp, double price, double quantity) {
+            if (size == entryTimestamps.length) {
+                int capacity = size * 2;
+                entryTimestamps = Arrays.copyOf(entryTimestamps, capacity);
+                exitTimestamps = Arrays.copyOf(exitTimestamps, capacity);
+                entryPrices = Arrays.copyOf(entryPrices, capacity);
+                exitPrices = Arrays.copyOf(exitPrices, capacity);
+                shares = Arrays.copyOf(shares, capacity);
+                pnl = Arrays.copyOf(pnl, capacity);
+            }
+            entryTimestamps[size] = timestamp;
+            exitTimestamps[size] = -1;
+            entryPrices[size] = price;
+            shares[size] = quantity;
+            size++;
+        }
+
+        void close(int timestamp, double price) {
+            exitTimestamps[size - 1] = timestamp;
+            mark(price);
+        }
+
+        /**
+         * Values the latest trade at {@code price}.
+         */
+        void mark(double price) {
+            int last = size - 1;
+            exitPrices[last] = price;
+            pnl[last] = shares[last] * (price - entryPrices[last]);
+        }
+
+        Trade get(int index, BarResolution resolution) {
+            return new Trade(
+                    resolution.toDate(entryTimestamps[index]),
+                    exitTimestamps[index] >= 0 ? resolution.toDate(exitTimestamps[index]) : null,
+                    entryPrices[index], exitPrices[index], shares[index], pnl[index]);
+        }
+    }
+}
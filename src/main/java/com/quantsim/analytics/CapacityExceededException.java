@@ -0,0 +1,12 @@
+package com.quantsim.analytics;
+
+/**
+ * Thrown when a request is rejected because a bounded execution resource is already at capacity.
+ * Clients may retry later.
+ */
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
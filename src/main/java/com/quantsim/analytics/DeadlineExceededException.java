@@ -0,0 +1,18 @@
+package com.quantsim.analytics;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by {@link ProgressMonitor} when a computation runs past its deadline.
+ * It is a {@link CancellationException}, so the deadline stops the computation like any cancellation.
+ */
+public class DeadlineExceededException extends CancellationException {
+
+    public DeadlineExceededException() {
+        super("Request deadline exceeded");
+    }
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
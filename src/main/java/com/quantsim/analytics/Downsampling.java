@@ -0,0 +1,72 @@
+package com.quantsim.analytics;
+
+/**
+ * Downsampling of long series for plotting.
+ */
+public final class Downsampling {
+
+    private Downsampling() {
+    }
+
+    /**
+     * Selects at most {@code maxPoints} indices of a series with Largest-Triangle-Three-Buckets (LTTB).
+     * The first and last points are always kept; every bucket in between contributes the point forming the
+     * largest triangle with the previously selected point and the average of the next bucket, which keeps
+     * peaks and troughs visible. Runs in O(n) without allocating beyond the result.
+     *
+     * @param x         ascending x coordinates (e.g. timestamps)
+     * @param y         values aligned with {@code x}
+     * @param maxPoints maximum number of points to keep; 0, or at least {@code x.length}, keeps every point
+     * @return selected indices in ascending order
+     */
+    public static int[] lttb(int[] x, double[] y, int maxPoints) {
+        int n = x.length;
+        if (maxPoints < 0 || (maxPoints > 0 && maxPoints < 3)) {
+            throw new IllegalArgumentException("maxPoints must be 0 or at least 3");
+        }
+        if (maxPoints == 0 || maxPoints >= n) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[maxPoints];
+        double bucketSize = (double) (n - 2) / (maxPoints - 2);
+        int previous = 0;
+        selected[0] = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int nextFrom = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextTo = Math.min((int) ((bucket + 2) * bucketSize) + 1, n);
+            double averageX = 0.0;
+            double averageY = 0.0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextTo - nextFrom;
+            averageX /= nextCount;
+            averageY /= nextCount;
+
+            int from = (int) (bucket * bucketSize) + 1;
+            int to = (int) ((bucket + 1) * bucketSize) + 1;
+            double previousX = x[previous];
+            double previousY = y[previous];
+            double maxArea = -1.0;
+            int chosen = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((previousX - averageX) * (y[i] - previousY)
+                        - (previousX - x[i]) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected[bucket + 1] = chosen;
+            previous = chosen;
+        }
+        selected[maxPoints - 1] = n - 1;
+        return selected;
+    }
+}
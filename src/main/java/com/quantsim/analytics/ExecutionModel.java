@@ -0,0 +1,111 @@
+package com.quantsim.analytics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * How simulated orders are filled and what they cost, applied by the {@link SimulationMode#FAST} simulation.
+ * <p>
+ * Every fill pays {@code commission} plus {@code commissionBps} of its notional. Its price moves against the
+ * order by half of {@code spreadBps} plus a square-root market impact: {@code impactBps} scaled by
+ * {@code sqrt(shares / bar volume)}, so an order of the bar's whole volume pays the full {@code impactBps}.
+ * Orders larger than the bar's volume pay no more, and bars without volume pay no impact. Orders are filled
+ * at the signal bar's close, or with {@link Fill#NEXT_OPEN} at the next bar's open. An exit whose net value
+ * is below the fixed {@code commission} still closes the position, but pays only that value in commission,
+ * so cash never goes negative.
+ * <p>
+ * While a position is open, a stop at {@code stopLoss} below the entry price and a limit at
+ * {@code takeProfit} above it are checked against each later bar's low and high. A triggered exit fills at
+ * its level, or at the open if the bar gapped through it. When both trigger in one bar the stop is assumed
+ * to fill first. Zero disables either exit.
+ * <p>
+ * {@link #NONE} is the frictionless model: fills at the close with no costs, as the simulation has always
+ * done. This is a parameter record rather than an interface so the simulation loop stays monomorphic and
+ * allocation-free whichever model is used.
+ */
+public record ExecutionModel(
+        Fill fill,
+        double commission,
+        double commissionBps,
+        double spreadBps,
+        double impactBps,
+        double stopLoss,
+        double takeProfit
+) {
+
+    public static final ExecutionModel NONE = new ExecutionModel(Fill.CLOSE, 0, 0, 0, 0, 0, 0);
+
+    private static final double BPS = 10_000.0;
+
+    public ExecutionModel {
+        if (fill == null) {
+            fill = Fill.CLOSE;
+        }
+        if (!(commission >= 0) || !(commissionBps >= 0) || !(spreadBps >= 0) || !(impactBps >= 0)) {
+            throw new IllegalArgumentException("Commissions, spread and impact must not be negative");
+        }
+        if (commissionBps >= BPS || spreadBps / 2 + impactBps >= BPS) {
+            throw new IllegalArgumentException("Commission and slippage must each stay below 10000 bps");
+        }
+        if (!(stopLoss >= 0 && stopLoss < 1)) {
+            throw new IllegalArgumentException("stopLoss must be a fraction in [0, 1)");
+        }
+        if (!(takeProfit >= 0) || Double.isInfinite(takeProfit)) {
+            throw new IllegalArgumentException("takeProfit must be a non-negative fraction");
+        }
+    }
+
+    /**
+     * Returns the model for a request, {@link #NONE} when it has none.
+     */
+    public static ExecutionModel orNone(ExecutionModel model) {
+        return model != null ? model : NONE;
+    }
+
+    /**
+     * True when this model fills exactly like {@link #NONE}.
+     */
+    @JsonIgnore
+    public boolean isFrictionless() {
+        return fill == Fill.CLOSE && commission == 0 && commissionBps == 0 && spreadBps == 0 && impactBps == 0
+                && stopLoss == 0 && takeProfit == 0;
+    }
+
+    double commissionRate() {
+        return commissionBps / BPS;
+    }
+
+    double halfSpread() {
+        return spreadBps / 2 / BPS;
+    }
+
+    double impact() {
+        return impactBps / BPS;
+    }
+
+    /**
+     * When an order generated at a bar's close is filled.
+     */
+    public enum Fill {
+        /**
+         * At the close of the bar that produced the signal.
+         */
+        CLOSE,
+        /**
+         * At the open of the following bar; a signal on the last bar is never filled.
+         */
+        NEXT_OPEN;
+
+        @JsonCreator
+        public static Fill fromString(String value) {
+            if (value == null || value.isBlank()) {
+                return CLOSE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown fill: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Primitive {@code double} implementation of the all-in/all-out simulation used by
+ * {@link SimulationService} in {@link SimulationMode#FAST}. The per-bar loop allocates nothing:
+ * drawdown uses a running peak and returns feed a {@link StreamingMoments}. {@link #runAll} simulates many
+ * signal columns in one shared scan of the closes.
+ * <p>
+ * Like {@link PortfolioSimulationService}, a bar whose price is missing, non-finite or not positive is not
+ * traded on: its BUY or SELL is skipped and open positions stay marked at the last valid close, so a bad
+ * bar can never turn the metrics into NaN or infinity.
+ */
+final class FastSimulationKernel {
+
+    private static final int SCALE = 4;
+    /** Closes per block of {@link #runAll}: 16 KB, small enough to stay in L1 while every column reads it. */
+    static final int SCAN_BLOCK = 2048;
+
+    private FastSimulationKernel() {
+    }
+
+    static BacktestResult run(BigDecimal initialCapital, double[] closes, List<TradeSignal> signals) {
+        return run(initialCapital, closes, TradeSignal.encode(signals, closes.length));
+    }
+
+    /**
+     * Runs the simulation over a column of {@link TradeSignal} codes aligned by index with {@code closes}.
+     */
+    static BacktestResult run(BigDecimal initialCapital, double[] closes, byte[] signals) {
+        return run(initialCapital, closes, signals, 0, closes.length, null, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Runs the simulation over bars {@code [from, to)} only, starting flat with {@code initialCapital} at
+     * {@code from}. Signals outside the range are ignored; indicators behind them may still look back
+     * before {@code from}.
+     *
+     * @param equity   if not null, receives the portfolio value after each bar {@code i} at {@code equity[i]}
+     * @param progress receives simulated bars every {@link ProgressMonitor#CHECK_INTERVAL} bars
+     */
+    static BacktestResult run(BigDecimal initialCapital, double[] closes, byte[] signals, int from, int to,
+                              double[] equity, ProgressMonitor progress) {
+        double capital = initialCapital.doubleValue();
+        double cash = capital;
+        double position = 0.0;
+        double peak = capital;
+        double maxDrawdown = 0.0;
+        double prevPortfolioValue = capital;
+        double mark = 0.0;
+        StreamingMoments returns = new StreamingMoments();
+
+        int signalCount = signals.length;
+        for (int i = from; i < to; i++) {
+            double close = closes[i];
+            boolean tradable = tradable(close);
+            if (tradable) {
+                mark = close;
+            }
+            byte signal = i < signalCount ? signals[i] : TradeSignal.HOLD_CODE;
+
+            if (signal == TradeSignal.BUY_CODE) {
+                if (tradable && position == 0.0 && cash > 0.0) {
+                    position = cash / close;
+                    cash = 0.0;
+                }
+            } else if (signal == TradeSignal.SELL_CODE) {
+                if (tradable && position > 0.0) {
+                    cash = position * close;
+                    position = 0.0;
+                }
+            }
+
+            double portfolioValue = cash + position * mark;
+            if (equity != null) {
+                equity[i] = portfolioValue;
+            }
+            if (portfolioValue > peak) {
+                peak = portfolioValue;
+            }
+            if (peak > 0.0) {
+                double drawdown = (peak - portfolioValue) / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+            if (prevPortfolioValue > 0.0) {
+                returns.add((portfolioValue - prevPortfolioValue) / prevPortfolioValue);
+            }
+            prevPortfolioValue = portfolioValue;
+            if (((i + 1 - from) & (ProgressMonitor.CHECK_INTERVAL - 1)) == 0) {
+                progress.advance(ProgressMonitor.CHECK_INTERVAL);
+            }
+        }
+        progress.advance((to - from) & (ProgressMonitor.CHECK_INTERVAL - 1));
+
+        double finalCapital = cash + position * mark;
+        return result(initialCapital, finalCapital, returns, maxDrawdown);
+    }
+
+    /**
+     * Runs the simulation over a full OHLCV series with the fills and costs of {@code model}.
+     * With {@link ExecutionModel#NONE} the result equals {@link #run(BigDecimal, double[], byte[])} over the
+     * closes; the extra per-bar work is a few branches on primitive state, and nothing is allocated.
+     * A bar without an open price fills its open orders at its close.
+     */
+    static BacktestResult run(BigDecimal initialCapital, PriceSeries series, byte[] signals, ExecutionModel model,
+                              ProgressMonitor progress) {
+        boolean nextOpen = model.fill() == ExecutionModel.Fill.NEXT_OPEN;
+        double commission = model.commission();
+        double commissionRate = model.commissionRate();
+        double halfSpread = model.halfSpread();
+        double impact = model.impact();
+        double stopLoss = model.stopLoss();
+        double takeProfit = model.takeProfit();
+
+        double capital = initialCapital.doubleValue();
+        double cash = capital;
+        double position = 0.0;
+        double stopPrice = 0.0;
+        double limitPrice = 0.0;
+        byte pending = TradeSignal.HOLD_CODE;
+        double peak = capital;
+        double maxDrawdown = 0.0;
+        double prevPortfolioValue = capital;
+        double mark = 0.0;
+        StreamingMoments returns = new StreamingMoments();
+
+        int n = series.size();
+        int signalCount = signals.length;
+        for (int i = 0; i < n; i++) {
+            double close = series.getClose(i);
+            boolean tradable = tradable(close);
+            if (tradable) {
+                mark = close;
+            }
+            double open = series.getOpen(i);
+            if (!tradable(open)) {
+                open = close;
+            }
+            double volume = series.getVolume(i);
+
+            // A bar without a valid close fills nothing; pending orders wait for the next valid bar
+            if (tradable) {
+                if (pending == TradeSignal.BUY_CODE && position == 0.0) {
+                    double fillShares = buyShares(cash, open, volume, commission, commissionRate, halfSpread, impact);
+                    if (fillShares > 0.0) {
+                        double entry = (cash - commission) / (fillShares * (1.0 + commissionRate));
+                        position = fillShares;
+                        cash = 0.0;
+                        stopPrice = stopLoss > 0.0 ? entry * (1.0 - stopLoss) : 0.0;
+                        limitPrice = takeProfit > 0.0 ? entry * (1.0 + takeProfit) : 0.0;
+                    }
+                } else if (pending == TradeSignal.SELL_CODE && position > 0.0) {
+                    cash = sellProceeds(position, open, volume, commission, commissionRate, halfSpread, impact);
+                    position = 0.0;
+                }
+                pending = TradeSignal.HOLD_CODE;
+
+                if (position > 0.0) {
+                    if (stopPrice > 0.0 && series.getLow(i) <= stopPrice) {
+                        double exit = Math.min(open, stopPrice);
+                        cash = sellProceeds(position, exit, volume, commission, commissionRate, halfSpread, impact);
+                        position = 0.0;
+                    } else if (limitPrice > 0.0 && series.getHigh(i) >= limitPrice) {
+                        double exit = Math.max(open, limitPrice);
+                        cash = sellProceeds(position, exit, volume, commission, commissionRate, halfSpread, impact);
+                        position = 0.0;
+                    }
+                }
+            }
+
+            byte signal = i < signalCount ? signals[i] : TradeSignal.HOLD_CODE;
+            if (nextOpen) {
+                if (signal != TradeSignal.HOLD_CODE) {
+                    pending = signal;
+                }
+            } else if (tradable && signal == TradeSignal.BUY_CODE) {
+                if (position == 0.0) {
+                    double fillShares = buyShares(cash, close, volume, commission, commissionRate, halfSpread,
+                            impact);
+                    if (fillShares > 0.0) {
+                        double entry = (cash - commission) / (fillShares * (1.0 + commissionRate));
+                        position = fillShares;
+                        cash = 0.0;
+                        stopPrice = stopLoss > 0.0 ? entry * (1.0 - stopLoss) : 0.0;
+                        limitPrice = takeProfit > 0.0 ? entry * (1.0 + takeProfit) : 0.0;
+                    }
+                }
+            } else if (tradable && signal == TradeSignal.SELL_CODE) {
+                if (position > 0.0) {
+                    cash = sellProceeds(position, close, volume, commission, commissionRate, halfSpread, impact);
+                    position = 0.0;
+                }
+            }
+
+            double portfolioValue = cash + position * mark;
+            if (portfolioValue > peak) {
+                peak = portfolioValue;
+            }
+            if (peak > 0.0) {
+                double drawdown = (peak - portfolioValue) / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+            if (prevPortfolioValue > 0.0) {
+                returns.add((portfolioValue - prevPortfolioValue) / prevPortfolioValue);
+            }
+            prevPortfolioValue = portfolioValue;
+            if (((i + 1) & (ProgressMonitor.CHECK_INTERVAL - 1)) == 0) {
+                progress.advance(ProgressMonitor.CHECK_INTERVAL);
+            }
+        }
+        progress.advance(n & (ProgressMonitor.CHECK_INTERVAL - 1));
+
+        double finalCapital = cash + position * mark;
+        return result(initialCapital, finalCapital, returns, maxDrawdown);
+    }
+
+    /**
+     * Shares bought by spending all of {@code cash} at {@code price}, after commission and slippage, or 0 if
+     * the cash does not cover the fixed commission. Impact is sized on the order before slippage.
+     */
+    private static double buyShares(double cash, double price, double volume, double commission,
+                                    double commissionRate, double halfSpread, double impact) {
+        double budget = cash - commission;
+        if (!(budget > 0.0)) {
+            return 0.0;
+        }
+        double slippage = slippage(budget / (price * (1.0 + commissionRate)), volume, halfSpread, impact);
+        return budget / (price * (1.0 + slippage) * (1.0 + commissionRate));
+    }
+
+    /**
+     * Cash received for selling {@code shares} at {@code price}, after slippage and commission; never negative,
+     * since the fixed commission is capped at what the exit is worth.
+     */
+    private static double sellProceeds(double shares, double price, double volume, double commission,
+                                       double commissionRate, double halfSpread, double impact) {
+        double fillPrice = price * (1.0 - slippage(shares, volume, halfSpread, impact));
+        return Math.max(0.0, shares * fillPrice * (1.0 - commissionRate) - commission);
+    }
+
+    private static double slippage(double shares, double volume, double halfSpread, double impact) {
+        if (impact == 0.0 || !(volume > 0.0)) {
+            return halfSpread;
+        }
+        return halfSpread + impact * Math.sqrt(Math.min(1.0, shares / volume));
+    }
+
+    /**
+     * Runs one simulation per signal column in a shared scan over {@code closes}.
+     * The bars are walked once, in blocks of {@link #SCAN_BLOCK} closes; each block is simulated for every
+     * column while it is in cache, so memory traffic for the closes does not grow with the number of columns.
+     * Per-column state lives in primitive arrays indexed by column, is loaded into locals for a block and
+     * stored back after it. Each column performs exactly the arithmetic of
+     * {@link #run(BigDecimal, double[], byte[])}, so its result is identical.
+     */
+    static BacktestResult[] runAll(BigDecimal initialCapital, double[] closes, byte[][] signals,
+                                   ProgressMonitor progress) {
+        int columns = signals.length;
+        int n = closes.length;
+        double capital = initialCapital.doubleValue();
+        double[] cash = new double[columns];
+        double[] position = new double[columns];
+        double[] peak = new double[columns];
+        double[] maxDrawdown = new double[columns];
+        double[] prevPortfolioValue = new double[columns];
+        long[] count = new long[columns];
+        double[] mean = new double[columns];
+        double[] m2 = new double[columns];
+        Arrays.fill(cash, capital);
+        Arrays.fill(peak, capital);
+        Arrays.fill(prevPortfolioValue, capital);
+        double mark = 0.0;
+
+        for (int from = 0; from < n; from += SCAN_BLOCK) {
+            int to = Math.min(n, from + SCAN_BLOCK);
+            double blockMark = mark;
+            for (int c = 0; c < columns; c++) {
+                byte[] column = signals[c];
+                int signalCount = column.length;
+                double columnCash = cash[c];
+                double columnPosition = position[c];
+                double columnPeak = peak[c];
+                double columnMaxDrawdown = maxDrawdown[c];
+                double columnPrev = prevPortfolioValue[c];
+                long columnCount = count[c];
+                double columnMean = mean[c];
+                double columnM2 = m2[c];
+                double columnMark = blockMark;
+                for (int i = from; i < to; i++) {
+                    double close = closes[i];
+                    boolean tradable = tradable(close);
+                    if (tradable) {
+                        columnMark = close;
+                    }
+                    byte signal = i < signalCount ? column[i] : TradeSignal.HOLD_CODE;
+                    if (signal == TradeSignal.BUY_CODE) {
+                        if (tradable && columnPosition == 0.0 && columnCash > 0.0) {
+                            columnPosition = columnCash / close;
+                            columnCash = 0.0;
+                        }
+                    } else if (signal == TradeSignal.SELL_CODE) {
+                        if (tradable && columnPosition > 0.0) {
+                            columnCash = columnPosition * close;
+                            columnPosition = 0.0;
+                        }
+                    }
+
+                    double portfolioValue = columnCash + columnPosition * columnMark;
+                    if (portfolioValue > columnPeak) {
+                        columnPeak = portfolioValue;
+                    }
+                    if (columnPeak > 0.0) {
+                        double drawdown = (columnPeak - portfolioValue) / columnPeak;
+                        if (drawdown > columnMaxDrawdown) {
+                            columnMaxDrawdown = drawdown;
+                        }
+                    }
+                    if (columnPrev > 0.0) {
+                        // StreamingMoments.add, inlined on the column's state
+                        double value = (portfolioValue - columnPrev) / columnPrev;
+                        columnCount++;
+                        double delta = value - columnMean;
+                        columnMean += delta / columnCount;
+                        columnM2 += delta * (value - columnMean);
+                    }
+                    columnPrev = portfolioValue;
+                }
+                cash[c] = columnCash;
+                position[c] = columnPosition;
+                peak[c] = columnPeak;
+                maxDrawdown[c] = columnMaxDrawdown;
+                prevPortfolioValue[c] = columnPrev;
+                count[c] = columnCount;
+                mean[c] = columnMean;
+                m2[c] = columnM2;
+                mark = columnMark;
+            }
+            progress.advance((long) (to - from) * columns);
+        }
+
+        BacktestResult[] results = new BacktestResult[columns];
+        for (int c = 0; c < columns; c++) {
+            double finalCapital = cash[c] + position[c] * mark;
+            double sharpe = 0.0;
+            if (count[c] >= 2) {
+                double std = Math.sqrt(m2[c] / (count[c] - 1));
+                if (std != 0) {
+                    sharpe = (mean[c] / std) * Math.sqrt(SimulationService.TRADING_DAYS_PER_YEAR);
+                }
+            }
+            results[c] = new BacktestResult(
+                    initialCapital.setScale(SCALE, RoundingMode.HALF_UP),
+                    scaled(finalCapital),
+                    scaled(finalCapital - capital),
+                    scaled(sharpe),
+                    scaled(maxDrawdown[c]));
+        }
+        return results;
+    }
+
+    /**
+     * Computes the backtest metrics of an existing equity curve that starts from {@code initialCapital}.
+     */
+    static BacktestResult summarize(BigDecimal initialCapital, double[] equity) {
+        double capital = initialCapital.doubleValue();
+        double peak = capital;
+        double maxDrawdown = 0.0;
+        double prevPortfolioValue = capital;
+        StreamingMoments returns = new StreamingMoments();
+        for (double portfolioValue : equity) {
+            if (portfolioValue > peak) {
+                peak = portfolioValue;
+            }
+            if (peak > 0.0) {
+                maxDrawdown = Math.max(maxDrawdown, (peak - portfolioValue) / peak);
+            }
+            if (prevPortfolioValue > 0.0) {
+                returns.add((portfolioValue - prevPortfolioValue) / prevPortfolioValue);
+            }
+            prevPortfolioValue = portfolioValue;
+        }
+        return result(initialCapital, equity.length > 0 ? equity[equity.length - 1] : capital, returns, maxDrawdown);
+    }
+
+    static BacktestResult result(BigDecimal initialCapital, double finalCapital, StreamingMoments returns,
+                                         double maxDrawdown) {
+        return new BacktestResult(
+                initialCapital.setScale(SCALE, RoundingMode.HALF_UP),
+                scaled(finalCapital),
+                scaled(finalCapital - initialCapital.doubleValue()),
+                scaled(sharpeRatio(returns)),
+                scaled(maxDrawdown));
+    }
+
+    static double sharpeRatio(StreamingMoments returns) {
+        if (returns.getCount() < 2) {
+            return 0.0;
+        }
+        double std = returns.getStandardDeviation();
+        if (std == 0) {
+            return 0.0;
+        }
+        return (returns.getMean() / std) * Math.sqrt(SimulationService.TRADING_DAYS_PER_YEAR);
+    }
+
+    /**
+     * True for a price that can be traded on: finite and positive. NaN fails both comparisons.
+     */
+    private static boolean tradable(double price) {
+        return price > 0.0 && price < Double.POSITIVE_INFINITY;
+    }
+
+    private static BigDecimal scaled(double value) {
+        return BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,122 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.strategy.SignalGenerator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * A {@link SimulationMode#FAST} backtest that advances one bar at a time.
+ * Keeps the strategy's {@link SignalGenerator} and the portfolio state of {@link FastSimulationKernel}
+ * (cash, position, peak, max drawdown, running return moments), so {@link #append(double)} costs O(1)
+ * and after n appends {@link #result()} equals the FAST backtest of those n bars.
+ * Not thread-safe.
+ */
+public final class IncrementalBacktest {
+
+    private final BigDecimal initialCapital;
+    private final SignalGenerator generator;
+    private final StreamingMoments returns = new StreamingMoments();
+    private double cash;
+    private double position;
+    private double peak;
+    private double maxDrawdown;
+    private double prevPortfolioValue;
+    private double lastClose = Double.NaN;
+    private long bars;
+
+    public IncrementalBacktest(BigDecimal initialCapital, SignalGenerator generator) {
+        this.initialCapital = initialCapital;
+        this.generator = generator;
+        double capital = initialCapital.doubleValue();
+        this.cash = capital;
+        this.peak = capital;
+        this.prevPortfolioValue = capital;
+    }
+
+    /**
+     * Processes the next bar's close and returns the signal acted on, as a {@link TradeSignal} code.
+     */
+    public byte append(double close) {
+        byte signal = generator.next(close);
+        if (signal == TradeSignal.BUY_CODE) {
+            if (position == 0.0 && cash > 0.0) {
+                position = cash / close;
+                cash = 0.0;
+            }
+        } else if (signal == TradeSignal.SELL_CODE) {
+            if (position > 0.0) {
+                cash = position * close;
+                position = 0.0;
+            }
+        }
+
+        double portfolioValue = cash + position * close;
+        if (portfolioValue > peak) {
+            peak = portfolioValue;
+        }
+        if (peak > 0.0) {
+            double drawdown = (peak - portfolioValue) / peak;
+            if (drawdown > maxDrawdown) {
+                maxDrawdown = drawdown;
+            }
+        }
+        if (prevPortfolioValue > 0.0) {
+            returns.add((portfolioValue - prevPortfolioValue) / prevPortfolioValue);
+        }
+        prevPortfolioValue = portfolioValue;
+        lastClose = close;
+        bars++;
+        return signal;
+    }
+
+    /**
+     * Returns the metrics of all bars appended so far; the initial capital while no bar has been appended.
+     */
+    public BacktestResult result() {
+        double finalCapital = bars > 0 ? cash + position * lastClose : initialCapital.doubleValue();
+        return FastSimulationKernel.result(initialCapital, finalCapital, returns, maxDrawdown);
+    }
+
+    public long bars() {
+        return bars;
+    }
+
+    public boolean inPosition() {
+        return position > 0.0;
+    }
+
+    /**
+     * Writes the portfolio and generator state; the initial capital is not included.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeLong(bars);
+        out.writeDouble(cash);
+        out.writeDouble(position);
+        out.writeDouble(peak);
+        out.writeDouble(maxDrawdown);
+        out.writeDouble(prevPortfolioValue);
+        out.writeDouble(lastClose);
+        returns.writeState(out);
+        generator.writeState(out);
+    }
+
+    /**
+     * Restores state written by {@link #writeState(DataOutput)} into a backtest created with the same
+     * initial capital and a generator for the same strategy and parameters.
+     */
+    public void readState(DataInput in) throws IOException {
+        bars = in.readLong();
+        cash = in.readDouble();
+        position = in.readDouble();
+        peak = in.readDouble();
+        maxDrawdown = in.readDouble();
+        prevPortfolioValue = in.readDouble();
+        lastClose = in.readDouble();
+        returns.readState(in);
+        generator.readState(in);
+    }
+}
@@ -0,0 +1,29 @@
+package com.quantsim.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable result of a Monte Carlo robustness run: the original backtest and the distribution of
+ * final capital, Sharpe ratio and max drawdown over all resampled paths.
+ * {@code probabilityOfLoss} is the fraction of paths ending below the initial capital.
+ * For {@link ResamplingMethod#TRADE_SHUFFLE}, {@code finalCapital}, {@code sharpeRatio} and
+ * {@code probabilityOfLoss} are null: every path reorders the same returns, so they equal the backtest's.
+ */
+public record MonteCarloResult(
+        ResamplingMethod method,
+        int paths,
+        long seed,
+        double confidenceLevel,
+        BacktestResult backtest,
+        Distribution finalCapital,
+        Distribution sharpeRatio,
+        Distribution maxDrawdown,
+        BigDecimal probabilityOfLoss
+) {
+
+    /**
+     * Summary of one metric across paths; {@code lower} and {@code upper} bound the central
+     * {@code confidenceLevel} share of paths.
+     */
+    public record Distribution(BigDecimal mean, BigDecimal median, BigDecimal lower, BigDecimal upper) {}
+}
@@ -0,0 +1,354 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.strategy.IndicatorBackedStrategy;
+import com.quantsim.strategy.VectorizedStrategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+
+/**
+ * Service that estimates how robust a backtest is by resampling its daily portfolio returns into many
+ * synthetic paths (see {@link ResamplingMethod}) and summarizing final capital, Sharpe ratio and max
+ * drawdown across them.
+ * <p>
+ * Paths are simulated in fixed chunks on a dedicated ForkJoinPool. Each chunk draws from its own
+ * {@link SplittableRandom}, split from the seed in chunk order before any work starts, and writes its
+ * metrics into primitive arrays by path index; the result for a seed is therefore identical for any number
+ * of threads. A path is never materialized: its value, peak and return moments are updated per draw.
+ */
+@Service
+public class MonteCarloService {
+
+    /** Paths per parallel task; also the granularity of progress reports and cancellation checks. */
+    private static final int PATHS_PER_TASK = 1024;
+    private static final int SCALE = 4;
+
+    private final ForkJoinPool pool;
+    private final Semaphore activeRuns;
+    private final int maxPaths;
+
+    public MonteCarloService(@Value("${quantsim.montecarlo.parallelism:0}") int parallelism,
+                             @Value("${quantsim.montecarlo.max-concurrent:2}") int maxConcurrentRuns,
+                             @Value("${quantsim.montecarlo.max-paths:1000000}") int maxPaths) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.activeRuns = new Semaphore(maxConcurrentRuns);
+        this.maxPaths = maxPaths;
+    }
+
+    /**
+     * Backtests {@code strategy} on {@code series} in {@link SimulationMode#FAST} and resamples the result.
+     *
+     * @see #simulate(BigDecimal, double[], byte[], ResamplingMethod, int, int, long, double, ProgressMonitor)
+     */
+    public MonteCarloResult run(TradingStrategy strategy, BigDecimal initialCapital, PriceSeries series,
+                                Map<String, Double> parameters, ResamplingMethod method, int paths,
+                                int blockLength, long seed, double confidenceLevel, ProgressMonitor progress) {
+        SeriesIndicators indicators = SeriesIndicators.of(series);
+        byte[] signals;
+        if (strategy instanceof VectorizedStrategy vectorized) {
+            signals = new byte[indicators.size()];
+            vectorized.generateSignals(indicators, parameters, signals);
+        } else if (strategy instanceof IndicatorBackedStrategy indicatorBacked) {
+            signals = TradeSignal.encode(indicatorBacked.generateSignals(indicators, parameters), indicators.size());
+        } else {
+            signals = TradeSignal.encode(strategy.generateSignals(series.toMarketDataList(), parameters),
+                    indicators.size());
+        }
+        progress.checkCancelled();
+        return simulate(initialCapital, indicators.closes(), signals, method, paths, blockLength, seed,
+                confidenceLevel, progress);
+    }
+
+    /**
+     * Simulates the backtest given by {@code closes} and {@code signals}, then {@code paths} resampled paths.
+     *
+     * @param initialCapital  starting cash of the backtest and of every path
+     * @param closes          close prices, sorted by date ascending
+     * @param signals         signal codes aligned by index with {@code closes}
+     * @param method          resampling method
+     * @param paths           number of synthetic paths
+     * @param blockLength     bars per block for {@link ResamplingMethod#BLOCK_BOOTSTRAP}
+     * @param seed            random seed; equal seeds give equal results
+     * @param confidenceLevel share of paths inside each reported interval, in (0, 1)
+     * @param progress        receives the number of finished paths; cancelling it stops the run
+     * @throws CapacityExceededException if the maximum number of concurrent runs is already running
+     */
+    public MonteCarloResult simulate(BigDecimal initialCapital, double[] closes, byte[] signals,
+                                     ResamplingMethod method, int paths, int blockLength, long seed,
+                                     double confidenceLevel, ProgressMonitor progress) {
+        if (paths < 1 || paths > maxPaths) {
+            throw new IllegalArgumentException("paths must be between 1 and " + maxPaths);
+        }
+        if (blockLength < 1) {
+            throw new IllegalArgumentException("blockLength must be at least 1");
+        }
+        if (!(confidenceLevel > 0.0 && confidenceLevel < 1.0)) {
+            throw new IllegalArgumentException("confidenceLevel must be between 0 and 1");
+        }
+        int n = closes.length;
+        if (n < 2) {
+            throw new IllegalArgumentException("Monte Carlo needs at least 2 bars");
+        }
+        double capital = initialCapital.doubleValue();
+        double[] equity = new double[n];
+        BacktestResult backtest = FastSimulationKernel.run(initialCapital, closes, signals, 0, n, equity,
+                ProgressMonitor.NONE);
+        double[] returns = new double[n];
+        double previous = capital;
+        for (int i = 0; i < n; i++) {
+            returns[i] = previous > 0.0 ? equity[i] / previous - 1.0 : 0.0;
+            previous = equity[i];
+        }
+        int[] segments = method == ResamplingMethod.TRADE_SHUFFLE ? segments(signals, n) : null;
+
+        if (!activeRuns.tryAcquire()) {
+            throw new CapacityExceededException("Too many concurrent Monte Carlo runs; retry later");
+        }
+        try {
+            int tasks = (paths + PATHS_PER_TASK - 1) / PATHS_PER_TASK;
+            SplittableRandom root = new SplittableRandom(seed);
+            SplittableRandom[] random = new SplittableRandom[tasks];
+            for (int t = 0; t < tasks; t++) {
+                random[t] = root.split();
+            }
+            double[] finals = new double[paths];
+            double[] sharpes = new double[paths];
+            double[] drawdowns = new double[paths];
+            progress.addTotal(paths);
+
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(t -> {
+                progress.checkCancelled();
+                int from = t * PATHS_PER_TASK;
+                int to = Math.min(from + PATHS_PER_TASK, paths);
+                PathRunner runner = new PathRunner(capital, returns, segments, blockLength, random[t]);
+                for (int p = from; p < to; p++) {
+                    runner.run();
+                    finals[p] = runner.value;
+                    sharpes[p] = runner.sharpeRatio();
+                    drawdowns[p] = runner.maxDrawdown;
+                }
+                progress.advance(to - from);
+            })).join();
+
+            if (method == ResamplingMethod.TRADE_SHUFFLE) {
+                // A reordering keeps the multiset of returns, so final capital and Sharpe ratio are the
+                // backtest's on every path; only the drawdown is path-dependent.
+                return new MonteCarloResult(method, paths, seed, confidenceLevel, backtest,
+                        null, null, distribution(drawdowns, confidenceLevel), null);
+            }
+            int losses = 0;
+            for (double value : finals) {
+                if (value < capital) {
+                    losses++;
+                }
+            }
+            return new MonteCarloResult(method, paths, seed, confidenceLevel, backtest,
+                    distribution(finals, confidenceLevel),
+                    distribution(sharpes, confidenceLevel),
+                    distribution(drawdowns, confidenceLevel),
+                    scaled((double) losses / paths));
+        } finally {
+            activeRuns.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Splits the bars into shuffle units, returned as {@code {start0, length0, start1, length1, ...}}:
+     * each run of bars spent in one position (a trade) is one unit, and each flat bar is its own unit.
+     * A bar is in a position if a BUY on an earlier bar has not been closed by a SELL before it,
+     * following the rules of {@link FastSimulationKernel}.
+     */
+    private static int[] segments(byte[] signals, int n) {
+        int[] segments = new int[2 * n];
+        int count = 0;
+        boolean held = false;
+        int tradeStart = -1;
+        for (int i = 0; i < n; i++) {
+            if (held) {
+                if (tradeStart < 0) {
+                    tradeStart = i;
+                }
+            } else {
+                segments[count++] = i;
+                segments[count++] = 1;
+            }
+            byte signal = i < signals.length ? signals[i] : TradeSignal.HOLD_CODE;
+            if (signal == TradeSignal.BUY_CODE) {
+                held = true;
+            } else if (signal == TradeSignal.SELL_CODE && held) {
+                held = false;
+                segments[count++] = tradeStart;
+                segments[count++] = i + 1 - tradeStart;
+                tradeStart = -1;
+            }
+        }
+        if (tradeStart >= 0) {
+            segments[count++] = tradeStart;
+            segments[count++] = n - tradeStart;
+        }
+        return Arrays.copyOf(segments, count);
+    }
+
+    private static MonteCarloResult.Distribution distribution(double[] values, double confidenceLevel) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        Arrays.sort(values);
+        double tail = (1.0 - confidenceLevel) / 2.0;
+        return new MonteCarloResult.Distribution(
+                scaled(sum / values.length),
+                scaled(quantile(values, 0.5)),
+                scaled(quantile(values, tail)),
+                scaled(quantile(values, 1.0 - tail)));
+    }
+
+    /**
+     * Nearest-rank quantile of sorted values.
+     */
+    private static double quantile(double[] sorted, double q) {
+        int rank = (int) Math.ceil(q * sorted.length);
+        return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1];
+    }
+
+    private static BigDecimal scaled(double value) {
+        return BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Per-task state for generating paths one after another without allocating.
+     * A path has as many daily returns as the backtest; value, drawdown and Sharpe ratio follow
+     * {@link FastSimulationKernel}. The per-draw step avoids divisions: returns are summed with their
+     * squares rather than through {@link StreamingMoments}, and the drawdown is only recomputed when the
+     * value falls below the level that would set a new maximum.
+     */
+    private static final class PathRunner {
+
+        private final double capital;
+        private final double[] returns;
+        private final int[] segments;
+        private final int[] order;
+        private final int blockLength;
+        private final SplittableRandom random;
+        private double value;
+        private double peak;
+        private double maxDrawdown;
+        private double drawdownLevel;
+        private int count;
+        private double sum;
+        private double sumOfSquares;
+
+        PathRunner(double capital, double[] returns, int[] segments, int blockLength, SplittableRandom random) {
+            this.capital = capital;
+            this.returns = returns;
+            this.segments = segments;
+            this.blockLength = blockLength;
+            this.random = random;
+            if (segments != null) {
+                order = new int[segments.length / 2];
+                for (int k = 0; k < order.length; k++) {
+                    order[k] = k;
+                }
+            } else {
+                order = null;
+            }
+        }
+
+        void run() {
+            value = capital;
+            peak = capital;
+            maxDrawdown = 0.0;
+            drawdownLevel = capital;
+            count = 0;
+            sum = 0.0;
+            sumOfSquares = 0.0;
+            if (segments == null) {
+                runBlocks();
+            } else {
+                runShuffled();
+            }
+        }
+
+        private void runBlocks() {
+            int n = returns.length;
+            int filled = 0;
+            while (filled < n) {
+                int index = random.nextInt(n);
+                int length = Math.min(blockLength, n - filled);
+                for (int j = 0; j < length; j++) {
+                    step(returns[index]);
+                    if (++index == n) {
+                        index = 0;
+                    }
+                }
+                filled += length;
+            }
+        }
+
+        private void runShuffled() {
+            // Fisher-Yates over the previous order is still a uniform permutation.
+            for (int k = order.length - 1; k > 0; k--) {
+                int swap = random.nextInt(k + 1);
+                int unit = order[k];
+                order[k] = order[swap];
+                order[swap] = unit;
+            }
+            for (int unit : order) {
+                int start = segments[2 * unit];
+                int end = start + segments[2 * unit + 1];
+                for (int i = start; i < end; i++) {
+                    step(returns[i]);
+                }
+            }
+        }
+
+        private void step(double dailyReturn) {
+            if (value > 0.0) {
+                count++;
+                sum += dailyReturn;
+                sumOfSquares += dailyReturn * dailyReturn;
+            }
+            value *= 1.0 + dailyReturn;
+            if (value > peak) {
+                peak = value;
+                drawdownLevel = peak * (1.0 - maxDrawdown);
+            } else if (value < drawdownLevel && peak > 0.0) {
+                maxDrawdown = (peak - value) / peak;
+                drawdownLevel = value;
+            }
+        }
+
+        /**
+         * Annualized Sharpe ratio of the last path, as computed by {@link FastSimulationKernel#sharpeRatio}.
+         */
+        double sharpeRatio() {
+            if (count < 2) {
+                return 0.0;
+            }
+            double mean = sum / count;
+            double variance = Math.max(0.0, (sumOfSquares - sum * mean) / (count - 1));
+            if (variance == 0.0) {
+                return 0.0;
+            }
+            return mean / Math.sqrt(variance) * Math.sqrt(SimulationService.TRADING_DAYS_PER_YEAR);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.quantsim.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inclusive range of values for one strategy parameter in a sweep: start, start + step, ..., up to end.
+ */
+public record ParameterRange(double start, double end, double step) {
+
+    private static final double EPSILON = 1e-9;
+
+    public ParameterRange {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Range step must be positive");
+        }
+        if (end < start) {
+            throw new IllegalArgumentException("Range end must not be less than start");
+        }
+    }
+
+    /**
+     * Returns the number of values in the range.
+     *
+     * @throws IllegalArgumentException if the range has more than {@link Integer#MAX_VALUE} values
+     */
+    public int count() {
+        double count = Math.floor((end - start) / step + EPSILON) + 1;
+        // Negated so that NaN, from infinite bounds, is rejected too
+        if (!(count <= Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Range " + start + " to " + end + " by " + step
+                    + " has more than " + Integer.MAX_VALUE + " values");
+        }
+        return (int) count;
+    }
+
+    /**
+     * Expands the range into its values, computed as {@code start + k * step} to avoid accumulated error.
+     */
+    public List<Double> values() {
+        int n = count();
+        List<Double> values = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) {
+            values.add(start + k * step);
+        }
+        return values;
+    }
+
+    /**
+     * Expands named ranges into every combination (cartesian product), varying the parameters in name order.
+     *
+     * @throws IllegalArgumentException if the grid has more than {@code maxCombinations} combinations
+     */
+    public static List<Map<String, Double>> grid(Map<String, ParameterRange> ranges, int maxCombinations) {
+        long total = 1;
+        for (ParameterRange range : ranges.values()) {
+            total *= range.count();
+            if (total > maxCombinations) {
+                throw new IllegalArgumentException("Grid exceeds the maximum of " + maxCombinations + " combinations");
+            }
+        }
+
+        List<Map<String, Double>> combinations = new ArrayList<>((int) total);
+        combinations.add(Map.of());
+        for (Map.Entry<String, ParameterRange> range : new TreeMap<>(ranges).entrySet()) {
+            List<Map<String, Double>> next = new ArrayList<>((int) total);
+            for (Map<String, Double> partial : combinations) {
+                for (Double value : range.getValue().values()) {
+                    Map<String, Double> combination = new LinkedHashMap<>(partial);
+                    combination.put(range.getKey(), value);
+                    next.add(combination);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    /**
+     * Returns the number of combinations in the grid of {@code ranges}, without expanding it.
+     *
+     * @throws IllegalArgumentException if a range or the grid has too many values to count
+     */
+    public static long gridSize(Map<String, ParameterRange> ranges) {
+        long total = 1;
+        for (ParameterRange range : ranges.values()) {
+            try {
+                total = Math.multiplyExact(total, range.count());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Grid has more than " + Long.MAX_VALUE + " combinations");
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Splits the grid of {@code ranges} into disjoint blocks of at most {@code maxCombinations} combinations
+     * that together cover it, each described by ranges so it can be sent to a worker as a sweep.
+     * Parameters are split in name order: leading parameters into single values while the rest of the grid is
+     * still too large, then one parameter into runs of consecutive values. Block values are
+     * {@code start + k * step} like {@link #values()}, up to rounding for fractional steps.
+     *
+     * @throws IllegalArgumentException if {@code maxCombinations} is not positive or the grid cannot be counted
+     */
+    public static List<Map<String, ParameterRange>> blocks(Map<String, ParameterRange> ranges, int maxCombinations) {
+        if (maxCombinations < 1) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        if (gridSize(ranges) < 1) {
+            throw new IllegalArgumentException("Grid must have at least one combination");
+        }
+        List<Map.Entry<String, ParameterRange>> ordered = new ArrayList<>(new TreeMap<>(ranges).entrySet());
+        List<Map<String, ParameterRange>> blocks = new ArrayList<>();
+        split(ordered, 0, new TreeMap<>(), maxCombinations, blocks);
+        return blocks;
+    }
+
+    private static void split(List<Map.Entry<String, ParameterRange>> ordered, int index,
+                              TreeMap<String, ParameterRange> prefix, int maxCombinations,
+                              List<Map<String, ParameterRange>> blocks) {
+        if (index == ordered.size()) {
+            blocks.add(Collections.unmodifiableMap(new TreeMap<>(prefix)));
+            return;
+        }
+        long rest = 1;
+        for (int k = index + 1; k < ordered.size(); k++) {
+            rest = Math.multiplyExact(rest, ordered.get(k).getValue().count());
+        }
+        String name = ordered.get(index).getKey();
+        ParameterRange range = ordered.get(index).getValue();
+        int n = range.count();
+        int run = rest > maxCombinations ? 1 : (int) Math.min(n, maxCombinations / rest);
+        for (int first = 0; first < n; first += run) {
+            int values = Math.min(run, n - first);
+            double start = range.start + first * range.step;
+            // Half a step past the last value, so count() is exact despite rounding in the block's start
+            prefix.put(name, new ParameterRange(start, start + (values - 0.5) * range.step, range.step));
+            if (rest > maxCombinations) {
+                split(ordered, index + 1, prefix, maxCombinations, blocks);
+            } else {
+                TreeMap<String, ParameterRange> block = new TreeMap<>(prefix);
+                for (Map.Entry<String, ParameterRange> entry : ordered.subList(index + 1, ordered.size())) {
+                    block.put(entry.getKey(), entry.getValue());
+                }
+                blocks.add(Collections.unmodifiableMap(block));
+            }
+        }
+        prefix.remove(name);
+    }
+}
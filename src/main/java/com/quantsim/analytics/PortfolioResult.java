@@ -0,0 +1,24 @@
+package com.quantsim.analytics;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Immutable result of a multi-asset portfolio backtest.
+ * Sharpe ratio and max drawdown are computed on the combined portfolio value per timeline step.
+ */
+public record PortfolioResult(
+        BigDecimal initialCapital,
+        BigDecimal finalCapital,
+        BigDecimal totalPnL,
+        BigDecimal sharpeRatio,
+        BigDecimal maxDrawdown,
+        int tradingDays,
+        List<AssetResult> assets
+) {
+
+    /**
+     * Per-asset contribution: bars seen, trades executed (buys plus sells) and realized plus unrealized PnL.
+     */
+    public record AssetResult(String ticker, int bars, int trades, BigDecimal pnl) {}
+}
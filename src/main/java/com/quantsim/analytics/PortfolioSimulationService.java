@@ -0,0 +1,187 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.strategy.VectorizedStrategy;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that backtests one strategy over many assets sharing a single cash balance.
+ * <p>
+ * The assets' series are merged into one date-aligned timeline with a {@link TimelineMerger}. At each
+ * step, held positions are marked to the new closes, SELL signals are executed first (freeing cash), then
+ * BUY signals open positions sized by {@link PositionSizing}. An asset without a bar on a step keeps its
+ * last close. All per-asset state lives in primitive arrays indexed by asset id, and holdings are
+ * revalued incrementally, so a run costs O(total bars x log assets).
+ * Portfolio statistics use {@code double} arithmetic, as in {@link SimulationMode#FAST}.
+ */
+@Service
+public class PortfolioSimulationService {
+
+    private static final int SCALE = 4;
+
+    /**
+     * Generates signals for every asset with {@code strategy} and simulates the portfolio.
+     * Vectorized strategies write straight into primitive signal columns.
+     *
+     * @param progress receives each asset's bars once its signals are generated, then simulated bars
+     */
+    public PortfolioResult runBacktest(TradingStrategy strategy, BigDecimal initialCapital, List<PriceSeries> series,
+                                       Map<String, Double> parameters, PositionSizing sizing,
+                                       ProgressMonitor progress) {
+        progress.addTotal(series.stream().mapToLong(PriceSeries::size).sum());
+        List<byte[]> signals = new ArrayList<>(series.size());
+        for (PriceSeries asset : series) {
+            if (strategy instanceof VectorizedStrategy vectorized) {
+                byte[] codes = new byte[asset.size()];
+                vectorized.generateSignals(SeriesIndicators.of(asset), parameters, codes);
+                signals.add(codes);
+            } else {
+                signals.add(TradeSignal.encode(
+                        strategy.generateSignals(asset.toMarketDataList(), parameters), asset.size()));
+            }
+            progress.advance(asset.size());
+        }
+        return simulate(initialCapital, series, signals, sizing, progress);
+    }
+
+    /**
+     * Simulates the portfolio for precomputed signals.
+     *
+     * @param initialCapital starting cash shared by all assets
+     * @param series         one series per asset, sorted by date ascending
+     * @param signals        signal codes per asset, aligned by index with its series; missing trailing codes are HOLD
+     * @param sizing         position sizing for new positions
+     * @param progress       receives simulated bars, across all assets, every {@link ProgressMonitor#CHECK_INTERVAL}
+     * @return portfolio metrics and per-asset contributions
+     */
+    public PortfolioResult simulate(BigDecimal initialCapital, List<PriceSeries> series, List<byte[]> signals,
+                                    PositionSizing sizing, ProgressMonitor progress) {
+        if (series.size() != signals.size()) {
+            throw new IllegalArgumentException("Expected one signal column per series");
+        }
+        if (series.stream().map(PriceSeries::getResolution).distinct().count() > 1) {
+            throw new IllegalArgumentException("All series in a portfolio must have the same bar resolution");
+        }
+        int assets = series.size();
+        double capital = initialCapital.doubleValue();
+        double cash = capital;
+        double holdingsValue = 0.0;
+        int held = 0;
+
+        double[] shares = new double[assets];
+        double[] lastPrice = new double[assets];
+        double[] costBasis = new double[assets];
+        double[] realized = new double[assets];
+        int[] trades = new int[assets];
+
+        double peak = capital;
+        double maxDrawdown = 0.0;
+        double prevPortfolioValue = capital;
+        StreamingMoments returns = new StreamingMoments();
+        int steps = 0;
+        progress.addTotal(series.stream().mapToLong(PriceSeries::size).sum());
+        long unreported = 0;
+
+        TimelineMerger timeline = new TimelineMerger(series);
+        while (timeline.next()) {
+            for (int k = 0; k < timeline.size(); k++) {
+                int asset = timeline.asset(k);
+                int bar = timeline.bar(k);
+                double price = series.get(asset).getClose(bar);
+                if (Double.isNaN(price)) {
+                    continue;
+                }
+                holdingsValue += shares[asset] * (price - lastPrice[asset]);
+                lastPrice[asset] = price;
+                if (signal(signals.get(asset), bar) == TradeSignal.SELL_CODE && shares[asset] > 0.0) {
+                    double proceeds = shares[asset] * price;
+                    cash += proceeds;
+                    holdingsValue -= proceeds;
+                    realized[asset] += proceeds - costBasis[asset];
+                    shares[asset] = 0.0;
+                    costBasis[asset] = 0.0;
+                    trades[asset]++;
+                    held--;
+                }
+            }
+
+            double equity = cash + holdingsValue;
+            for (int k = 0; k < timeline.size(); k++) {
+                int asset = timeline.asset(k);
+                int bar = timeline.bar(k);
+                double price = lastPrice[asset];
+                if (signal(signals.get(asset), bar) != TradeSignal.BUY_CODE
+                        || shares[asset] != 0.0 || cash <= 0.0 || !(price > 0.0)) {
+                    continue;
+                }
+                double amount = sizing == PositionSizing.EQUAL_WEIGHT
+                        ? Math.min(cash, equity / assets)
+                        : cash / (assets - held);
+                shares[asset] = amount / price;
+                costBasis[asset] = amount;
+                cash -= amount;
+                holdingsValue += amount;
+                trades[asset]++;
+                held++;
+            }
+
+            double portfolioValue = cash + holdingsValue;
+            if (portfolioValue > peak) {
+                peak = portfolioValue;
+            }
+            if (peak > 0.0) {
+                double drawdown = (peak - portfolioValue) / peak;
+                if (drawdown > maxDrawdown) {
+                    maxDrawdown = drawdown;
+                }
+            }
+            if (prevPortfolioValue > 0.0) {
+                returns.add((portfolioValue - prevPortfolioValue) / prevPortfolioValue);
+            }
+            prevPortfolioValue = portfolioValue;
+            steps++;
+            unreported += timeline.size();
+            if (unreported >= ProgressMonitor.CHECK_INTERVAL) {
+                progress.advance(unreported);
+                unreported = 0;
+            }
+        }
+        progress.advance(unreported);
+
+        double finalCapital = cash;
+        List<PortfolioResult.AssetResult> assetResults = new ArrayList<>(assets);
+        for (int asset = 0; asset < assets; asset++) {
+            double positionValue = shares[asset] * lastPrice[asset];
+            finalCapital += positionValue;
+            PriceSeries s = series.get(asset);
+            assetResults.add(new PortfolioResult.AssetResult(s.getTicker(), s.size(), trades[asset],
+                    scaled(realized[asset] + positionValue - costBasis[asset])));
+        }
+
+        return new PortfolioResult(
+                initialCapital.setScale(SCALE, RoundingMode.HALF_UP),
+                scaled(finalCapital),
+                scaled(finalCapital - capital),
+                scaled(FastSimulationKernel.sharpeRatio(returns)),
+                scaled(maxDrawdown),
+                steps,
+                assetResults);
+    }
+
+    private static byte signal(byte[] signals, int bar) {
+        return bar < signals.length ? signals[bar] : TradeSignal.HOLD_CODE;
+    }
+
+    private static BigDecimal scaled(double value) {
+        return BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+}
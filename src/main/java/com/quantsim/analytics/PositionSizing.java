@@ -0,0 +1,27 @@
+package com.quantsim.analytics;
+
+/**
+ * How {@link PortfolioSimulationService} sizes a new position when an asset signals BUY.
+ * Positions are always closed in full on SELL.
+ */
+public enum PositionSizing {
+    /**
+     * Invest {@code 1 / assets} of current portfolio equity, capped by available cash.
+     */
+    EQUAL_WEIGHT,
+    /**
+     * Invest an equal share of available cash across the assets not currently held.
+     */
+    EQUAL_CASH;
+
+    public static PositionSizing fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return EQUAL_WEIGHT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown position sizing: " + value);
+        }
+    }
+}
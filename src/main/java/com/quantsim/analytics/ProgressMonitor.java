@@ -0,0 +1,115 @@
+package com.quantsim.analytics;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress counter and cooperative cancellation flag shared by the stages of one long-running computation.
+ * Loops report completed work units (bars, combinations) through {@link #advance(long)}, at most once per
+ * {@link #CHECK_INTERVAL} units in per-bar loops. Each report also checks the flag and throws
+ * {@link CancellationException} after {@link #cancel()}, so a cancelled computation stops at its next
+ * report without its thread being interrupted. A monitor created {@link #withDeadline(long) with a deadline}
+ * cancels itself the same way once the deadline passes, throwing {@link DeadlineExceededException}.
+ * Safe for concurrent use.
+ */
+public final class ProgressMonitor {
+
+    /** Units of per-bar work between two progress reports; a power of two. */
+    public static final int CHECK_INTERVAL = 4096;
+
+    /** Monitor for computations nobody observes: it records nothing and is never cancelled. */
+    public static final ProgressMonitor NONE = new ProgressMonitor(false);
+
+    private final boolean tracking;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+    private final AtomicLong total = new AtomicLong();
+    private final LongAdder completed = new LongAdder();
+    private volatile boolean cancelled;
+
+    public ProgressMonitor() {
+        this(true, false, 0L);
+    }
+
+    private ProgressMonitor(boolean tracking) {
+        this(tracking, false, 0L);
+    }
+
+    private ProgressMonitor(boolean tracking, boolean hasDeadline, long deadlineNanos) {
+        this.tracking = tracking;
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Creates a monitor whose computation stops once {@link System#nanoTime()} passes {@code deadlineNanos}.
+     */
+    public static ProgressMonitor withDeadline(long deadlineNanos) {
+        return new ProgressMonitor(true, true, deadlineNanos);
+    }
+
+    /**
+     * Adds {@code units} to the expected amount of work, as each stage learns its size.
+     */
+    public void addTotal(long units) {
+        if (tracking) {
+            total.addAndGet(units);
+        }
+    }
+
+    /**
+     * Records {@code units} of completed work, then checks for cancellation.
+     *
+     * @throws CancellationException if the computation has been cancelled
+     */
+    public void advance(long units) {
+        if (tracking) {
+            completed.add(units);
+            checkCancelled();
+        }
+    }
+
+    /**
+     * @throws CancellationException     if the computation has been cancelled
+     * @throws DeadlineExceededException if the monitor's deadline has passed
+     */
+    public void checkCancelled() {
+        if (hasDeadline && System.nanoTime() - deadlineNanos > 0) {
+            cancelled = true;
+            throw new DeadlineExceededException();
+        }
+        if (cancelled) {
+            throw new CancellationException("Cancelled");
+        }
+    }
+
+    /**
+     * Returns the nanoseconds left before the deadline (negative once passed), or {@link Long#MAX_VALUE}
+     * for a monitor without a deadline.
+     */
+    public long remainingNanos() {
+        return hasDeadline ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * Requests cancellation; the computation stops at its next progress report.
+     */
+    public void cancel() {
+        if (tracking) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long completed() {
+        return completed.sum();
+    }
+
+    public long total() {
+        return total.get();
+    }
+}
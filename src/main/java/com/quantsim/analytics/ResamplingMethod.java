@@ -0,0 +1,30 @@
+package com.quantsim.analytics;
+
+/**
+ * How {@link MonteCarloService} builds synthetic paths from a backtest's daily portfolio returns.
+ */
+public enum ResamplingMethod {
+    /**
+     * Circular block bootstrap: concatenates blocks of consecutive daily returns, each starting at a random
+     * bar and wrapping around the end, until the path is as long as the backtest. Blocks keep short-range
+     * autocorrelation such as volatility clustering.
+     */
+    BLOCK_BOOTSTRAP,
+    /**
+     * Random reordering of the backtest's trades (each kept intact, with its daily returns) and flat days.
+     * Every path has the same returns in a different order, so final capital and Sharpe ratio do not vary
+     * and are not reported; only the distribution of the path-dependent maximum drawdown is.
+     */
+    TRADE_SHUFFLE;
+
+    public static ResamplingMethod fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return BLOCK_BOOTSTRAP;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown resampling method: " + value);
+        }
+    }
+}
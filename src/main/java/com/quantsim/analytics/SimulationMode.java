@@ -0,0 +1,27 @@
+package com.quantsim.analytics;
+
+/**
+ * Numeric mode used by {@link SimulationService}.
+ */
+public enum SimulationMode {
+    /**
+     * Reference mode: portfolio state and returns in {@code BigDecimal}, rounded to 4 decimal places.
+     */
+    EXACT,
+    /**
+     * Allocation-free mode: portfolio state in primitive {@code double} with streaming statistics.
+     * Results differ slightly from EXACT, which rounds share counts and daily returns to 4 decimal places.
+     */
+    FAST;
+
+    public static SimulationMode fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown simulation mode: " + value);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.quantsim.analytics;
 
 import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
 import com.quantsim.domain.TradeSignal;
 import com.quantsim.domain.TradingStrategy;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -15,15 +17,31 @@ import java.util.Map;
  * Service that runs backtest simulations.
  * Iterates through market data, executes trades based on strategy signals,
  * and computes portfolio metrics (PnL, Sharpe ratio, max drawdown).
+ * {@link SimulationMode#EXACT} is the BigDecimal reference path; {@link SimulationMode#FAST}
+ * runs the same rules on primitive state without per-bar allocation.
+ * Overloads taking a {@link ProgressMonitor} report simulated bars to it and stop with a
+ * {@link java.util.concurrent.CancellationException} soon after it is cancelled.
  */
 @Service
 public class SimulationService {
 
     private static final int SCALE = 4;
-    private static final int TRADING_DAYS_PER_YEAR = 252;
+    static final int TRADING_DAYS_PER_YEAR = 252;
 
     public BacktestResult runBacktest(TradingStrategy strategy, BigDecimal initialCapital,
                                      List<MarketData> data, Map<String, Double> parameters) {
+        return runBacktest(strategy, initialCapital, data, parameters, SimulationMode.EXACT);
+    }
+
+    public BacktestResult runBacktest(TradingStrategy strategy, BigDecimal initialCapital,
+                                     List<MarketData> data, Map<String, Double> parameters,
+                                     SimulationMode mode) {
+        return runBacktest(strategy, initialCapital, data, parameters, mode, ProgressMonitor.NONE);
+    }
+
+    public BacktestResult runBacktest(TradingStrategy strategy, BigDecimal initialCapital,
+                                     List<MarketData> data, Map<String, Double> parameters,
+                                     SimulationMode mode, ProgressMonitor progress) {
         if (data == null || data.isEmpty()) {
             return new BacktestResult(
                     initialCapital, initialCapital, BigDecimal.ZERO,
@@ -31,6 +49,135 @@ public class SimulationService {
         }
 
         List<TradeSignal> signals = strategy.generateSignals(data, parameters);
+        progress.checkCancelled();
+        return simulate(initialCapital, data, signals, mode, progress);
+    }
+
+    /**
+     * Runs the portfolio simulation in the given mode for signals that were already generated for {@code data}.
+     */
+    public BacktestResult simulate(BigDecimal initialCapital, List<MarketData> data,
+                                   List<TradeSignal> signals, SimulationMode mode) {
+        return simulate(initialCapital, data, signals, mode, ProgressMonitor.NONE);
+    }
+
+    public BacktestResult simulate(BigDecimal initialCapital, List<MarketData> data,
+                                   List<TradeSignal> signals, SimulationMode mode, ProgressMonitor progress) {
+        if (mode == SimulationMode.FAST && data != null && !data.isEmpty()) {
+            double[] closes = new double[data.size()];
+            for (int i = 0; i < closes.length; i++) {
+                closes[i] = data.get(i).getClose().doubleValue();
+            }
+            return simulate(initialCapital, closes, TradeSignal.encode(signals, closes.length), progress);
+        }
+        return simulateExact(initialCapital, data, signals, progress);
+    }
+
+    /**
+     * Runs the allocation-free {@link SimulationMode#FAST} simulation over a primitive close column.
+     *
+     * @param initialCapital starting cash
+     * @param closes         close prices, sorted by date ascending
+     * @param signals        signals aligned by index with {@code closes}; missing trailing signals are HOLD
+     * @return backtest metrics
+     */
+    public BacktestResult simulate(BigDecimal initialCapital, double[] closes, List<TradeSignal> signals) {
+        if (closes.length == 0) {
+            return new BacktestResult(
+                    initialCapital, initialCapital, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        return FastSimulationKernel.run(initialCapital, closes, signals);
+    }
+
+    /**
+     * Runs the {@link SimulationMode#FAST} simulation over a column of {@link TradeSignal} codes,
+     * as written by a {@link com.quantsim.strategy.VectorizedStrategy}.
+     *
+     * @param initialCapital starting cash
+     * @param closes         close prices, sorted by date ascending
+     * @param signals        signal codes aligned by index with {@code closes}; missing trailing codes are HOLD
+     * @return backtest metrics
+     */
+    public BacktestResult simulate(BigDecimal initialCapital, double[] closes, byte[] signals) {
+        return simulate(initialCapital, closes, signals, ProgressMonitor.NONE);
+    }
+
+    public BacktestResult simulate(BigDecimal initialCapital, double[] closes, byte[] signals,
+                                   ProgressMonitor progress) {
+        if (closes.length == 0) {
+            return new BacktestResult(
+                    initialCapital, initialCapital, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        progress.addTotal(closes.length);
+        return FastSimulationKernel.run(initialCapital, closes, signals, 0, closes.length, null, progress);
+    }
+
+    /**
+     * Runs the {@link SimulationMode#FAST} simulation over a full OHLCV series, filling orders and charging
+     * costs as {@code execution} specifies. With {@link ExecutionModel#NONE} the result equals
+     * {@link #simulate(BigDecimal, double[], byte[])} over the series' closes, which is the cheaper call.
+     *
+     * @param initialCapital starting cash
+     * @param series         bars sorted by date ascending; opens, highs, lows and volumes feed the execution model
+     * @param signals        signal codes aligned by index with {@code series}; missing trailing codes are HOLD
+     * @param execution      fill and cost model
+     * @return backtest metrics
+     */
+    public BacktestResult simulate(BigDecimal initialCapital, PriceSeries series, byte[] signals,
+                                   ExecutionModel execution, ProgressMonitor progress) {
+        if (series.isEmpty()) {
+            return new BacktestResult(
+                    initialCapital, initialCapital, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        progress.addTotal(series.size());
+        return FastSimulationKernel.run(initialCapital, series, signals, execution, progress);
+    }
+
+    /**
+     * Runs one {@link SimulationMode#FAST} simulation per signal column in a single shared scan over
+     * {@code closes}, reporting {@code closes.length} bars per column to {@code progress}.
+     * Each result equals {@link #simulate(BigDecimal, double[], byte[])} for that column.
+     *
+     * @param initialCapital starting cash of every simulation
+     * @param closes         close prices, sorted by date ascending
+     * @param signals        signal columns aligned by index with {@code closes}; missing trailing codes are HOLD
+     * @return one result per column, in column order
+     */
+    public List<BacktestResult> simulateAll(BigDecimal initialCapital, double[] closes, List<byte[]> signals,
+                                            ProgressMonitor progress) {
+        if (closes.length == 0) {
+            BacktestResult empty = new BacktestResult(
+                    initialCapital, initialCapital, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO);
+            return Collections.nCopies(signals.size(), empty);
+        }
+        progress.addTotal((long) closes.length * signals.size());
+        byte[][] columns = signals.toArray(new byte[0][]);
+        return List.of(FastSimulationKernel.runAll(initialCapital, closes, columns, progress));
+    }
+
+    /**
+     * Runs the {@link SimulationMode#EXACT} portfolio simulation for signals that were already generated for {@code data}.
+     *
+     * @param initialCapital starting cash
+     * @param data           market data, sorted by date ascending
+     * @param signals        signals aligned by index with {@code data}; missing trailing signals are HOLD
+     * @return backtest metrics
+     */
+    public BacktestResult simulate(BigDecimal initialCapital, List<MarketData> data, List<TradeSignal> signals) {
+        return simulateExact(initialCapital, data, signals, ProgressMonitor.NONE);
+    }
+
+    private BacktestResult simulateExact(BigDecimal initialCapital, List<MarketData> data, List<TradeSignal> signals,
+                                         ProgressMonitor progress) {
+        if (data == null || data.isEmpty()) {
+            return new BacktestResult(
+                    initialCapital, initialCapital, BigDecimal.ZERO,
+                    BigDecimal.ZERO, BigDecimal.ZERO);
+        }
 
         BigDecimal cash = initialCapital;
         BigDecimal position = BigDecimal.ZERO;
@@ -39,6 +186,7 @@ public class SimulationService {
         BigDecimal prevPortfolioValue = initialCapital;
 
         DescriptiveStatistics returnsStats = new DescriptiveStatistics();
+        progress.addTotal(data.size());
 
         for (int i = 0; i < data.size(); i++) {
             MarketData md = data.get(i);
@@ -78,7 +226,11 @@ public class SimulationService {
                 returnsStats.addValue(dailyReturn.doubleValue());
             }
             prevPortfolioValue = portfolioValue;
+            if (((i + 1) & (ProgressMonitor.CHECK_INTERVAL - 1)) == 0) {
+                progress.advance(ProgressMonitor.CHECK_INTERVAL);
+            }
         }
+        progress.advance(data.size() & (ProgressMonitor.CHECK_INTERVAL - 1));
 
         BigDecimal finalCapital = cash.add(position.multiply(data.get(data.size() - 1).getClose()));
         BigDecimal totalPnL = finalCapital.subtract(initialCapital);
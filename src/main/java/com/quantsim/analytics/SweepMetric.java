@@ -0,0 +1,36 @@
+package com.quantsim.analytics;
+
+import java.util.Comparator;
+
+/**
+ * Metric used to rank parameter-sweep results, best first.
+ */
+public enum SweepMetric {
+    SHARPE(Comparator.comparing(BacktestResult::sharpeRatio).reversed()),
+    PNL(Comparator.comparing(BacktestResult::totalPnL).reversed()),
+    DRAWDOWN(Comparator.comparing(BacktestResult::maxDrawdown));
+
+    private final Comparator<BacktestResult> ranking;
+
+    SweepMetric(Comparator<BacktestResult> ranking) {
+        this.ranking = ranking;
+    }
+
+    /**
+     * Returns a comparator that orders results from best to worst by this metric.
+     */
+    public Comparator<BacktestResult> ranking() {
+        return ranking;
+    }
+
+    public static SweepMetric fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return SHARPE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sweep metric: " + value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.quantsim.analytics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of a parameter sweep: the top-ranked parameter sets and their backtest results.
+ * Combinations the strategy rejects as invalid (e.g. shortWindow >= longWindow) count as skipped.
+ */
+public record SweepResult(
+        SweepMetric rankedBy,
+        int combinations,
+        int evaluated,
+        int skipped,
+        List<Entry> results
+) {
+
+    /**
+     * One evaluated parameter set.
+     */
+    public record Entry(Map<String, Double> parameters, BacktestResult result) {}
+}
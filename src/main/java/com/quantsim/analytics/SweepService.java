@@ -0,0 +1,215 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.strategy.IndicatorBackedStrategy;
+import com.quantsim.strategy.VectorizedStrategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Service that runs parameter sweeps (grid searches) for a strategy over one series.
+ * Combinations are evaluated in parallel on a dedicated ForkJoinPool against a single shared,
+ * read-only copy of the data, and indicator columns shared between combinations are computed once.
+ * In {@link SimulationMode#FAST}, a {@link VectorizedStrategy} generates signals for batches of
+ * combinations in one pass into primitive columns. FAST sweeps may apply an {@link ExecutionModel}, in which
+ * case every combination is simulated over the full OHLCV series with its fills and costs.
+ */
+@Service
+public class SweepService {
+
+    /** Parameter sets per multi-parameter signal pass for {@link VectorizedStrategy} sweeps. */
+    private static final int SIGNAL_BATCH_SIZE = 32;
+
+    private final SimulationService simulationService;
+    private final ForkJoinPool pool;
+    private final Semaphore activeSweeps;
+    private final int maxCombinations;
+
+    public SweepService(SimulationService simulationService,
+                        @Value("${quantsim.sweep.parallelism:0}") int parallelism,
+                        @Value("${quantsim.sweep.max-concurrent:2}") int maxConcurrentSweeps,
+                        @Value("${quantsim.sweep.max-combinations:100000}") int maxCombinations) {
+        this.simulationService = simulationService;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.activeSweeps = new Semaphore(maxConcurrentSweeps);
+        this.maxCombinations = maxCombinations;
+    }
+
+    /**
+     * Evaluates every combination of the given parameter ranges and returns the best {@code topN}.
+     *
+     * @param strategy       strategy to evaluate
+     * @param initialCapital starting cash for every combination
+     * @param data           market data, sorted by date ascending; shared read-only by all combinations
+     * @param ranges         parameter name to range of values to try
+     * @param rankBy         metric used to order the results
+     * @param topN           maximum number of results to return
+     * @param mode           simulation mode used for every combination
+     * @return ranked sweep result
+     * @throws CapacityExceededException if the maximum number of concurrent sweeps is already running
+     */
+    public SweepResult runSweep(TradingStrategy strategy, BigDecimal initialCapital, List<MarketData> data,
+                                Map<String, ParameterRange> ranges, SweepMetric rankBy, int topN,
+                                SimulationMode mode) {
+        return runSweep(strategy, initialCapital, data, ranges, rankBy, topN, mode, ProgressMonitor.NONE);
+    }
+
+    public SweepResult runSweep(TradingStrategy strategy, BigDecimal initialCapital, List<MarketData> data,
+                                Map<String, ParameterRange> ranges, SweepMetric rankBy, int topN,
+                                SimulationMode mode, ProgressMonitor progress) {
+        return runSweep(strategy, initialCapital, data, ranges, rankBy, topN, mode, ExecutionModel.NONE, progress);
+    }
+
+    /**
+     * Runs a sweep that fills and charges every combination's orders as {@code execution} specifies, reports
+     * each processed combination (evaluated or skipped) to {@code progress} and stops with a
+     * {@link java.util.concurrent.CancellationException} once it is cancelled.
+     *
+     * @throws IllegalArgumentException if {@code execution} is not {@link ExecutionModel#NONE} outside
+     *                                  {@link SimulationMode#FAST}
+     */
+    public SweepResult runSweep(TradingStrategy strategy, BigDecimal initialCapital, List<MarketData> data,
+                                Map<String, ParameterRange> ranges, SweepMetric rankBy, int topN,
+                                SimulationMode mode, ExecutionModel execution, ProgressMonitor progress) {
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one parameter range is required");
+        }
+        if (mode != SimulationMode.FAST && !execution.isFrictionless()) {
+            throw new IllegalArgumentException("Execution models require FAST mode");
+        }
+        List<Map<String, Double>> combinations;
+        try {
+            combinations = ParameterRange.grid(ranges, maxCombinations);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Sweep exceeds the maximum of " + maxCombinations + " combinations");
+        }
+
+        if (!activeSweeps.tryAcquire()) {
+            throw new CapacityExceededException("Too many concurrent sweeps; retry later");
+        }
+        try {
+            progress.addTotal(combinations.size());
+            SeriesIndicators indicators = SeriesIndicators.of(data);
+            PriceSeries series = execution.isFrictionless() || data.isEmpty()
+                    ? null
+                    : PriceSeries.fromMarketData(data.get(0).getTicker(), data);
+            List<SweepResult.Entry> entries;
+            if (mode == SimulationMode.FAST && strategy instanceof VectorizedStrategy vectorized) {
+                List<List<Map<String, Double>>> batches = signalBatches(vectorized, combinations);
+                progress.advance(combinations.size() - batches.stream().mapToInt(List::size).sum());
+                entries = pool.submit(() -> batches.parallelStream()
+                                .flatMap(batch -> evaluate(vectorized, initialCapital, indicators, series,
+                                        execution, batch, progress).stream())
+                                .toList())
+                        .join();
+            } else {
+                entries = pool.submit(() -> combinations.parallelStream()
+                                .map(parameters -> evaluate(strategy, initialCapital, data, indicators, series,
+                                        execution, parameters, mode, progress))
+                                .filter(Objects::nonNull)
+                                .toList())
+                        .join();
+            }
+
+            List<SweepResult.Entry> ranked = entries.stream()
+                    .sorted((a, b) -> rankBy.ranking().compare(a.result(), b.result()))
+                    .limit(topN)
+                    .toList();
+            return new SweepResult(rankBy, combinations.size(), entries.size(),
+                    combinations.size() - entries.size(), ranked);
+        } finally {
+            activeSweeps.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private SweepResult.Entry evaluate(TradingStrategy strategy, BigDecimal initialCapital, List<MarketData> data,
+                                       SeriesIndicators indicators, PriceSeries series, ExecutionModel execution,
+                                       Map<String, Double> parameters, SimulationMode mode,
+                                       ProgressMonitor progress) {
+        progress.checkCancelled();
+        List<TradeSignal> signals;
+        try {
+            signals = strategy instanceof IndicatorBackedStrategy indicatorBacked
+                    ? indicatorBacked.generateSignals(indicators, parameters)
+                    : strategy.generateSignals(data, parameters);
+        } catch (IllegalArgumentException e) {
+            progress.advance(1);
+            return null;
+        }
+        BacktestResult result;
+        if (series != null) {
+            result = simulationService.simulate(initialCapital, series, TradeSignal.encode(signals, series.size()),
+                    execution, ProgressMonitor.NONE);
+        } else {
+            result = mode == SimulationMode.FAST
+                    ? simulationService.simulate(initialCapital, indicators.closes(), signals)
+                    : simulationService.simulate(initialCapital, data, signals);
+        }
+        progress.advance(1);
+        return new SweepResult.Entry(parameters, result);
+    }
+
+    /**
+     * Evaluates a batch of valid combinations with one multi-parameter signal pass over the series.
+     */
+    private List<SweepResult.Entry> evaluate(VectorizedStrategy strategy, BigDecimal initialCapital,
+                                             SeriesIndicators indicators, PriceSeries series,
+                                             ExecutionModel execution, List<Map<String, Double>> batch,
+                                             ProgressMonitor progress) {
+        progress.checkCancelled();
+        byte[][] signals = new byte[batch.size()][indicators.size()];
+        strategy.generateSignals(indicators, batch, signals);
+        List<SweepResult.Entry> entries = new ArrayList<>(batch.size());
+        for (int p = 0; p < batch.size(); p++) {
+            BacktestResult result = series != null
+                    ? simulationService.simulate(initialCapital, series, signals[p], execution, ProgressMonitor.NONE)
+                    : simulationService.simulate(initialCapital, indicators.closes(), signals[p]);
+            entries.add(new SweepResult.Entry(batch.get(p), result));
+        }
+        progress.advance(batch.size());
+        return entries;
+    }
+
+    /**
+     * Drops combinations the strategy rejects and groups the rest into batches for multi-parameter passes.
+     */
+    private static List<List<Map<String, Double>>> signalBatches(VectorizedStrategy strategy,
+                                                                 List<Map<String, Double>> combinations) {
+        List<List<Map<String, Double>>> batches = new ArrayList<>();
+        List<Map<String, Double>> batch = new ArrayList<>(SIGNAL_BATCH_SIZE);
+        for (Map<String, Double> parameters : combinations) {
+            try {
+                strategy.validateParameters(parameters);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            batch.add(parameters);
+            if (batch.size() == SIGNAL_BATCH_SIZE) {
+                batches.add(batch);
+                batch = new ArrayList<>(SIGNAL_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,148 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.PriceSeries;
+
+import java.util.List;
+
+/**
+ * K-way merge of several date-sorted {@link PriceSeries} into one ascending timeline.
+ * <p>
+ * Each call to {@link #next()} advances to the next distinct timestamp and exposes the assets that have a
+ * bar at it, as (asset id, bar index) pairs in ascending asset id order. Asset ids are positions in the
+ * input list. The merge keeps one cursor per series in a binary min-heap of asset ids, so a full pass
+ * costs O(total bars x log assets) and allocates nothing after construction.
+ */
+public final class TimelineMerger {
+
+    private final PriceSeries[] series;
+    private final int[] cursors;
+    private final int[] heap;
+    private int heapSize;
+
+    private final int[] stepAssets;
+    private final int[] stepBars;
+    private int stepSize;
+    private int timestamp;
+
+    /**
+     * @param series series sorted by timestamp ascending; bars sharing a timestamp within one series
+     *               collapse to the last of them
+     * @throws IllegalArgumentException if a series is not sorted
+     */
+    public TimelineMerger(List<PriceSeries> series) {
+        this.series = series.toArray(new PriceSeries[0]);
+        this.cursors = new int[this.series.length];
+        this.heap = new int[this.series.length];
+        this.stepAssets = new int[this.series.length];
+        this.stepBars = new int[this.series.length];
+        for (int asset = 0; asset < this.series.length; asset++) {
+            PriceSeries s = this.series[asset];
+            if (!s.isSorted()) {
+                throw new IllegalArgumentException("Series for " + s.getTicker() + " is not sorted by date");
+            }
+            if (!s.isEmpty()) {
+                heap[heapSize] = asset;
+                siftUp(heapSize++);
+            }
+        }
+    }
+
+    /**
+     * Advances to the next timestamp.
+     *
+     * @return false once every series is exhausted
+     */
+    public boolean next() {
+        stepSize = 0;
+        if (heapSize == 0) {
+            return false;
+        }
+        timestamp = key(heap[0]);
+        while (heapSize > 0 && key(heap[0]) == timestamp) {
+            int asset = heap[0];
+            if (stepSize > 0 && stepAssets[stepSize - 1] == asset) {
+                stepBars[stepSize - 1] = cursors[asset];
+            } else {
+                stepAssets[stepSize] = asset;
+                stepBars[stepSize] = cursors[asset];
+                stepSize++;
+            }
+            if (++cursors[asset] == series[asset].size()) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(0);
+        }
+        return true;
+    }
+
+    /**
+     * Timestamp of the current step, in the series' {@link com.quantsim.domain.BarResolution} units.
+     */
+    public int timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Number of assets with a bar at the current step.
+     */
+    public int size() {
+        return stepSize;
+    }
+
+    /**
+     * Asset id of the {@code k}-th bar in the current step.
+     */
+    public int asset(int k) {
+        return stepAssets[k];
+    }
+
+    /**
+     * Index into its series of the {@code k}-th bar in the current step.
+     */
+    public int bar(int k) {
+        return stepBars[k];
+    }
+
+    private int key(int asset) {
+        return series[asset].getTimestamp(cursors[asset]);
+    }
+
+    private boolean less(int a, int b) {
+        int ka = key(a);
+        int kb = key(b);
+        return ka < kb || (ka == kb && a < b);
+    }
+
+    private void siftUp(int index) {
+        int asset = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(asset, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = asset;
+    }
+
+    private void siftDown(int index) {
+        if (heapSize == 0) {
+            return;
+        }
+        int asset = heap[index];
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], asset)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = asset;
+    }
+}
@@ -0,0 +1,37 @@
+package com.quantsim.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable result of a walk-forward optimization: the winning parameters per window, their in-sample
+ * and out-of-sample results, and the out-of-sample equity curve stitched across all test windows.
+ */
+public record WalkForwardResult(
+        SweepMetric rankedBy,
+        int combinations,
+        int evaluated,
+        List<Window> windows,
+        BacktestResult outOfSample,
+        List<EquityPoint> equityCurve
+) {
+
+    /**
+     * One train/test split. Both date ranges are inclusive.
+     */
+    public record Window(
+            LocalDate trainStart,
+            LocalDate trainEnd,
+            LocalDate testStart,
+            LocalDate testEnd,
+            Map<String, Double> bestParameters,
+            BacktestResult inSample,
+            BacktestResult outOfSample
+    ) {}
+
+    /**
+     * Stitched out-of-sample portfolio value after the bar on {@code date}.
+     */
+    public record EquityPoint(LocalDate date, double value) {}
+}
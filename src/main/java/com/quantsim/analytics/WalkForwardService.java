@@ -0,0 +1,264 @@
+package com.quantsim.analytics;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.strategy.IndicatorBackedStrategy;
+import com.quantsim.strategy.VectorizedStrategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Service that runs walk-forward optimizations: the series is split into consecutive train/test windows,
+ * every parameter combination is ranked on each train window, and each window's winner is then
+ * evaluated on the following, unseen test window.
+ * <p>
+ * Signals are generated once per combination over the whole series, from indicator columns shared by all
+ * combinations, and every window is simulated as a sub-range of those columns. The cost of adding windows is
+ * therefore one range simulation per combination, not another pass of indicator and signal generation.
+ * Indicators at the start of a window look back into earlier bars, so no window pays a warm-up period.
+ * Combinations are processed in parallel on a dedicated ForkJoinPool in batches, keeping only the parameters
+ * and train result of the best candidate per window; batches are reduced as they complete, and each winner's
+ * signal column is regenerated for its test window. All simulations use {@link SimulationMode#FAST}.
+ */
+@Service
+public class WalkForwardService {
+
+    /** Parameter sets per signal pass; bounds signal memory to batch size x bars per worker. */
+    private static final int SIGNAL_BATCH_SIZE = 32;
+
+    private final ForkJoinPool pool;
+    private final Semaphore activeRuns;
+    private final int maxCombinations;
+
+    public WalkForwardService(@Value("${quantsim.walkforward.parallelism:0}") int parallelism,
+                              @Value("${quantsim.walkforward.max-concurrent:2}") int maxConcurrentRuns,
+                              @Value("${quantsim.walkforward.max-combinations:100000}") int maxCombinations) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.activeRuns = new Semaphore(maxConcurrentRuns);
+        this.maxCombinations = maxCombinations;
+    }
+
+    /**
+     * Runs a walk-forward optimization over {@code series}.
+     *
+     * @param strategy       strategy to optimize
+     * @param initialCapital starting cash of every window simulation and of the stitched curve
+     * @param series         price series, sorted by date ascending
+     * @param ranges         parameter name to range of values to try
+     * @param rankBy         metric used to pick each train window's winner; ties go to the first combination
+     * @param trainBars      bars per train window
+     * @param testBars       bars per test window, and the step between consecutive windows
+     * @param anchored       if true, every train window starts at the first bar and grows by {@code testBars}
+     * @return per-window winners and the stitched out-of-sample result
+     * @throws CapacityExceededException if the maximum number of concurrent walk-forward runs is already running
+     */
+    public WalkForwardResult run(TradingStrategy strategy, BigDecimal initialCapital, PriceSeries series,
+                                 Map<String, ParameterRange> ranges, SweepMetric rankBy,
+                                 int trainBars, int testBars, boolean anchored) {
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one parameter range is required");
+        }
+        if (trainBars < 2 || testBars < 1) {
+            throw new IllegalArgumentException("trainBars must be at least 2 and testBars at least 1");
+        }
+        if (series.size() <= trainBars) {
+            throw new IllegalArgumentException("Walk-forward needs more than trainBars (" + trainBars
+                    + ") bars, but the series has " + series.size());
+        }
+        List<Map<String, Double>> combinations;
+        try {
+            combinations = ParameterRange.grid(ranges, maxCombinations);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Walk-forward exceeds the maximum of " + maxCombinations + " combinations");
+        }
+        List<int[]> windows = windows(series.size(), trainBars, testBars, anchored);
+
+        if (!activeRuns.tryAcquire()) {
+            throw new CapacityExceededException("Too many concurrent walk-forward runs; retry later");
+        }
+        try {
+            SeriesIndicators indicators = SeriesIndicators.of(series);
+            List<MarketData> data = strategy instanceof IndicatorBackedStrategy ? null : series.toMarketDataList();
+            List<List<Map<String, Double>>> batches = new ArrayList<>();
+            for (int from = 0; from < combinations.size(); from += SIGNAL_BATCH_SIZE) {
+                batches.add(combinations.subList(from, Math.min(from + SIGNAL_BATCH_SIZE, combinations.size())));
+            }
+            // The ordered reduction keeps the earlier batch on ties, so winners are the same at any parallelism.
+            BatchBest best = pool.submit(() -> batches.parallelStream()
+                            .map(batch -> optimize(strategy, initialCapital, data, indicators, batch,
+                                    windows, rankBy))
+                            .reduce((earlier, later) -> combine(earlier, later, rankBy))
+                            .orElseThrow())
+                    .join();
+            if (best.evaluated() == 0) {
+                throw new IllegalArgumentException("No valid parameter combination in the given ranges");
+            }
+            return outOfSample(strategy, initialCapital, series, data, indicators, windows, best.best(), rankBy,
+                    combinations.size(), best.evaluated());
+        } finally {
+            activeRuns.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Splits {@code size} bars into windows of {@code {trainFrom, trainTo, testTo}}; the test range is
+     * {@code [trainTo, testTo)}. The last test window may be shorter than {@code testBars}.
+     */
+    private static List<int[]> windows(int size, int trainBars, int testBars, boolean anchored) {
+        List<int[]> windows = new ArrayList<>();
+        for (int trainTo = trainBars; trainTo < size; trainTo += testBars) {
+            int trainFrom = anchored ? 0 : trainTo - trainBars;
+            windows.add(new int[]{trainFrom, trainTo, Math.min(trainTo + testBars, size)});
+        }
+        return windows;
+    }
+
+    /**
+     * Generates signals for one batch of combinations and finds the batch's best combination per train window.
+     */
+    private static BatchBest optimize(TradingStrategy strategy, BigDecimal initialCapital, List<MarketData> data,
+                                      SeriesIndicators indicators, List<Map<String, Double>> batch,
+                                      List<int[]> windows, SweepMetric rankBy) {
+        byte[][] signals = signals(strategy, data, indicators, batch);
+        Candidate[] best = new Candidate[windows.size()];
+        int evaluated = 0;
+        for (int p = 0; p < batch.size(); p++) {
+            if (signals[p] == null) {
+                continue;
+            }
+            evaluated++;
+            for (int w = 0; w < windows.size(); w++) {
+                int[] window = windows.get(w);
+                BacktestResult result = FastSimulationKernel.run(initialCapital, indicators.closes(), signals[p],
+                        window[0], window[1], null, ProgressMonitor.NONE);
+                best[w] = better(best[w], new Candidate(batch.get(p), result), rankBy);
+            }
+        }
+        return new BatchBest(best, evaluated);
+    }
+
+    private static BatchBest combine(BatchBest earlier, BatchBest later, SweepMetric rankBy) {
+        Candidate[] best = earlier.best().clone();
+        for (int w = 0; w < best.length; w++) {
+            best[w] = better(best[w], later.best()[w], rankBy);
+        }
+        return new BatchBest(best, earlier.evaluated() + later.evaluated());
+    }
+
+    /**
+     * Returns one full-series signal column per combination, or {@code null} for combinations the strategy rejects.
+     * {@code data} is only needed, and only non-null, for strategies that are not indicator-backed.
+     */
+    private static byte[][] signals(TradingStrategy strategy, List<MarketData> data, SeriesIndicators indicators,
+                                    List<Map<String, Double>> batch) {
+        byte[][] signals = new byte[batch.size()][];
+        if (strategy instanceof VectorizedStrategy vectorized) {
+            List<Map<String, Double>> valid = new ArrayList<>(batch.size());
+            List<Integer> positions = new ArrayList<>(batch.size());
+            for (int p = 0; p < batch.size(); p++) {
+                try {
+                    vectorized.validateParameters(batch.get(p));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                valid.add(batch.get(p));
+                positions.add(p);
+            }
+            byte[][] columns = new byte[valid.size()][indicators.size()];
+            vectorized.generateSignals(indicators, valid, columns);
+            for (int v = 0; v < columns.length; v++) {
+                signals[positions.get(v)] = columns[v];
+            }
+            return signals;
+        }
+        for (int p = 0; p < batch.size(); p++) {
+            try {
+                List<TradeSignal> list = strategy instanceof IndicatorBackedStrategy indicatorBacked
+                        ? indicatorBacked.generateSignals(indicators, batch.get(p))
+                        : strategy.generateSignals(data, batch.get(p));
+                signals[p] = TradeSignal.encode(list, indicators.size());
+            } catch (IllegalArgumentException e) {
+                // Rejected combination; its column stays null.
+            }
+        }
+        return signals;
+    }
+
+    /**
+     * Evaluates each window's winner on its test range and stitches the test equity curves together.
+     * Every test window is simulated from {@code initialCapital}; since the simulation is all-in/all-out,
+     * its curve scales linearly with capital and is rescaled to continue from the previous window's end.
+     * Consecutive windows often share a winner, so the last regenerated signal column is reused.
+     */
+    private static WalkForwardResult outOfSample(TradingStrategy strategy, BigDecimal initialCapital,
+                                                 PriceSeries series, List<MarketData> data,
+                                                 SeriesIndicators indicators, List<int[]> windows, Candidate[] best,
+                                                 SweepMetric rankBy, int combinations, int evaluated) {
+        double capital = initialCapital.doubleValue();
+        int first = windows.get(0)[1];
+        double[] equity = new double[series.size()];
+        double stitched = capital;
+        List<WalkForwardResult.Window> results = new ArrayList<>(windows.size());
+        Map<String, Double> signalParameters = null;
+        byte[] signals = null;
+        for (int w = 0; w < windows.size(); w++) {
+            int[] window = windows.get(w);
+            Candidate winner = best[w];
+            if (!winner.parameters().equals(signalParameters)) {
+                signalParameters = winner.parameters();
+                signals = signals(strategy, data, indicators, List.of(signalParameters))[0];
+            }
+            BacktestResult oos = FastSimulationKernel.run(initialCapital, indicators.closes(), signals,
+                    window[1], window[2], equity, ProgressMonitor.NONE);
+            double scale = stitched / capital;
+            for (int i = window[1]; i < window[2]; i++) {
+                equity[i] *= scale;
+            }
+            stitched = equity[window[2] - 1];
+            results.add(new WalkForwardResult.Window(
+                    series.getDate(window[0]), series.getDate(window[1] - 1),
+                    series.getDate(window[1]), series.getDate(window[2] - 1),
+                    winner.parameters(), winner.result(), oos));
+        }
+
+        double[] curve = Arrays.copyOfRange(equity, first, series.size());
+        List<WalkForwardResult.EquityPoint> points = new ArrayList<>(curve.length);
+        for (int i = 0; i < curve.length; i++) {
+            points.add(new WalkForwardResult.EquityPoint(series.getDate(first + i), curve[i]));
+        }
+        return new WalkForwardResult(rankBy, combinations, evaluated, results,
+                FastSimulationKernel.summarize(initialCapital, curve), points);
+    }
+
+    private static Candidate better(Candidate current, Candidate challenger, SweepMetric rankBy) {
+        if (challenger == null) {
+            return current;
+        }
+        if (current == null || rankBy.ranking().compare(challenger.result(), current.result()) < 0) {
+            return challenger;
+        }
+        return current;
+    }
+
+    private record Candidate(Map<String, Double> parameters, BacktestResult result) {}
+
+    private record BatchBest(Candidate[] best, int evaluated) {}
+}
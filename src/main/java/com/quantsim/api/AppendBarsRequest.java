@@ -0,0 +1,23 @@
+package com.quantsim.api;
+
+import com.quantsim.service.SessionBar;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for appending new daily bars, in date order, to a streaming session.
+ */
+public class AppendBarsRequest {
+
+    @NotEmpty(message = "At least one bar is required")
+    private List<SessionBar> bars;
+
+    public List<SessionBar> getBars() {
+        return bars;
+    }
+
+    public void setBars(List<SessionBar> bars) {
+        this.bars = bars;
+    }
+}
@@ -0,0 +1,23 @@
+package com.quantsim.api;
+
+import com.quantsim.service.IntradayBar;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for appending intraday bars or trades, in time order, to the intraday store.
+ */
+public class AppendIntradayBarsRequest {
+
+    @NotEmpty(message = "At least one bar is required")
+    private List<IntradayBar> bars;
+
+    public List<IntradayBar> getBars() {
+        return bars;
+    }
+
+    public void setBars(List<IntradayBar> bars) {
+        this.bars = bars;
+    }
+}
@@ -1,52 +1,118 @@
 package com.quantsim.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quantsim.analytics.BacktestResult;
-import com.quantsim.analytics.SimulationService;
-import com.quantsim.api.exception.TickerNotFoundException;
-import com.quantsim.domain.MarketData;
-import com.quantsim.domain.TradingStrategy;
-import com.quantsim.repository.MarketDataRepository;
-import com.quantsim.strategy.StrategyRegistry;
+import com.quantsim.analytics.BacktestTrace;
+import com.quantsim.metrics.BacktestMetrics;
+import com.quantsim.service.BacktestJob;
+import com.quantsim.service.BacktestResultCache;
+import com.quantsim.service.BacktestService;
+import com.quantsim.service.ComputeExecutor;
+import com.quantsim.service.MultiStrategyResult;
+import com.quantsim.service.StrategySpec;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 /**
  * REST controller for backtest operations.
- * Fetches market data from the repository and runs simulations.
+ * Runs simulations through {@link BacktestService}, which serves repeated requests from the result cache,
+ * on the {@link ComputeExecutor} pool: the request thread only waits, requests beyond the pool's capacity get
+ * 503, and an optional {@value #TIMEOUT_HEADER} header shortens the request's deadline.
+ * The response is serialized here rather than by the message converter so its cost can be timed.
  */
 @RestController
 @RequestMapping("/api/v1")
 public class BacktestController {
 
-    private final MarketDataRepository marketDataRepository;
-    private final StrategyRegistry strategyRegistry;
-    private final SimulationService simulationService;
+    static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
 
-    public BacktestController(MarketDataRepository marketDataRepository,
-                              StrategyRegistry strategyRegistry,
-                              SimulationService simulationService) {
-        this.marketDataRepository = marketDataRepository;
-        this.strategyRegistry = strategyRegistry;
-        this.simulationService = simulationService;
+    private final BacktestService backtestService;
+    private final ComputeExecutor computeExecutor;
+    private final BacktestResultCache resultCache;
+    private final BacktestMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    public BacktestController(BacktestService backtestService,
+                              ComputeExecutor computeExecutor,
+                              BacktestResultCache resultCache,
+                              BacktestMetrics metrics,
+                              ObjectMapper objectMapper) {
+        this.backtestService = backtestService;
+        this.computeExecutor = computeExecutor;
+        this.resultCache = resultCache;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
     }
 
-    @PostMapping("/backtest")
-    public ResponseEntity<BacktestResult> runBacktest(@RequestBody @Valid BacktestRequest request) {
-        List<MarketData> data = marketDataRepository.findByTicker(request.getTicker())
-                .orElseThrow(() -> new TickerNotFoundException(request.getTicker()));
+    @PostMapping(value = "/backtest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> runBacktest(@RequestBody @Valid BacktestRequest request,
+                                              @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMs)
+            throws JsonProcessingException {
+        BacktestJob job = request.toJob();
+        BacktestResult result = computeExecutor.call(timeoutMs, progress -> backtestService.run(job, progress));
 
-        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
-        var parameters = request.getParameters() != null ? request.getParameters() : java.util.Map.<String, Double>of();
+        long start = System.nanoTime();
+        byte[] body = objectMapper.writeValueAsBytes(result);
+        metrics.recordSerialization(metrics.tags(request.getStrategyType(), request.getTicker()),
+                System.nanoTime() - start);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 
-        BacktestResult result = simulationService.runBacktest(
-                strategy,
-                request.getInitialCapital(),
-                data,
-                parameters);
+    /**
+     * Per-bar equity, drawdown and position plus the trade log as JSON, downsampled to at most
+     * {@code maxPoints} points (0 for every bar).
+     */
+    @PostMapping("/backtest/trace")
+    public ResponseEntity<BacktestTrace> traceBacktest(@RequestBody @Valid BacktestRequest request,
+                                                       @RequestParam(defaultValue = "1000") int maxPoints,
+                                                       @RequestHeader(value = TIMEOUT_HEADER, required = false)
+                                                       Long timeoutMs) {
+        return ResponseEntity.ok(trace(request, timeoutMs).downsample(maxPoints));
+    }
+
+    /**
+     * The same trace in the columnar binary layout documented on {@link BacktestTrace}, at full resolution
+     * unless {@code maxPoints} is given.
+     */
+    @PostMapping(value = "/backtest/trace/columns", produces = BacktestTrace.COLUMNS_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> traceBacktestColumns(@RequestBody @Valid BacktestRequest request,
+                                                                      @RequestParam(defaultValue = "0") int maxPoints,
+                                                                      @RequestHeader(value = TIMEOUT_HEADER,
+                                                                              required = false) Long timeoutMs) {
+        BacktestTrace trace = trace(request, timeoutMs).downsample(maxPoints);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(BacktestTrace.COLUMNS_MEDIA_TYPE))
+                .body(trace::writeColumns);
+    }
+
+    private BacktestTrace trace(BacktestRequest request, Long timeoutMs) {
+        BacktestJob job = request.toJob();
+        return computeExecutor.call(timeoutMs, progress -> backtestService.trace(job, progress));
+    }
+
+    /**
+     * Backtests several strategies on one ticker in a single shared scan of its bars, always in FAST mode.
+     */
+    @PostMapping("/backtest/multi")
+    public ResponseEntity<MultiStrategyResult> runMultiStrategy(
+            @RequestBody @Valid MultiStrategyBacktestRequest request,
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMs) {
+        List<StrategySpec> strategies = request.toSpecs();
+        return ResponseEntity.ok(computeExecutor.call(timeoutMs, progress -> backtestService.runStrategies(
+                request.getTicker(), request.getInitialCapital(), request.getStartDate(), request.getEndDate(),
+                strategies, progress)));
+    }
 
-        return ResponseEntity.ok(result);
+    @GetMapping("/backtest/cache")
+    public ResponseEntity<BacktestResultCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(resultCache.stats());
     }
 }
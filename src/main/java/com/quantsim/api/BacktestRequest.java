@@ -1,16 +1,21 @@
 package com.quantsim.api;
 
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.service.BacktestJob;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
  * Request DTO for the backtest API.
- * Contains ticker, strategy type, initial capital, and strategy parameters.
+ * Contains ticker, strategy type, initial capital, strategy parameters,
+ * an optional inclusive date window to backtest, the simulation mode and an optional execution model.
  */
 public class BacktestRequest {
 
@@ -26,6 +31,14 @@ public class BacktestRequest {
 
     private Map<String, Double> parameters;
 
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private String mode;
+
+    private ExecutionModel execution;
+
     public String getTicker() {
         return ticker;
     }
@@ -57,4 +70,44 @@ public class BacktestRequest {
     public void setParameters(Map<String, Double> parameters) {
         this.parameters = parameters;
     }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public ExecutionModel getExecution() {
+        return execution;
+    }
+
+    public void setExecution(ExecutionModel execution) {
+        this.execution = execution;
+    }
+
+    /**
+     * Converts this request into a backtest job; an unknown {@code mode} is rejected here.
+     */
+    public BacktestJob toJob() {
+        return new BacktestJob(ticker, strategyType, parameters, initialCapital, startDate, endDate,
+                SimulationMode.fromString(mode), execution);
+    }
 }
@@ -0,0 +1,60 @@
+package com.quantsim.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantsim.service.BatchBacktestService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+
+/**
+ * REST controller for batch backtests.
+ * Streams one NDJSON line per job as soon as that job finishes; the line carries either the
+ * {@code result} or an {@code error}, plus the job's {@code index} in the request. Each request is validated
+ * and turned into a job inside the batch, so one invalid job (a negative {@code initialCapital} or an unknown
+ * {@code mode}, say) only gets its own error line.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class BatchBacktestController {
+
+    private final BatchBacktestService batchBacktestService;
+    private final ObjectMapper objectMapper;
+
+    public BatchBacktestController(BatchBacktestService batchBacktestService, ObjectMapper objectMapper) {
+        this.batchBacktestService = batchBacktestService;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostMapping(value = "/backtest/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> runBatch(@RequestBody @Valid BatchBacktestRequest request) {
+        BatchBacktestService.BatchRun run = batchBacktestService.start(request.getJobs(), BacktestRequest::toJob);
+
+        StreamingResponseBody body = out -> {
+            try (run) {
+                run.forEachCompleted(result -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(result));
+                        out.write('\n');
+                        out.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Batch interrupted");
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,24 @@
+package com.quantsim.api;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for the batch backtest API.
+ * Contains the backtests to run, each with the same fields as a single backtest request. Jobs are not
+ * validated with the request: each is validated when it runs, so an invalid job only fails its own line.
+ */
+public class BatchBacktestRequest {
+
+    @NotEmpty(message = "At least one job is required")
+    private List<BacktestRequest> jobs;
+
+    public List<BacktestRequest> getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(List<BacktestRequest> jobs) {
+        this.jobs = jobs;
+    }
+}
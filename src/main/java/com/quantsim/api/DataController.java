@@ -0,0 +1,44 @@
+package com.quantsim.api;
+
+import com.quantsim.service.BulkCsvIngestionService;
+import com.quantsim.service.IngestionReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * REST controller for market data management.
+ * Ingests CSV files on demand from within the configured data directory.
+ */
+@RestController
+@RequestMapping("/api/v1/data")
+public class DataController {
+
+    private final BulkCsvIngestionService bulkCsvIngestionService;
+    private final String dataDirectory;
+
+    public DataController(BulkCsvIngestionService bulkCsvIngestionService,
+                          @Value("${quantsim.data.directory:}") String dataDirectory) {
+        this.bulkCsvIngestionService = bulkCsvIngestionService;
+        this.dataDirectory = dataDirectory;
+    }
+
+    @PostMapping("/ingest")
+    public ResponseEntity<IngestionReport> ingest(@RequestBody(required = false) IngestRequest request) throws IOException {
+        if (dataDirectory == null || dataDirectory.isBlank()) {
+            throw new IllegalArgumentException("Data directory is not configured (quantsim.data.directory)");
+        }
+        Path root = Path.of(dataDirectory).toAbsolutePath().normalize();
+        Path target = root;
+        if (request != null && request.getPath() != null && !request.getPath().isBlank()) {
+            target = root.resolve(request.getPath()).normalize();
+            if (!target.startsWith(root)) {
+                throw new IllegalArgumentException("Path must be inside the data directory");
+            }
+        }
+        return ResponseEntity.ok(bulkCsvIngestionService.ingestDirectory(target));
+    }
+}
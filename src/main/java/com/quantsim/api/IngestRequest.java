@@ -0,0 +1,18 @@
+package com.quantsim.api;
+
+/**
+ * Request DTO for on-demand CSV ingestion.
+ * {@code path} is a subdirectory of the configured data directory; blank means the data directory itself.
+ */
+public class IngestRequest {
+
+    private String path;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
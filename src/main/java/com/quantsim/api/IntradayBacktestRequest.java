@@ -0,0 +1,103 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.ExecutionModel;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Request DTO for backtests on intraday data.
+ * Contains ticker, the bar interval to resample to ({@code 1m}, {@code 5m}, {@code 1h} or {@code 1d}),
+ * strategy type, initial capital, strategy parameters, an optional inclusive window of UTC dates
+ * and an optional execution model.
+ */
+public class IntradayBacktestRequest {
+
+    @NotBlank(message = "Ticker is required")
+    private String ticker;
+
+    private String interval;
+
+    @NotBlank(message = "Strategy type is required")
+    private String strategyType;
+
+    @NotNull(message = "Initial capital is required")
+    @DecimalMin(value = "0.01", message = "Initial capital must be positive")
+    private BigDecimal initialCapital;
+
+    private Map<String, Double> parameters;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private ExecutionModel execution;
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public String getInterval() {
+        return interval;
+    }
+
+    public void setInterval(String interval) {
+        this.interval = interval;
+    }
+
+    public String getStrategyType() {
+        return strategyType;
+    }
+
+    public void setStrategyType(String strategyType) {
+        this.strategyType = strategyType;
+    }
+
+    public BigDecimal getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(BigDecimal initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public Map<String, Double> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(Map<String, Double> parameters) {
+        this.parameters = parameters;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public ExecutionModel getExecution() {
+        return execution;
+    }
+
+    public void setExecution(ExecutionModel execution) {
+        this.execution = execution;
+    }
+}
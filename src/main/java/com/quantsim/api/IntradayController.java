@@ -0,0 +1,82 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.BarInterval;
+import com.quantsim.repository.IntradayBarStore;
+import com.quantsim.service.ComputeExecutor;
+import com.quantsim.service.IntradayBacktestResult;
+import com.quantsim.service.IntradayIngestReport;
+import com.quantsim.service.IntradayService;
+import com.quantsim.service.IntradayStatus;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * REST controller for intraday data: appends bars or trades to the off-heap intraday store, either as JSON
+ * or as a streamed CSV body, and backtests on them resampled to a bar interval on the {@link ComputeExecutor}.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class IntradayController {
+
+    private final IntradayService intradayService;
+    private final ComputeExecutor computeExecutor;
+
+    public IntradayController(IntradayService intradayService, ComputeExecutor computeExecutor) {
+        this.intradayService = intradayService;
+        this.computeExecutor = computeExecutor;
+    }
+
+    @PostMapping(value = "/intraday/{ticker}/bars", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IntradayStatus> appendBars(@PathVariable String ticker,
+                                                     @RequestBody @Valid AppendIntradayBarsRequest request) {
+        return ResponseEntity.ok(intradayService.append(ticker, request.getBars()));
+    }
+
+    @PostMapping(value = "/intraday/{ticker}/bars", consumes = "text/csv")
+    public ResponseEntity<IntradayIngestReport> ingestCsv(@PathVariable String ticker, InputStream body)
+            throws IOException {
+        return ResponseEntity.ok(intradayService.ingestCsv(ticker, body));
+    }
+
+    @GetMapping("/intraday")
+    public ResponseEntity<List<IntradayStatus>> listTickers() {
+        return ResponseEntity.ok(intradayService.list());
+    }
+
+    @GetMapping("/intraday/stats")
+    public ResponseEntity<IntradayBarStore.Stats> getStats() {
+        return ResponseEntity.ok(intradayService.stats());
+    }
+
+    @GetMapping("/intraday/{ticker}")
+    public ResponseEntity<IntradayStatus> getTicker(@PathVariable String ticker) {
+        return ResponseEntity.ok(intradayService.status(ticker).orElseThrow(() -> new TickerNotFoundException(ticker)));
+    }
+
+    @DeleteMapping("/intraday/{ticker}")
+    public ResponseEntity<Void> deleteTicker(@PathVariable String ticker) {
+        if (!intradayService.delete(ticker)) {
+            throw new TickerNotFoundException(ticker);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/intraday/backtest")
+    public ResponseEntity<IntradayBacktestResult> runBacktest(
+            @RequestBody @Valid IntradayBacktestRequest request,
+            @RequestHeader(value = BacktestController.TIMEOUT_HEADER, required = false) Long timeoutMs) {
+        BarInterval interval = BarInterval.fromString(request.getInterval());
+        ExecutionModel execution = ExecutionModel.orNone(request.getExecution());
+        return ResponseEntity.ok(computeExecutor.call(timeoutMs, progress -> intradayService.backtest(
+                request.getTicker(), interval, request.getStrategyType(), request.getParameters(),
+                request.getInitialCapital(), request.getStartDate(), request.getEndDate(), execution, progress)));
+    }
+}
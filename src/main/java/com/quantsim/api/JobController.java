@@ -0,0 +1,168 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.MonteCarloService;
+import com.quantsim.analytics.ResamplingMethod;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.analytics.SweepMetric;
+import com.quantsim.analytics.SweepService;
+import com.quantsim.api.exception.JobNotFoundException;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.BarInterval;
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.service.BacktestJob;
+import com.quantsim.service.BacktestService;
+import com.quantsim.service.IntradayService;
+import com.quantsim.service.JobService;
+import com.quantsim.service.JobStatus;
+import com.quantsim.service.JobType;
+import com.quantsim.service.ShardedSweepService;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for asynchronous jobs.
+ * Submission validates the request, queues the work and answers {@code 202 Accepted} with the job's id;
+ * clients then poll the job for progress and its result, or cancel it.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class JobController {
+
+    private final JobService jobService;
+    private final BacktestService backtestService;
+    private final SweepService sweepService;
+    private final MarketDataRepository marketDataRepository;
+    private final StrategyRegistry strategyRegistry;
+    private final MonteCarloService monteCarloService;
+    private final ShardedSweepService shardedSweepService;
+    private final IntradayService intradayService;
+
+    public JobController(JobService jobService,
+                         BacktestService backtestService,
+                         SweepService sweepService,
+                         MarketDataRepository marketDataRepository,
+                         StrategyRegistry strategyRegistry,
+                         MonteCarloService monteCarloService,
+                         ShardedSweepService shardedSweepService,
+                         IntradayService intradayService) {
+        this.jobService = jobService;
+        this.backtestService = backtestService;
+        this.sweepService = sweepService;
+        this.marketDataRepository = marketDataRepository;
+        this.strategyRegistry = strategyRegistry;
+        this.monteCarloService = monteCarloService;
+        this.shardedSweepService = shardedSweepService;
+        this.intradayService = intradayService;
+    }
+
+    @PostMapping("/jobs/backtest")
+    public ResponseEntity<JobStatus> submitBacktest(@RequestBody @Valid BacktestRequest request) {
+        requireDateOrder(request.getStartDate(), request.getEndDate());
+        BacktestJob job = request.toJob();
+        strategyRegistry.getStrategy(job.strategyType());
+        return accepted(jobService.submit(JobType.BACKTEST, progress -> backtestService.run(job, progress)));
+    }
+
+    @PostMapping("/jobs/sweep")
+    public ResponseEntity<JobStatus> submitSweep(@RequestBody @Valid SweepRequest request) {
+        requireDateOrder(request.getStartDate(), request.getEndDate());
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
+        SweepMetric rankBy = SweepMetric.fromString(request.getRankBy());
+        SimulationMode mode = SimulationMode.fromString(request.getMode());
+        ExecutionModel execution = ExecutionModel.orNone(request.getExecution());
+        if (mode != SimulationMode.FAST && !execution.isFrictionless()) {
+            throw new IllegalArgumentException("Execution models require FAST mode");
+        }
+        if (!marketDataRepository.existsByTicker(request.getTicker())) {
+            throw new TickerNotFoundException(request.getTicker());
+        }
+
+        return accepted(jobService.submit(JobType.SWEEP, progress -> {
+            List<MarketData> data = marketDataRepository
+                    .findByTicker(request.getTicker(), request.getStartDate(), request.getEndDate())
+                    .orElseThrow(() -> new TickerNotFoundException(request.getTicker()));
+            return sweepService.runSweep(strategy, request.getInitialCapital(), data,
+                    request.getParameterRanges(), rankBy, request.getTopN(), mode, execution, progress);
+        }));
+    }
+
+    @PostMapping("/jobs/sweep/sharded")
+    public ResponseEntity<JobStatus> submitShardedSweep(@RequestBody @Valid ShardedSweepRequest request) {
+        requireDateOrder(request.getStartDate(), request.getEndDate());
+        if (shardedSweepService.getWorkers().isEmpty()) {
+            throw new IllegalArgumentException("No sweep workers are configured (quantsim.cluster.workers)");
+        }
+        strategyRegistry.getStrategy(request.getStrategyType());
+        SweepMetric rankBy = SweepMetric.fromString(request.getRankBy());
+        SimulationMode mode = SimulationMode.fromString(request.getMode());
+        ExecutionModel execution = ExecutionModel.orNone(request.getExecution());
+
+        return accepted(jobService.submit(JobType.SHARDED_SWEEP, progress -> shardedSweepService.runSweep(
+                request.getTickers(), request.getStrategyType(), request.getInitialCapital(),
+                request.getParameterRanges(), rankBy, request.getTopN(), request.getStartDate(),
+                request.getEndDate(), mode, execution, progress)));
+    }
+
+    @PostMapping("/jobs/montecarlo")
+    public ResponseEntity<JobStatus> submitMonteCarlo(@RequestBody @Valid MonteCarloRequest request) {
+        requireDateOrder(request.getStartDate(), request.getEndDate());
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
+        ResamplingMethod method = ResamplingMethod.fromString(request.getMethod());
+        Map<String, Double> parameters = request.getParameters() != null ? request.getParameters() : Map.of();
+        PriceSeries series = marketDataRepository
+                .findSeriesByTicker(request.getTicker(), request.getStartDate(), request.getEndDate())
+                .orElseThrow(() -> new TickerNotFoundException(request.getTicker()));
+
+        return accepted(jobService.submit(JobType.MONTE_CARLO, progress -> monteCarloService.run(
+                strategy, request.getInitialCapital(), series, parameters, method, request.getPaths(),
+                request.getBlockLength(), request.getSeed(), request.getConfidenceLevel(), progress)));
+    }
+
+    @PostMapping("/jobs/intraday/backtest")
+    public ResponseEntity<JobStatus> submitIntradayBacktest(@RequestBody @Valid IntradayBacktestRequest request) {
+        requireDateOrder(request.getStartDate(), request.getEndDate());
+        strategyRegistry.getStrategy(request.getStrategyType());
+        BarInterval interval = BarInterval.fromString(request.getInterval());
+        ExecutionModel execution = ExecutionModel.orNone(request.getExecution());
+        if (intradayService.status(request.getTicker()).isEmpty()) {
+            throw new TickerNotFoundException(request.getTicker());
+        }
+
+        return accepted(jobService.submit(JobType.INTRADAY_BACKTEST, progress -> intradayService.backtest(
+                request.getTicker(), interval, request.getStrategyType(), request.getParameters(),
+                request.getInitialCapital(), request.getStartDate(), request.getEndDate(), execution, progress)));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<JobStatus> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(jobService.get(id).orElseThrow(() -> new JobNotFoundException(id)));
+    }
+
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<JobStatus> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(jobService.cancel(id).orElseThrow(() -> new JobNotFoundException(id)));
+    }
+
+    private static void requireDateOrder(LocalDate startDate, LocalDate endDate) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+    }
+
+    private static ResponseEntity<JobStatus> accepted(JobStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/jobs/" + status.id()))
+                .body(status);
+    }
+}
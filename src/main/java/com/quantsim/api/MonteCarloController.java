@@ -0,0 +1,67 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.MonteCarloResult;
+import com.quantsim.analytics.MonteCarloService;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.ResamplingMethod;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller for Monte Carlo robustness runs.
+ * Backtests the requested strategy on the ticker's primitive series, then resamples its daily returns.
+ * Large runs can be submitted as asynchronous jobs through {@link JobController} instead.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class MonteCarloController {
+
+    private final MarketDataRepository marketDataRepository;
+    private final StrategyRegistry strategyRegistry;
+    private final MonteCarloService monteCarloService;
+
+    public MonteCarloController(MarketDataRepository marketDataRepository,
+                                StrategyRegistry strategyRegistry,
+                                MonteCarloService monteCarloService) {
+        this.marketDataRepository = marketDataRepository;
+        this.strategyRegistry = strategyRegistry;
+        this.monteCarloService = monteCarloService;
+    }
+
+    @PostMapping("/montecarlo")
+    public ResponseEntity<MonteCarloResult> runMonteCarlo(@RequestBody @Valid MonteCarloRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
+        ResamplingMethod method = ResamplingMethod.fromString(request.getMethod());
+        Map<String, Double> parameters = request.getParameters() != null ? request.getParameters() : Map.of();
+
+        PriceSeries series = marketDataRepository
+                .findSeriesByTicker(request.getTicker(), request.getStartDate(), request.getEndDate())
+                .orElseThrow(() -> new TickerNotFoundException(request.getTicker()));
+
+        MonteCarloResult result = monteCarloService.run(
+                strategy,
+                request.getInitialCapital(),
+                series,
+                parameters,
+                method,
+                request.getPaths(),
+                request.getBlockLength(),
+                request.getSeed(),
+                request.getConfidenceLevel(),
+                ProgressMonitor.NONE);
+
+        return ResponseEntity.ok(result);
+    }
+}
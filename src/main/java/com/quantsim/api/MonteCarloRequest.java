@@ -0,0 +1,138 @@
+package com.quantsim.api;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Request DTO for the Monte Carlo API.
+ * Contains the backtest to resample (ticker, strategy type, initial capital, parameters and an optional
+ * inclusive date window), the resampling method, the number of paths, the bootstrap block length,
+ * the random seed and the confidence level of the reported intervals.
+ */
+public class MonteCarloRequest {
+
+    @NotBlank(message = "Ticker is required")
+    private String ticker;
+
+    @NotBlank(message = "Strategy type is required")
+    private String strategyType;
+
+    @NotNull(message = "Initial capital is required")
+    @DecimalMin(value = "0.01", message = "Initial capital must be positive")
+    private BigDecimal initialCapital;
+
+    private Map<String, Double> parameters;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private String method;
+
+    @Min(value = 1, message = "paths must be at least 1")
+    private int paths = 10000;
+
+    @Min(value = 1, message = "blockLength must be at least 1")
+    private int blockLength = 20;
+
+    private long seed;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "confidenceLevel must be between 0 and 1")
+    @DecimalMax(value = "1.0", inclusive = false, message = "confidenceLevel must be between 0 and 1")
+    private double confidenceLevel = 0.95;
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public String getStrategyType() {
+        return strategyType;
+    }
+
+    public void setStrategyType(String strategyType) {
+        this.strategyType = strategyType;
+    }
+
+    public BigDecimal getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(BigDecimal initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public Map<String, Double> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(Map<String, Double> parameters) {
+        this.parameters = parameters;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public int getPaths() {
+        return paths;
+    }
+
+    public void setPaths(int paths) {
+        this.paths = paths;
+    }
+
+    public int getBlockLength() {
+        return blockLength;
+    }
+
+    public void setBlockLength(int blockLength) {
+        this.blockLength = blockLength;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    public void setConfidenceLevel(double confidenceLevel) {
+        this.confidenceLevel = confidenceLevel;
+    }
+}
@@ -0,0 +1,111 @@
+package com.quantsim.api;
+
+import com.quantsim.service.StrategySpec;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for the multi-strategy backtest API.
+ * Contains one ticker, initial capital and optional inclusive date window shared by every strategy,
+ * and the strategies to run, each with its type and parameters.
+ */
+public class MultiStrategyBacktestRequest {
+
+    @NotBlank(message = "Ticker is required")
+    private String ticker;
+
+    @NotNull(message = "Initial capital is required")
+    @DecimalMin(value = "0.01", message = "Initial capital must be positive")
+    private BigDecimal initialCapital;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @NotEmpty(message = "At least one strategy is required")
+    @Valid
+    private List<Strategy> strategies;
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public BigDecimal getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(BigDecimal initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public List<Strategy> getStrategies() {
+        return strategies;
+    }
+
+    public void setStrategies(List<Strategy> strategies) {
+        this.strategies = strategies;
+    }
+
+    public List<StrategySpec> toSpecs() {
+        return strategies.stream().map(Strategy::toSpec).toList();
+    }
+
+    /**
+     * One strategy to run: its type and parameters.
+     */
+    public static class Strategy {
+
+        @NotBlank(message = "Strategy type is required")
+        private String strategyType;
+
+        private Map<String, Double> parameters;
+
+        public String getStrategyType() {
+            return strategyType;
+        }
+
+        public void setStrategyType(String strategyType) {
+            this.strategyType = strategyType;
+        }
+
+        public Map<String, Double> getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(Map<String, Double> parameters) {
+            this.parameters = parameters;
+        }
+
+        StrategySpec toSpec() {
+            return new StrategySpec(strategyType, parameters);
+        }
+    }
+}
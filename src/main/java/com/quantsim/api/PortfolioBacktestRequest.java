@@ -0,0 +1,93 @@
+package com.quantsim.api;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for the portfolio backtest API.
+ * Contains the tickers sharing one cash balance, strategy type and parameters applied to every ticker,
+ * initial capital, position sizing, and an optional inclusive date window.
+ */
+public class PortfolioBacktestRequest {
+
+    @NotEmpty(message = "At least one ticker is required")
+    private List<@NotBlank(message = "Tickers must not be blank") String> tickers;
+
+    @NotBlank(message = "Strategy type is required")
+    private String strategyType;
+
+    @NotNull(message = "Initial capital is required")
+    @DecimalMin(value = "0.01", message = "Initial capital must be positive")
+    private BigDecimal initialCapital;
+
+    private Map<String, Double> parameters;
+
+    private String sizing;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public void setTickers(List<String> tickers) {
+        this.tickers = tickers;
+    }
+
+    public String getStrategyType() {
+        return strategyType;
+    }
+
+    public void setStrategyType(String strategyType) {
+        this.strategyType = strategyType;
+    }
+
+    public BigDecimal getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(BigDecimal initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public Map<String, Double> getParameters() {
+        return parameters;
+    }
+
+    public void setParameters(Map<String, Double> parameters) {
+        this.parameters = parameters;
+    }
+
+    public String getSizing() {
+        return sizing;
+    }
+
+    public void setSizing(String sizing) {
+        this.sizing = sizing;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
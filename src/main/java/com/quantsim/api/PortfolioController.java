@@ -0,0 +1,86 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.PortfolioResult;
+import com.quantsim.analytics.PortfolioSimulationService;
+import com.quantsim.analytics.PositionSizing;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.service.ComputeExecutor;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REST controller for multi-asset portfolio backtests.
+ * Fetches each ticker's primitive series and simulates them on one shared timeline and cash balance, on the
+ * {@link ComputeExecutor} pool with the same admission limit and deadline as single backtests.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class PortfolioController {
+
+    private final MarketDataRepository marketDataRepository;
+    private final StrategyRegistry strategyRegistry;
+    private final PortfolioSimulationService portfolioSimulationService;
+    private final ComputeExecutor computeExecutor;
+    private final int maxAssets;
+
+    public PortfolioController(MarketDataRepository marketDataRepository,
+                               StrategyRegistry strategyRegistry,
+                               PortfolioSimulationService portfolioSimulationService,
+                               ComputeExecutor computeExecutor,
+                               @Value("${quantsim.portfolio.max-assets:1000}") int maxAssets) {
+        this.marketDataRepository = marketDataRepository;
+        this.strategyRegistry = strategyRegistry;
+        this.portfolioSimulationService = portfolioSimulationService;
+        this.computeExecutor = computeExecutor;
+        this.maxAssets = maxAssets;
+    }
+
+    @PostMapping("/portfolio/backtest")
+    public ResponseEntity<PortfolioResult> runPortfolioBacktest(
+            @RequestBody @Valid PortfolioBacktestRequest request,
+            @RequestHeader(value = BacktestController.TIMEOUT_HEADER, required = false) Long timeoutMs) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        Set<String> tickers = new LinkedHashSet<>();
+        request.getTickers().forEach(ticker -> tickers.add(ticker.toUpperCase()));
+        if (tickers.size() > maxAssets) {
+            throw new IllegalArgumentException("Portfolio exceeds the maximum of " + maxAssets + " assets");
+        }
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
+        PositionSizing sizing = PositionSizing.fromString(request.getSizing());
+        Map<String, Double> parameters = request.getParameters() != null ? request.getParameters() : Map.of();
+
+        PortfolioResult result = computeExecutor.call(timeoutMs, progress -> {
+            List<PriceSeries> series = new ArrayList<>(tickers.size());
+            for (String ticker : tickers) {
+                progress.checkCancelled();
+                series.add(marketDataRepository
+                        .findSeriesByTicker(ticker, request.getStartDate(), request.getEndDate())
+                        .orElseThrow(() -> new TickerNotFoundException(ticker)));
+            }
+            return portfolioSimulationService.runBacktest(
+                    strategy,
+                    request.getInitialCapital(),
+                    series,
+                    parameters,
+                    sizing,
+                    progress);
+        });
+
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,66 @@
+package com.quantsim.api;
+
+import com.quantsim.api.exception.SessionNotFoundException;
+import com.quantsim.service.SessionStatus;
+import com.quantsim.service.StreamingSessionService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for streaming backtest sessions.
+ * A session replays stored history once, then advances in O(1) per appended bar.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class SessionController {
+
+    private final StreamingSessionService sessionService;
+
+    public SessionController(StreamingSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @PostMapping("/sessions")
+    public ResponseEntity<SessionStatus> createSession(@RequestBody @Valid CreateSessionRequest request) {
+        SessionStatus status = sessionService.create(
+                request.getTicker(),
+                request.getStrategyType(),
+                request.getParameters(),
+                request.getInitialCapital(),
+                request.getStartDate());
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionStatus>> listSessions() {
+        return ResponseEntity.ok(sessionService.list());
+    }
+
+    @GetMapping("/sessions/{id}")
+    public ResponseEntity<SessionStatus> getSession(@PathVariable String id) {
+        return ResponseEntity.ok(sessionService.get(id).orElseThrow(() -> new SessionNotFoundException(id)));
+    }
+
+    @PostMapping("/sessions/{id}/bars")
+    public ResponseEntity<SessionStatus> appendBars(@PathVariable String id,
+                                                    @RequestBody @Valid AppendBarsRequest request) {
+        return ResponseEntity.ok(sessionService.append(id, request.getBars())
+                .orElseThrow(() -> new SessionNotFoundException(id)));
+    }
+
+    @PostMapping("/sessions/{id}/snapshot")
+    public ResponseEntity<SessionStatus> snapshotSession(@PathVariable String id) {
+        return ResponseEntity.ok(sessionService.snapshot(id).orElseThrow(() -> new SessionNotFoundException(id)));
+    }
+
+    @DeleteMapping("/sessions/{id}")
+    public ResponseEntity<Void> deleteSession(@PathVariable String id) {
+        if (!sessionService.delete(id)) {
+            throw new SessionNotFoundException(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
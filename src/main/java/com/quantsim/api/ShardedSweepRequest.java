@@ -0,0 +1,127 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ParameterRange;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for the sharded parameter-sweep API.
+ * Contains the same fields as a sweep request, with a list of tickers in place of one ticker.
+ */
+public class ShardedSweepRequest {
+
+    @NotEmpty(message = "At least one ticker is required")
+    private List<@NotBlank(message = "Tickers must not be blank") String> tickers;
+
+    @NotBlank(message = "Strategy type is required")
+    private String strategyType;
+
+    @NotNull(message = "Initial capital is required")
+    @DecimalMin(value = "0.01", message = "Initial capital must be positive")
+    private BigDecimal initialCapital;
+
+    @NotEmpty(message = "At least one parameter range is required")
+    private Map<String, ParameterRange> parameterRanges;
+
+    private String rankBy;
+
+    @Min(value = 1, message = "topN must be at least 1")
+    private int topN = 10;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private String mode;
+
+    private ExecutionModel execution;
+
+    public List<String> getTickers() {
+        return tickers;
+    }
+
+    public void setTickers(List<String> tickers) {
+        this.tickers = tickers;
+    }
+
+    public String getStrategyType() {
+        return strategyType;
+    }
+
+    public void setStrategyType(String strategyType) {
+        this.strategyType = strategyType;
+    }
+
+    public BigDecimal getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(BigDecimal initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public Map<String, ParameterRange> getParameterRanges() {
+        return parameterRanges;
+    }
+
+    public void setParameterRanges(Map<String, ParameterRange> parameterRanges) {
+        this.parameterRanges = parameterRanges;
+    }
+
+    public String getRankBy() {
+        return rankBy;
+    }
+
+    public void setRankBy(String rankBy) {
+        this.rankBy = rankBy;
+    }
+
+    public int getTopN() {
+        return topN;
+    }
+
+    public void setTopN(int topN) {
+        this.topN = topN;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public ExecutionModel getExecution() {
+        return execution;
+    }
+
+    public void setExecution(ExecutionModel execution) {
+        this.execution = execution;
+    }
+}
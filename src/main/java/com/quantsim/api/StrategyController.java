@@ -0,0 +1,34 @@
+package com.quantsim.api;
+
+import com.quantsim.service.IndicatorCache;
+import com.quantsim.strategy.StrategyRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller listing the available strategies and their capabilities, and the shared indicator cache.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class StrategyController {
+
+    private final StrategyRegistry strategyRegistry;
+    private final IndicatorCache indicatorCache;
+
+    public StrategyController(StrategyRegistry strategyRegistry, IndicatorCache indicatorCache) {
+        this.strategyRegistry = strategyRegistry;
+        this.indicatorCache = indicatorCache;
+    }
+
+    @GetMapping("/strategies")
+    public ResponseEntity<List<StrategyRegistry.StrategyInfo>> getStrategies() {
+        return ResponseEntity.ok(strategyRegistry.getStrategies());
+    }
+
+    @GetMapping("/indicators/cache")
+    public ResponseEntity<IndicatorCache.Stats> getIndicatorCacheStats() {
+        return ResponseEntity.ok(indicatorCache.stats());
+    }
+}
@@ -0,0 +1,97 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.analytics.SweepMetric;
+import com.quantsim.analytics.SweepResult;
+import com.quantsim.analytics.SweepService;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.service.ShardedSweepResult;
+import com.quantsim.service.ShardedSweepService;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for parameter sweeps.
+ * Fetches market data once and evaluates every parameter combination against it, or, for sharded sweeps,
+ * hands the work to the workers of {@link ShardedSweepService}.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class SweepController {
+
+    private final MarketDataRepository marketDataRepository;
+    private final StrategyRegistry strategyRegistry;
+    private final SweepService sweepService;
+    private final ShardedSweepService shardedSweepService;
+
+    public SweepController(MarketDataRepository marketDataRepository,
+                           StrategyRegistry strategyRegistry,
+                           SweepService sweepService,
+                           ShardedSweepService shardedSweepService) {
+        this.marketDataRepository = marketDataRepository;
+        this.strategyRegistry = strategyRegistry;
+        this.sweepService = sweepService;
+        this.shardedSweepService = shardedSweepService;
+    }
+
+    @PostMapping("/sweep")
+    public ResponseEntity<SweepResult> runSweep(@RequestBody @Valid SweepRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
+        SweepMetric rankBy = SweepMetric.fromString(request.getRankBy());
+        SimulationMode mode = SimulationMode.fromString(request.getMode());
+
+        List<MarketData> data = marketDataRepository
+                .findByTicker(request.getTicker(), request.getStartDate(), request.getEndDate())
+                .orElseThrow(() -> new TickerNotFoundException(request.getTicker()));
+
+        SweepResult result = sweepService.runSweep(
+                strategy,
+                request.getInitialCapital(),
+                data,
+                request.getParameterRanges(),
+                rankBy,
+                request.getTopN(),
+                mode,
+                ExecutionModel.orNone(request.getExecution()),
+                ProgressMonitor.NONE);
+
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/sweep/sharded")
+    public ResponseEntity<ShardedSweepResult> runShardedSweep(@RequestBody @Valid ShardedSweepRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        strategyRegistry.getStrategy(request.getStrategyType());
+
+        ShardedSweepResult result = shardedSweepService.runSweep(
+                request.getTickers(),
+                request.getStrategyType(),
+                request.getInitialCapital(),
+                request.getParameterRanges(),
+                SweepMetric.fromString(request.getRankBy()),
+                request.getTopN(),
+                request.getStartDate(),
+                request.getEndDate(),
+                SimulationMode.fromString(request.getMode()),
+                ExecutionModel.orNone(request.getExecution()),
+                ProgressMonitor.NONE);
+
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,60 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.SweepMetric;
+import com.quantsim.analytics.WalkForwardResult;
+import com.quantsim.analytics.WalkForwardService;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for walk-forward optimization.
+ * Fetches the ticker's primitive series once and optimizes over all of its train/test windows.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class WalkForwardController {
+
+    private final MarketDataRepository marketDataRepository;
+    private final StrategyRegistry strategyRegistry;
+    private final WalkForwardService walkForwardService;
+
+    public WalkForwardController(MarketDataRepository marketDataRepository,
+                                 StrategyRegistry strategyRegistry,
+                                 WalkForwardService walkForwardService) {
+        this.marketDataRepository = marketDataRepository;
+        this.strategyRegistry = strategyRegistry;
+        this.walkForwardService = walkForwardService;
+    }
+
+    @PostMapping("/walkforward")
+    public ResponseEntity<WalkForwardResult> runWalkForward(@RequestBody @Valid WalkForwardRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        TradingStrategy strategy = strategyRegistry.getStrategy(request.getStrategyType());
+        SweepMetric rankBy = SweepMetric.fromString(request.getRankBy());
+
+        PriceSeries series = marketDataRepository
+                .findSeriesByTicker(request.getTicker(), request.getStartDate(), request.getEndDate())
+                .orElseThrow(() -> new TickerNotFoundException(request.getTicker()));
+
+        WalkForwardResult result = walkForwardService.run(
+                strategy,
+                request.getInitialCapital(),
+                series,
+                request.getParameterRanges(),
+                rankBy,
+                request.getTrainBars(),
+                request.getTestBars(),
+                request.isAnchored());
+
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,128 @@
+package com.quantsim.api;
+
+import com.quantsim.analytics.ParameterRange;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Request DTO for the walk-forward optimization API.
+ * Contains ticker, strategy type, initial capital, a range per optimized parameter, the ranking metric,
+ * the train and test window lengths in bars, whether train windows are anchored at the first bar,
+ * and an optional inclusive date window.
+ */
+public class WalkForwardRequest {
+
+    @NotBlank(message = "Ticker is required")
+    private String ticker;
+
+    @NotBlank(message = "Strategy type is required")
+    private String strategyType;
+
+    @NotNull(message = "Initial capital is required")
+    @DecimalMin(value = "0.01", message = "Initial capital must be positive")
+    private BigDecimal initialCapital;
+
+    @NotEmpty(message = "At least one parameter range is required")
+    private Map<String, ParameterRange> parameterRanges;
+
+    private String rankBy;
+
+    @Min(value = 2, message = "trainBars must be at least 2")
+    private int trainBars = 252;
+
+    @Min(value = 1, message = "testBars must be at least 1")
+    private int testBars = 63;
+
+    private boolean anchored;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public void setTicker(String ticker) {
+        this.ticker = ticker;
+    }
+
+    public String getStrategyType() {
+        return strategyType;
+    }
+
+    public void setStrategyType(String strategyType) {
+        this.strategyType = strategyType;
+    }
+
+    public BigDecimal getInitialCapital() {
+        return initialCapital;
+    }
+
+    public void setInitialCapital(BigDecimal initialCapital) {
+        this.initialCapital = initialCapital;
+    }
+
+    public Map<String, ParameterRange> getParameterRanges() {
+        return parameterRanges;
+    }
+
+    public void setParameterRanges(Map<String, ParameterRange> parameterRanges) {
+        this.parameterRanges = parameterRanges;
+    }
+
+    public String getRankBy() {
+        return rankBy;
+    }
+
+    public void setRankBy(String rankBy) {
+        this.rankBy = rankBy;
+    }
+
+    public int getTrainBars() {
+        return trainBars;
+    }
+
+    public void setTrainBars(int trainBars) {
+        this.trainBars = trainBars;
+    }
+
+    public int getTestBars() {
+        return testBars;
+    }
+
+    public void setTestBars(int testBars) {
+        this.testBars = testBars;
+    }
+
+    public boolean isAnchored() {
+        return anchored;
+    }
+
+    public void setAnchored(boolean anchored) {
+        this.anchored = anchored;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
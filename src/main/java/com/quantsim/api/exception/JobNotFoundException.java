@@ -0,0 +1,11 @@
+package com.quantsim.api.exception;
+
+/**
+ * Thrown when an asynchronous job id is unknown or its job has already been evicted.
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String id) {
+        super("Job not found: " + id);
+    }
+}
@@ -0,0 +1,19 @@
+package com.quantsim.api.exception;
+
+/**
+ * Thrown when a request is shed because the compute pool is saturated.
+ * Mapped to {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.quantsim.api.exception;
+
+/**
+ * Thrown when a streaming session id is unknown.
+ */
+public class SessionNotFoundException extends RuntimeException {
+
+    public SessionNotFoundException(String id) {
+        super("Streaming session not found: " + id);
+    }
+}
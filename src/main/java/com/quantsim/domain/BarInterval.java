@@ -0,0 +1,77 @@
+package com.quantsim.domain;
+
+/**
+ * Bar length that intraday data is resampled to. Buckets are aligned to the UTC epoch, so hourly bars start
+ * on the hour and daily bars cover one UTC calendar day.
+ * <p>
+ * Resampled bars are stored in a {@link PriceSeries} whose timestamps are the bucket starts:
+ * epoch minutes ({@link BarResolution#MINUTE}) for intraday intervals and epoch days
+ * ({@link BarResolution#DAY}) for {@link #DAY_1}, so daily resamples look exactly like stored daily data.
+ */
+public enum BarInterval {
+    MINUTE_1("1m", 1),
+    MINUTE_5("5m", 5),
+    HOUR_1("1h", 60),
+    DAY_1("1d", 24 * 60);
+
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private final String label;
+    private final int minutes;
+
+    BarInterval(String label, int minutes) {
+        this.label = label;
+        this.minutes = minutes;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public int minutes() {
+        return minutes;
+    }
+
+    public long millis() {
+        return minutes * MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * Resolution of the timestamps of series resampled to this interval.
+     */
+    public BarResolution resolution() {
+        return this == DAY_1 ? BarResolution.DAY : BarResolution.MINUTE;
+    }
+
+    /**
+     * Returns the timestamp, in {@link #resolution()} units, of the bucket containing {@code epochMillis}.
+     */
+    public int bucket(long epochMillis) {
+        long index = Math.floorDiv(epochMillis, millis());
+        return Math.toIntExact(this == DAY_1 ? index : index * minutes);
+    }
+
+    /**
+     * Returns the epoch millisecond at which the bucket with timestamp {@code bucket} starts.
+     */
+    public long bucketStartMillis(int bucket) {
+        return this == DAY_1 ? bucket * millis() : bucket * MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * Parses {@code "1m"}, {@code "5m"}, {@code "1h"} or {@code "1d"} (or a constant name); null or blank means
+     * {@link #DAY_1}.
+     */
+    public static BarInterval fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY_1;
+        }
+        String normalized = value.trim();
+        for (BarInterval interval : values()) {
+            if (interval.label.equalsIgnoreCase(normalized) || interval.name().equalsIgnoreCase(normalized)) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bar interval: " + value + " (expected 1m, 5m, 1h or 1d)");
+    }
+}
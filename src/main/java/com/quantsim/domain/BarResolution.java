@@ -0,0 +1,36 @@
+package com.quantsim.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Time resolution of the integer timestamps stored in a {@link PriceSeries}.
+ * DAY timestamps are epoch days; MINUTE timestamps are epoch minutes (UTC).
+ */
+public enum BarResolution {
+    DAY(1),
+    MINUTE(24 * 60);
+
+    private final int unitsPerDay;
+
+    BarResolution(int unitsPerDay) {
+        this.unitsPerDay = unitsPerDay;
+    }
+
+    public int unitsPerDay() {
+        return unitsPerDay;
+    }
+
+    /**
+     * Converts a timestamp in this resolution to its calendar date.
+     */
+    public LocalDate toDate(int timestamp) {
+        return LocalDate.ofEpochDay(Math.floorDiv(timestamp, unitsPerDay));
+    }
+
+    /**
+     * Converts a calendar date to the first timestamp of that day in this resolution.
+     */
+    public int fromDate(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay() * unitsPerDay);
+    }
+}
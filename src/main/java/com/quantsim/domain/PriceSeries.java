@@ -0,0 +1,336 @@
+package com.quantsim.domain;
+
+import java.math.BigDecimal;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable columnar OHLCV series for a single ticker.
+ * Stores integer timestamps and one primitive {@code double} column per field,
+ * so each bar costs 44 bytes instead of a {@link MarketData} object graph.
+ * Columns are heap arrays or, for {@link #view views}, buffers over memory the series does not own, such as a
+ * memory-mapped file; either way they are owned by the series and must not be modified by callers.
+ * A series may be a zero-copy view over a range of another series' columns (see {@link #slice(int, int)}).
+ */
+public final class PriceSeries {
+
+    private final String ticker;
+    private final BarResolution resolution;
+    private final IntBuffer timestamps;
+    private final DoubleBuffer open;
+    private final DoubleBuffer high;
+    private final DoubleBuffer low;
+    private final DoubleBuffer close;
+    private final DoubleBuffer volume;
+    private final int offset;
+    private final int length;
+
+    public PriceSeries(String ticker, BarResolution resolution, int[] timestamps,
+                       double[] open, double[] high, double[] low, double[] close, double[] volume) {
+        this(ticker, resolution, IntBuffer.wrap(Objects.requireNonNull(timestamps, "timestamps")),
+                DoubleBuffer.wrap(open), DoubleBuffer.wrap(high), DoubleBuffer.wrap(low),
+                DoubleBuffer.wrap(close), DoubleBuffer.wrap(volume));
+    }
+
+    private PriceSeries(String ticker, BarResolution resolution, IntBuffer timestamps,
+                        DoubleBuffer open, DoubleBuffer high, DoubleBuffer low, DoubleBuffer close, DoubleBuffer volume) {
+        this.ticker = Objects.requireNonNull(ticker, "ticker");
+        this.resolution = Objects.requireNonNull(resolution, "resolution");
+        this.timestamps = Objects.requireNonNull(timestamps, "timestamps");
+        int n = timestamps.limit();
+        if (open.limit() != n || high.limit() != n || low.limit() != n || close.limit() != n || volume.limit() != n) {
+            throw new IllegalArgumentException("All columns must have the same length as timestamps");
+        }
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.offset = 0;
+        this.length = n;
+    }
+
+    private PriceSeries(PriceSeries source, int offset, int length) {
+        this.ticker = source.ticker;
+        this.resolution = source.resolution;
+        this.timestamps = source.timestamps;
+        this.open = source.open;
+        this.high = source.high;
+        this.low = source.low;
+        this.close = source.close;
+        this.volume = source.volume;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a series that reads bars {@code [0, limit)} of each buffer in place, without copying them to the heap.
+     * Used to serve memory-mapped files; the buffers must stay unmodified for the lifetime of the series.
+     */
+    public static PriceSeries view(String ticker, BarResolution resolution, IntBuffer timestamps,
+                                   DoubleBuffer open, DoubleBuffer high, DoubleBuffer low,
+                                   DoubleBuffer close, DoubleBuffer volume) {
+        return new PriceSeries(ticker, resolution, timestamps, open, high, low, close, volume);
+    }
+
+    /**
+     * Builds a daily series from market data objects, preserving their order.
+     * Null price or volume fields are stored as {@link Double#NaN}.
+     */
+    public static PriceSeries fromMarketData(String ticker, List<MarketData> data) {
+        int n = data.size();
+        int[] timestamps = new int[n];
+        double[] open = new double[n];
+        double[] high = new double[n];
+        double[] low = new double[n];
+        double[] close = new double[n];
+        double[] volume = new double[n];
+        for (int i = 0; i < n; i++) {
+            MarketData md = data.get(i);
+            timestamps[i] = Math.toIntExact(md.getDate().toEpochDay());
+            open[i] = toDouble(md.getOpen());
+            high[i] = toDouble(md.getHigh());
+            low[i] = toDouble(md.getLow());
+            close[i] = toDouble(md.getClose());
+            volume[i] = toDouble(md.getVolume());
+        }
+        return new PriceSeries(ticker, BarResolution.DAY, timestamps, open, high, low, close, volume);
+    }
+
+    /**
+     * Materializes the series as market data objects, one per bar, in series order.
+     */
+    public List<MarketData> toMarketDataList() {
+        List<MarketData> result = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            result.add(toMarketData(i));
+        }
+        return result;
+    }
+
+    public MarketData toMarketData(int index) {
+        return new MarketData(
+                getDate(index), ticker,
+                toBigDecimal(getOpen(index)), toBigDecimal(getHigh(index)), toBigDecimal(getLow(index)),
+                toBigDecimal(getClose(index)), toBigDecimal(getVolume(index)));
+    }
+
+    /**
+     * Returns a zero-copy view of bars {@code [fromIndex, toIndex)} of this series.
+     */
+    public PriceSeries slice(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        if (fromIndex == 0 && toIndex == length) {
+            return this;
+        }
+        return new PriceSeries(this, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Returns a zero-copy view of the bars whose date falls within {@code [from, to]}, both inclusive.
+     * Requires the series to be sorted by timestamp; either bound may be null for an open range.
+     */
+    public PriceSeries sliceByDate(LocalDate from, LocalDate to) {
+        int fromIndex = indexOnOrAfter(from);
+        return slice(fromIndex, Math.max(fromIndex, indexAfter(to)));
+    }
+
+    /**
+     * Returns the index of the first bar dated on or after {@code date} (0 if the date is null).
+     */
+    public int indexOnOrAfter(LocalDate date) {
+        return date != null ? lowerBound(resolution.fromDate(date)) : 0;
+    }
+
+    /**
+     * Returns the index of the first bar dated after {@code date} ({@link #size()} if the date is null).
+     */
+    public int indexAfter(LocalDate date) {
+        return date != null ? lowerBound(resolution.fromDate(date.plusDays(1))) : length;
+    }
+
+    /**
+     * Returns the index of the first bar with a timestamp at or after {@code timestamp},
+     * or {@link #size()} if there is none. Requires the series to be sorted by timestamp.
+     */
+    public int lowerBound(int timestamp) {
+        int lo = offset;
+        int hi = offset + length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps.get(mid) < timestamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo - offset;
+    }
+
+    /**
+     * Returns true if timestamps are in non-decreasing order.
+     */
+    public boolean isSorted() {
+        for (int i = offset + 1; i < offset + length; i++) {
+            if (timestamps.get(i) < timestamps.get(i - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns this series if already sorted, otherwise a copy stably sorted by timestamp.
+     */
+    public PriceSeries sorted() {
+        if (isSorted()) {
+            return this;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = ((long) timestamps.get(offset + i) << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] ts = new int[length];
+        double[] o = new double[length];
+        double[] h = new double[length];
+        double[] l = new double[length];
+        double[] c = new double[length];
+        double[] v = new double[length];
+        for (int i = 0; i < length; i++) {
+            int src = offset + (int) keys[i];
+            ts[i] = timestamps.get(src);
+            o[i] = open.get(src);
+            h[i] = high.get(src);
+            l[i] = low.get(src);
+            c[i] = close.get(src);
+            v[i] = volume.get(src);
+        }
+        return new PriceSeries(ticker, resolution, ts, o, h, l, c, v);
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public BarResolution getResolution() {
+        return resolution;
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    public int getTimestamp(int index) {
+        return timestamps.get(offset + index);
+    }
+
+    public LocalDate getDate(int index) {
+        return resolution.toDate(timestamps.get(offset + index));
+    }
+
+    public double getOpen(int index) {
+        return open.get(offset + index);
+    }
+
+    public double getHigh(int index) {
+        return high.get(offset + index);
+    }
+
+    public double getLow(int index) {
+        return low.get(offset + index);
+    }
+
+    public double getClose(int index) {
+        return close.get(offset + index);
+    }
+
+    public double getVolume(int index) {
+        return volume.get(offset + index);
+    }
+
+    /**
+     * Accumulates bars into growable primitive columns and produces an immutable {@link PriceSeries}.
+     * Not thread-safe.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final String ticker;
+        private final BarResolution resolution;
+        private int size;
+        private int[] timestamps = new int[INITIAL_CAPACITY];
+        private double[] open = new double[INITIAL_CAPACITY];
+        private double[] high = new double[INITIAL_CAPACITY];
+        private double[] low = new double[INITIAL_CAPACITY];
+        private double[] close = new double[INITIAL_CAPACITY];
+        private double[] volume = new double[INITIAL_CAPACITY];
+
+        public Builder(String ticker, BarResolution resolution) {
+            this.ticker = Objects.requireNonNull(ticker, "ticker");
+            this.resolution = Objects.requireNonNull(resolution, "resolution");
+        }
+
+        public Builder append(int timestamp, double o, double h, double l, double c, double v) {
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+            timestamps[size] = timestamp;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+            return this;
+        }
+
+        /**
+         * Appends every bar of {@code series}, which must have the same resolution.
+         */
+        public Builder appendAll(PriceSeries series) {
+            if (series.resolution != resolution) {
+                throw new IllegalArgumentException("Cannot append " + series.resolution + " bars to a " + resolution + " series");
+            }
+            for (int i = 0; i < series.size(); i++) {
+                append(series.getTimestamp(i), series.getOpen(i), series.getHigh(i), series.getLow(i),
+                        series.getClose(i), series.getVolume(i));
+            }
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public PriceSeries build() {
+            return new PriceSeries(ticker, resolution,
+                    Arrays.copyOf(timestamps, size), Arrays.copyOf(open, size), Arrays.copyOf(high, size),
+                    Arrays.copyOf(low, size), Arrays.copyOf(close, size), Arrays.copyOf(volume, size));
+        }
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static BigDecimal toBigDecimal(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+    }
+}
@@ -1,10 +1,55 @@
 package com.quantsim.domain;
 
+import java.util.List;
+
 /**
  * Enum representing trading signals generated by a strategy.
+ * Each signal also has a compact {@code byte} code for primitive signal columns;
+ * {@link #HOLD_CODE} is 0 so a freshly allocated {@code byte[]} is all HOLD.
  */
 public enum TradeSignal {
     BUY,
     SELL,
-    HOLD
+    HOLD;
+
+    public static final byte BUY_CODE = 1;
+    public static final byte SELL_CODE = -1;
+    public static final byte HOLD_CODE = 0;
+
+    public byte code() {
+        return switch (this) {
+            case BUY -> BUY_CODE;
+            case SELL -> SELL_CODE;
+            case HOLD -> HOLD_CODE;
+        };
+    }
+
+    public static TradeSignal fromCode(byte code) {
+        return switch (code) {
+            case BUY_CODE -> BUY;
+            case SELL_CODE -> SELL;
+            case HOLD_CODE -> HOLD;
+            default -> throw new IllegalArgumentException("Unknown signal code: " + code);
+        };
+    }
+
+    /**
+     * Encodes {@code signals} into a column of {@code length} codes; missing trailing signals are HOLD.
+     */
+    public static byte[] encode(List<TradeSignal> signals, int length) {
+        byte[] codes = new byte[length];
+        int count = Math.min(length, signals.size());
+        for (int i = 0; i < count; i++) {
+            codes[i] = signals.get(i).code();
+        }
+        return codes;
+    }
+
+    public static List<TradeSignal> decode(byte[] codes) {
+        TradeSignal[] signals = new TradeSignal[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            signals[i] = fromCode(codes[i]);
+        }
+        return List.of(signals);
+    }
 }
@@ -8,6 +8,11 @@ import java.util.Map;
  */
 public interface TradingStrategy {
 
+    /**
+     * Returns the unique type name the strategy is requested by (e.g., "MOVING_AVERAGE_CROSSOVER").
+     */
+    String getType();
+
     /**
      * Generates a list of trade signals, one per market data point, in chronological order.
      *
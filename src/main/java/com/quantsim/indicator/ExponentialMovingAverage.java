@@ -0,0 +1,55 @@
+package com.quantsim.indicator;
+
+/**
+ * Exponential moving average with smoothing factor {@code 2 / (period + 1)}.
+ * Seeded with the simple average of the first {@code period} observations.
+ */
+public class ExponentialMovingAverage implements RollingIndicator {
+
+    private final int period;
+    private final double alpha;
+    private int count;
+    private double value;
+
+    public ExponentialMovingAverage(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    @Override
+    public double update(double observation) {
+        if (count < period) {
+            value += observation;
+            count++;
+            if (count == period) {
+                value /= period;
+            }
+        } else {
+            value += alpha * (observation - value);
+        }
+        return value();
+    }
+
+    @Override
+    public double value() {
+        return count == period ? value : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == period;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        value = 0;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
@@ -0,0 +1,79 @@
+package com.quantsim.indicator;
+
+/**
+ * Helpers that run a {@link RollingIndicator} over a whole column in a single O(n) pass.
+ */
+public final class Indicators {
+
+    private Indicators() {
+    }
+
+    /**
+     * Computes the indicator for every element of {@code values}.
+     * Entries before the indicator is ready are {@link Double#NaN}.
+     */
+    public static double[] compute(RollingIndicator indicator, double[] values) {
+        indicator.reset();
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = indicator.update(values[i]);
+        }
+        return result;
+    }
+
+    public static double[] sma(double[] values, int window) {
+        return compute(new SimpleMovingAverage(window), values);
+    }
+
+    public static double[] ema(double[] values, int period) {
+        return compute(new ExponentialMovingAverage(period), values);
+    }
+
+    public static double[] rollingStd(double[] values, int window) {
+        return compute(new RollingStandardDeviation(window), values);
+    }
+
+    public static double[] rollingMax(double[] values, int window) {
+        return compute(new RollingMaximum(window), values);
+    }
+
+    public static double[] rollingMin(double[] values, int window) {
+        return compute(new RollingMinimum(window), values);
+    }
+
+    public static double[] rsi(double[] values, int period) {
+        return compute(new RelativeStrengthIndex(period), values);
+    }
+
+    public static double[] rateOfChange(double[] values, int lookback) {
+        return compute(new RateOfChange(lookback), values);
+    }
+
+    /**
+     * Computes the indicator from the first non-NaN element of {@code values} on, for columns that are
+     * themselves indicators with a warm-up period (e.g. the EMA of a MACD line). Earlier entries are NaN.
+     */
+    public static double[] computeFromFirstValue(RollingIndicator indicator, double[] values) {
+        indicator.reset();
+        double[] result = new double[values.length];
+        int first = 0;
+        while (first < values.length && Double.isNaN(values[first])) {
+            result[first++] = Double.NaN;
+        }
+        for (int i = first; i < values.length; i++) {
+            result[i] = indicator.update(values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * MACD line: {@code ema(fastPeriod) - ema(slowPeriod)}, NaN until the slow average is ready.
+     */
+    public static double[] macd(double[] fastEma, double[] slowEma) {
+        double[] result = new double[fastEma.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fastEma[i] - slowEma[i];
+        }
+        return result;
+    }
+}
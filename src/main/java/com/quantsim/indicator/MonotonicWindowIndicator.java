@@ -0,0 +1,72 @@
+package com.quantsim.indicator;
+
+/**
+ * Base for rolling extremum indicators backed by a monotonic deque held in primitive ring buffers.
+ * Each observation is pushed and popped at most once, so updates are amortized O(1).
+ */
+abstract class MonotonicWindowIndicator implements RollingIndicator {
+
+    private final int window;
+    private final double[] values;
+    private final long[] positions;
+    private int front;
+    private int size;
+    private long seen;
+
+    MonotonicWindowIndicator(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+        this.values = new double[window];
+        this.positions = new long[window];
+    }
+
+    /**
+     * Returns true if {@code candidate} makes {@code existing} irrelevant for all future windows.
+     */
+    abstract boolean supersedes(double candidate, double existing);
+
+    @Override
+    public double update(double value) {
+        while (size > 0 && supersedes(value, values[slot(size - 1)])) {
+            size--;
+        }
+        if (size > 0 && positions[front] <= seen - window) {
+            front = front + 1 == window ? 0 : front + 1;
+            size--;
+        }
+        int back = slot(size);
+        values[back] = value;
+        positions[back] = seen;
+        size++;
+        seen++;
+        return value();
+    }
+
+    @Override
+    public double value() {
+        return isReady() ? values[front] : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return seen >= window;
+    }
+
+    @Override
+    public void reset() {
+        front = 0;
+        size = 0;
+        seen = 0;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    private int slot(int offset) {
+        int index = front + offset;
+        return index >= window ? index - window : index;
+    }
+}
@@ -0,0 +1,55 @@
+package com.quantsim.indicator;
+
+/**
+ * Rate of change over {@code lookback} observations: {@code value / value[t - lookback] - 1}.
+ * Keeps the last {@code lookback} observations in a ring buffer; ready after {@code lookback + 1} observations.
+ */
+public class RateOfChange implements RollingIndicator {
+
+    private final int lookback;
+    private final double[] buffer;
+    private int count;
+    private int head;
+    private double value = Double.NaN;
+
+    public RateOfChange(int lookback) {
+        if (lookback <= 0) {
+            throw new IllegalArgumentException("lookback must be positive");
+        }
+        this.lookback = lookback;
+        this.buffer = new double[lookback];
+    }
+
+    @Override
+    public double update(double observation) {
+        if (count == lookback) {
+            value = observation / buffer[head] - 1.0;
+        } else {
+            count++;
+        }
+        buffer[head] = observation;
+        head = (head + 1) % lookback;
+        return value;
+    }
+
+    @Override
+    public double value() {
+        return value;
+    }
+
+    @Override
+    public boolean isReady() {
+        return !Double.isNaN(value);
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        head = 0;
+        value = Double.NaN;
+    }
+
+    public int getLookback() {
+        return lookback;
+    }
+}
@@ -0,0 +1,79 @@
+package com.quantsim.indicator;
+
+/**
+ * Relative strength index (0-100) with Wilder's smoothing.
+ * The first average gain and loss are simple averages of the first {@code period} changes; after that
+ * each is updated as {@code (previous * (period - 1) + current) / period}. Ready after {@code period + 1}
+ * observations. A window without losses reads 100, and one without any change reads 50.
+ */
+public class RelativeStrengthIndex implements RollingIndicator {
+
+    private final int period;
+    private int changes;
+    private boolean started;
+    private double previous;
+    private double averageGain;
+    private double averageLoss;
+
+    public RelativeStrengthIndex(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        this.period = period;
+    }
+
+    @Override
+    public double update(double value) {
+        if (!started) {
+            started = true;
+            previous = value;
+            return Double.NaN;
+        }
+        double change = value - previous;
+        previous = value;
+        double gain = Math.max(change, 0.0);
+        double loss = Math.max(-change, 0.0);
+        if (changes < period) {
+            averageGain += gain;
+            averageLoss += loss;
+            changes++;
+            if (changes == period) {
+                averageGain /= period;
+                averageLoss /= period;
+            }
+        } else {
+            averageGain = (averageGain * (period - 1) + gain) / period;
+            averageLoss = (averageLoss * (period - 1) + loss) / period;
+        }
+        return value();
+    }
+
+    @Override
+    public double value() {
+        if (changes < period) {
+            return Double.NaN;
+        }
+        if (averageLoss == 0.0) {
+            return averageGain == 0.0 ? 50.0 : 100.0;
+        }
+        return 100.0 - 100.0 / (1.0 + averageGain / averageLoss);
+    }
+
+    @Override
+    public boolean isReady() {
+        return changes == period;
+    }
+
+    @Override
+    public void reset() {
+        changes = 0;
+        started = false;
+        previous = 0;
+        averageGain = 0;
+        averageLoss = 0;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+}
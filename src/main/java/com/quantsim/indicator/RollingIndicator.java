@@ -0,0 +1,31 @@
+package com.quantsim.indicator;
+
+/**
+ * A streaming indicator that is updated one observation at a time in O(1) on primitive state.
+ * Implementations are not thread-safe; use one instance per series being processed.
+ */
+public interface RollingIndicator {
+
+    /**
+     * Feeds the next observation and returns the updated indicator value.
+     *
+     * @param value the next observation, in chronological order
+     * @return the indicator value after this update, or {@link Double#NaN} while not yet ready
+     */
+    double update(double value);
+
+    /**
+     * Returns the current indicator value, or {@link Double#NaN} while not yet ready.
+     */
+    double value();
+
+    /**
+     * Returns true once enough observations have been seen to produce a value.
+     */
+    boolean isReady();
+
+    /**
+     * Clears all state so the instance can be reused for another series.
+     */
+    void reset();
+}
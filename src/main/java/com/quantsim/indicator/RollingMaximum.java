@@ -0,0 +1,16 @@
+package com.quantsim.indicator;
+
+/**
+ * Highest observation over a fixed window.
+ */
+public class RollingMaximum extends MonotonicWindowIndicator {
+
+    public RollingMaximum(int window) {
+        super(window);
+    }
+
+    @Override
+    boolean supersedes(double candidate, double existing) {
+        return candidate >= existing;
+    }
+}
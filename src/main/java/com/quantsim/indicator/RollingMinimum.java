@@ -0,0 +1,16 @@
+package com.quantsim.indicator;
+
+/**
+ * Lowest observation over a fixed window.
+ */
+public class RollingMinimum extends MonotonicWindowIndicator {
+
+    public RollingMinimum(int window) {
+        super(window);
+    }
+
+    @Override
+    boolean supersedes(double candidate, double existing) {
+        return candidate <= existing;
+    }
+}
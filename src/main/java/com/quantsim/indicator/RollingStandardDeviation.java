@@ -0,0 +1,92 @@
+package com.quantsim.indicator;
+
+/**
+ * Population standard deviation over a fixed window.
+ * Mean and sum of squared deviations are updated with Welford's add/remove recurrences,
+ * which avoids the cancellation error of a naive sum-of-squares. Both are recomputed from the
+ * buffer once per window to keep drift bounded, which keeps updates amortized O(1).
+ */
+public class RollingStandardDeviation implements RollingIndicator {
+
+    private final int window;
+    private final double[] buffer;
+    private int count;
+    private int head;
+    private double mean;
+    private double m2;
+
+    public RollingStandardDeviation(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+        this.buffer = new double[window];
+    }
+
+    @Override
+    public double update(double value) {
+        if (count < window) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+        } else {
+            double old = buffer[head];
+            double oldMean = mean;
+            mean += (value - old) / window;
+            m2 += (value - old) * (value - mean + old - oldMean);
+            if (m2 < 0) {
+                m2 = 0;
+            }
+        }
+        buffer[head] = value;
+        head = head + 1 == window ? 0 : head + 1;
+        if (head == 0 && count == window) {
+            recompute();
+        }
+        return value();
+    }
+
+    @Override
+    public double value() {
+        return count == window ? Math.sqrt(m2 / window) : Double.NaN;
+    }
+
+    /**
+     * Returns the rolling mean of the window, or {@link Double#NaN} while not yet ready.
+     */
+    public double mean() {
+        return count == window ? mean : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == window;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        head = 0;
+        mean = 0;
+        m2 = 0;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    private void recompute() {
+        double sum = 0;
+        for (double v : buffer) {
+            sum += v;
+        }
+        mean = sum / window;
+        double squares = 0;
+        for (double v : buffer) {
+            double d = v - mean;
+            squares += d * d;
+        }
+        m2 = squares;
+    }
+}
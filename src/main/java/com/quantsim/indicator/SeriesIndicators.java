@@ -0,0 +1,152 @@
+package com.quantsim.indicator;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Close-price column of one series plus memoized indicator columns computed over it.
+ * Each (indicator, parameters) pair is computed at most once and then shared, so many strategy
+ * evaluations over the same series (e.g. a parameter sweep) reuse each other's work. Instances can
+ * themselves be shared across requests through a cache; the optional column listener reports the size of
+ * every newly computed column so such a cache can bound its memory.
+ * Safe for concurrent use; returned arrays are shared and must not be modified.
+ */
+public final class SeriesIndicators {
+
+    private static final LongConsumer NO_LISTENER = bytes -> { };
+
+    private final double[] closes;
+    private final LongConsumer columnListener;
+    private final ConcurrentHashMap<Key, double[]> columns = new ConcurrentHashMap<>();
+
+    private SeriesIndicators(double[] closes, LongConsumer columnListener) {
+        this.closes = closes;
+        this.columnListener = columnListener;
+    }
+
+    public static SeriesIndicators ofCloses(double[] closes) {
+        return new SeriesIndicators(closes, NO_LISTENER);
+    }
+
+    /**
+     * Creates indicators whose {@code columnListener} receives the size in bytes of each column computed later.
+     */
+    public static SeriesIndicators ofCloses(double[] closes, LongConsumer columnListener) {
+        return new SeriesIndicators(closes, columnListener);
+    }
+
+    public static SeriesIndicators of(PriceSeries series) {
+        return ofCloses(closes(series));
+    }
+
+    public static SeriesIndicators of(List<MarketData> data) {
+        return ofCloses(closes(data));
+    }
+
+    public static double[] closes(PriceSeries series) {
+        double[] closes = new double[series.size()];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = series.getClose(i);
+        }
+        return closes;
+    }
+
+    public static double[] closes(List<MarketData> data) {
+        double[] closes = new double[data.size()];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = data.get(i).getClose().doubleValue();
+        }
+        return closes;
+    }
+
+    public int size() {
+        return closes.length;
+    }
+
+    public double[] closes() {
+        return closes;
+    }
+
+    /**
+     * Returns the heap size of the close column plus every column computed so far, in bytes.
+     */
+    public long memoryBytes() {
+        long elements = closes.length;
+        for (double[] column : columns.values()) {
+            elements += column.length;
+        }
+        return elements * Double.BYTES;
+    }
+
+    public double[] sma(int window) {
+        return column(new Key(Kind.SMA, window, 0, 0), () -> Indicators.sma(closes, window));
+    }
+
+    public double[] ema(int period) {
+        return column(new Key(Kind.EMA, period, 0, 0), () -> Indicators.ema(closes, period));
+    }
+
+    public double[] rollingStd(int window) {
+        return column(new Key(Kind.STD, window, 0, 0), () -> Indicators.rollingStd(closes, window));
+    }
+
+    public double[] rollingMax(int window) {
+        return column(new Key(Kind.MAX, window, 0, 0), () -> Indicators.rollingMax(closes, window));
+    }
+
+    public double[] rollingMin(int window) {
+        return column(new Key(Kind.MIN, window, 0, 0), () -> Indicators.rollingMin(closes, window));
+    }
+
+    public double[] rsi(int period) {
+        return column(new Key(Kind.RSI, period, 0, 0), () -> Indicators.rsi(closes, period));
+    }
+
+    public double[] rateOfChange(int lookback) {
+        return column(new Key(Kind.ROC, lookback, 0, 0), () -> Indicators.rateOfChange(closes, lookback));
+    }
+
+    /**
+     * MACD line {@code ema(fastPeriod) - ema(slowPeriod)}, built from the shared EMA columns.
+     */
+    public double[] macd(int fastPeriod, int slowPeriod) {
+        // Dependencies are resolved before entering the map's compute, which must not recurse
+        double[] fast = ema(fastPeriod);
+        double[] slow = ema(slowPeriod);
+        return column(new Key(Kind.MACD, fastPeriod, slowPeriod, 0), () -> Indicators.macd(fast, slow));
+    }
+
+    /**
+     * MACD signal line: the {@code signalPeriod} EMA of {@link #macd(int, int)}, starting at its first value.
+     */
+    public double[] macdSignal(int fastPeriod, int slowPeriod, int signalPeriod) {
+        double[] line = macd(fastPeriod, slowPeriod);
+        return column(new Key(Kind.MACD_SIGNAL, fastPeriod, slowPeriod, signalPeriod),
+                () -> Indicators.computeFromFirstValue(new ExponentialMovingAverage(signalPeriod), line));
+    }
+
+    private double[] column(Key key, Supplier<double[]> computation) {
+        double[] column = columns.get(key);
+        if (column != null) {
+            return column;
+        }
+        boolean[] computed = new boolean[1];
+        column = columns.computeIfAbsent(key, k -> {
+            computed[0] = true;
+            return computation.get();
+        });
+        if (computed[0]) {
+            columnListener.accept((long) column.length * Double.BYTES);
+        }
+        return column;
+    }
+
+    private enum Kind { SMA, EMA, STD, MAX, MIN, RSI, ROC, MACD, MACD_SIGNAL }
+
+    private record Key(Kind kind, int first, int second, int third) {}
+}
@@ -0,0 +1,104 @@
+package com.quantsim.indicator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Simple moving average over a fixed window, maintained as a running sum over a ring buffer.
+ * The sum is recomputed from the buffer once per window to keep floating-point drift bounded,
+ * which keeps updates amortized O(1).
+ */
+public class SimpleMovingAverage implements RollingIndicator {
+
+    private final int window;
+    private final double[] buffer;
+    private int count;
+    private int head;
+    private double sum;
+
+    public SimpleMovingAverage(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.window = window;
+        this.buffer = new double[window];
+    }
+
+    @Override
+    public double update(double value) {
+        if (count < window) {
+            sum += value;
+            count++;
+        } else {
+            sum += value - buffer[head];
+        }
+        buffer[head] = value;
+        head = head + 1 == window ? 0 : head + 1;
+        if (head == 0 && count == window) {
+            sum = resum();
+        }
+        return value();
+    }
+
+    @Override
+    public double value() {
+        return count == window ? sum / window : Double.NaN;
+    }
+
+    @Override
+    public boolean isReady() {
+        return count == window;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+        head = 0;
+        sum = 0;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Writes the full internal state, bit for bit, so {@link #readState(DataInput)} resumes exactly here.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(window);
+        out.writeInt(count);
+        out.writeInt(head);
+        out.writeDouble(sum);
+        for (int i = 0; i < count; i++) {
+            out.writeDouble(buffer[i]);
+        }
+    }
+
+    /**
+     * Restores state written by {@link #writeState(DataOutput)} for an average of the same window.
+     */
+    public void readState(DataInput in) throws IOException {
+        int storedWindow = in.readInt();
+        if (storedWindow != window) {
+            throw new IOException("Stored window " + storedWindow + " does not match " + window);
+        }
+        count = in.readInt();
+        head = in.readInt();
+        sum = in.readDouble();
+        if (count < 0 || count > window || head < 0 || head >= window) {
+            throw new IOException("Corrupt moving average state");
+        }
+        for (int i = 0; i < count; i++) {
+            buffer[i] = in.readDouble();
+        }
+    }
+
+    private double resum() {
+        double total = 0;
+        for (double v : buffer) {
+            total += v;
+        }
+        return total;
+    }
+}
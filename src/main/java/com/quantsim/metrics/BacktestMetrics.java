@@ -0,0 +1,123 @@
+package com.quantsim.metrics;
+
+import com.quantsim.analytics.SimulationMode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Micrometer instrumentation for the backtest pipeline.
+ * <p>
+ * Each stage gets a timer with a percentile histogram, so p99 latencies can be derived from the
+ * Prometheus scrape: {@code quantsim.backtest.fetch}, {@code .signals}, {@code .simulation} and
+ * {@code .serialization}. Per computed backtest it also records throughput
+ * ({@code quantsim.backtest.throughput}, bars/s) and bytes allocated by the computing thread
+ * ({@code quantsim.backtest.allocated}).
+ * <p>
+ * Meters are tagged by {@code strategy} and {@code ticker}. To bound tag cardinality, only tickers listed in
+ * {@code quantsim.metrics.tracked-tickers} get their own tag value; all others share {@code "other"}.
+ */
+@Component
+public class BacktestMetrics {
+
+    static final String OTHER_TICKERS = "other";
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCountingThreadBean();
+
+    private final MeterRegistry registry;
+    private final Set<String> trackedTickers;
+
+    public BacktestMetrics(MeterRegistry registry,
+                           @Value("${quantsim.metrics.tracked-tickers:}") String trackedTickers) {
+        this.registry = registry;
+        this.trackedTickers = Arrays.stream(trackedTickers.split(","))
+                .map(String::trim)
+                .filter(ticker -> !ticker.isEmpty())
+                .map(ticker -> ticker.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns the common tags for a backtest of {@code ticker} with {@code strategyType}.
+     */
+    public Tags tags(String strategyType, String ticker) {
+        String upper = ticker.toUpperCase(Locale.ROOT);
+        return Tags.of("strategy", strategyType, "ticker", trackedTickers.contains(upper) ? upper : OTHER_TICKERS);
+    }
+
+    public void recordFetch(Tags tags, long nanos) {
+        timer("quantsim.backtest.fetch", "Market data repository fetch", tags).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSignals(Tags tags, long nanos) {
+        timer("quantsim.backtest.signals", "Strategy signal generation", tags).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the simulation stage plus the throughput of the whole computation and its allocation.
+     *
+     * @param bars           bars processed
+     * @param totalNanos     fetch, signals and simulation combined
+     * @param allocatedBytes bytes allocated by the computing thread, or a negative value if unsupported
+     */
+    public void recordSimulation(Tags tags, SimulationMode mode, int bars, long simulationNanos,
+                                 long totalNanos, long allocatedBytes) {
+        Tags withMode = tags.and("mode", mode.name());
+        timer("quantsim.backtest.simulation", "Portfolio simulation loop", withMode)
+                .record(simulationNanos, TimeUnit.NANOSECONDS);
+        if (totalNanos > 0) {
+            summary("quantsim.backtest.throughput", "Bars processed per second by a backtest", "bars/s", withMode)
+                    .record(bars * 1e9 / totalNanos);
+        }
+        if (allocatedBytes >= 0) {
+            summary("quantsim.backtest.allocated", "Heap allocated per computed backtest", "bytes", withMode)
+                    .record(allocatedBytes);
+        }
+    }
+
+    public void recordSerialization(Tags tags, long nanos) {
+        timer("quantsim.backtest.serialization", "Response serialization", tags).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 if the JVM does not support allocation counting.
+     */
+    public static long threadAllocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId()) : -1;
+    }
+
+    private Timer timer(String name, String description, Tags tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary summary(String name, String description, String unit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCountingThreadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+        return null;
+    }
+}
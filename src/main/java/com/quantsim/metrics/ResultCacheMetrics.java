@@ -0,0 +1,40 @@
+package com.quantsim.metrics;
+
+import com.quantsim.service.BacktestResultCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link BacktestResultCache} counters as {@code quantsim.cache.*} meters.
+ */
+@Component
+public class ResultCacheMetrics implements MeterBinder {
+
+    private final BacktestResultCache cache;
+
+    public ResultCacheMetrics(BacktestResultCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("quantsim.cache.hits", cache, c -> c.stats().hits())
+                .description("Backtest requests served from the result cache")
+                .register(registry);
+        FunctionCounter.builder("quantsim.cache.misses", cache, c -> c.stats().misses())
+                .description("Backtest requests that had to be computed")
+                .register(registry);
+        FunctionCounter.builder("quantsim.cache.evictions", cache, c -> c.stats().evictions())
+                .description("Result cache entries evicted by the size bound")
+                .register(registry);
+        FunctionCounter.builder("quantsim.cache.expirations", cache, c -> c.stats().expirations())
+                .description("Result cache entries dropped after their TTL")
+                .register(registry);
+        Gauge.builder("quantsim.cache.size", cache, c -> c.stats().size())
+                .description("Result cache entries")
+                .register(registry);
+    }
+}
@@ -0,0 +1,246 @@
+package com.quantsim.repository;
+
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.PriceSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Compact binary on-disk format for one ticker's OHLCV columns, read through a memory mapping.
+ * <p>
+ * Layout (little-endian): a 64-byte header, then the sorted {@code int} timestamp column, which doubles
+ * as the date index for binary search, then the open, high, low, close and volume {@code double}
+ * columns, each 8-byte aligned.
+ * <pre>
+ *  0  long   magic "QSIMBARS"
+ *  8  int    format version
+ * 12  int    resolution (BarResolution ordinal)
+ * 16  int    bar count
+ * 20  int    ticker length in bytes
+ * 24  byte[] ticker, UTF-8, zero padded to 32 bytes
+ * 56  int    first timestamp
+ * 60  int    last timestamp
+ * 64  int[]  timestamps
+ * </pre>
+ * Reading a file only maps it; pages are loaded lazily by the OS, so opening is O(1) in the file size
+ * and data larger than the heap stays in the page cache; {@link #readSeries} returns views over the mapping. One mapping is limited to 2 GB
+ * (about 48 million bars per ticker).
+ */
+public final class BinarySeriesFile {
+
+    public static final String EXTENSION = ".qsb";
+    static final long MAGIC = 0x5352_4142_4D49_5351L; // "QSIMBARS" read little-endian
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAX_TICKER_BYTES = 32;
+    private static final int COLUMNS = 5;
+    private static final int WRITE_CHUNK_BYTES = 1 << 20;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final String ticker;
+    private final BarResolution resolution;
+    private final int size;
+    private final int columnsOffset;
+
+    private BinarySeriesFile(Path path, MappedByteBuffer buffer, String ticker, BarResolution resolution, int size) {
+        this.path = path;
+        this.buffer = buffer;
+        this.ticker = ticker;
+        this.resolution = resolution;
+        this.size = size;
+        this.columnsOffset = align8(HEADER_SIZE + size * Integer.BYTES);
+    }
+
+    /**
+     * Writes {@code series} (sorted by timestamp if needed) to {@code file} under {@code ticker}, atomically replacing
+     * any existing file. The header records {@code ticker} rather than the series' own ticker, so callers pass the
+     * key they will look the file up by.
+     * The file is streamed through a fixed 1 MB buffer, so writing needs no heap proportional to the series.
+     * Callers must not write the same file concurrently, because writers share its temporary file.
+     */
+    public static void write(Path file, String ticker, PriceSeries series) throws IOException {
+        PriceSeries sorted = series.sorted();
+        int n = sorted.size();
+        byte[] tickerBytes = ticker.getBytes(StandardCharsets.UTF_8);
+        if (tickerBytes.length > MAX_TICKER_BYTES) {
+            throw new IllegalArgumentException("Ticker longer than " + MAX_TICKER_BYTES + " bytes: " + ticker);
+        }
+        long length = fileLength(n);
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Series too large for a single mapped file: " + n + " bars");
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer out = ByteBuffer.allocate(WRITE_CHUNK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            out.putLong(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putInt(sorted.getResolution().ordinal())
+                    .putInt(n)
+                    .putInt(tickerBytes.length)
+                    .put(tickerBytes)
+                    .position(56);
+            out.putInt(n > 0 ? sorted.getTimestamp(0) : 0)
+                    .putInt(n > 0 ? sorted.getTimestamp(n - 1) : 0);
+            for (int i = 0; i < n; i++) {
+                ensureRemaining(channel, out, Integer.BYTES);
+                out.putInt(sorted.getTimestamp(i));
+            }
+            if ((n & 1) != 0) {
+                ensureRemaining(channel, out, Integer.BYTES);
+                out.putInt(0); // pad the timestamp column to 8-byte alignment
+            }
+            for (int c = 0; c < COLUMNS; c++) {
+                for (int i = 0; i < n; i++) {
+                    ensureRemaining(channel, out, Double.BYTES);
+                    out.putDouble(column(sorted, c, i));
+                }
+            }
+            flush(channel, out);
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps an existing file read-only and validates its header.
+     */
+    public static BinarySeriesFile open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a QuantSim series file: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getLong(0) != MAGIC) {
+            throw new IOException("Not a QuantSim series file: " + file);
+        }
+        int version = buffer.getInt(8);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported series file version " + version + ": " + file);
+        }
+        int resolution = buffer.getInt(12);
+        int size = buffer.getInt(16);
+        int tickerLength = buffer.getInt(20);
+        if (resolution < 0 || resolution >= BarResolution.values().length || size < 0
+                || tickerLength <= 0 || tickerLength > MAX_TICKER_BYTES || buffer.capacity() < fileLength(size)) {
+            throw new IOException("Corrupt series file header: " + file);
+        }
+        byte[] tickerBytes = new byte[tickerLength];
+        buffer.get(24, tickerBytes);
+        return new BinarySeriesFile(file, buffer, new String(tickerBytes, StandardCharsets.UTF_8),
+                BarResolution.values()[resolution], size);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getTicker() {
+        return ticker;
+    }
+
+    public BarResolution getResolution() {
+        return resolution;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTimestamp(int index) {
+        return buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+    }
+
+    /**
+     * Returns the index of the first bar with a timestamp at or after {@code timestamp}, or {@link #size()}.
+     * Binary search over the mapped timestamp column; touches O(log n) pages.
+     */
+    public int lowerBound(int timestamp) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (getTimestamp(mid) < timestamp) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    public PriceSeries readSeries() {
+        return readSeries(0, size);
+    }
+
+    /**
+     * Returns bars {@code [fromIndex, toIndex)} as a {@link PriceSeries} view that reads the mapping in place;
+     * nothing is copied onto the heap.
+     */
+    public PriceSeries readSeries(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        int n = toIndex - fromIndex;
+        IntBuffer timestamps = buffer.slice(HEADER_SIZE + fromIndex * Integer.BYTES, n * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        DoubleBuffer[] columns = new DoubleBuffer[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            int offset = columnsOffset + (c * size + fromIndex) * Double.BYTES;
+            columns[c] = buffer.slice(offset, n * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        }
+        return PriceSeries.view(ticker, resolution, timestamps,
+                columns[0], columns[1], columns[2], columns[3], columns[4]);
+    }
+
+    private static double column(PriceSeries series, int column, int index) {
+        return switch (column) {
+            case 0 -> series.getOpen(index);
+            case 1 -> series.getHigh(index);
+            case 2 -> series.getLow(index);
+            case 3 -> series.getClose(index);
+            default -> series.getVolume(index);
+        };
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer out, int bytes) throws IOException {
+        if (out.remaining() < bytes) {
+            flush(channel, out);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static long fileLength(int bars) {
+        return align8(HEADER_SIZE + (long) bars * Integer.BYTES) + (long) bars * COLUMNS * Double.BYTES;
+    }
+
+    private static int align8(int offset) {
+        return (offset + 7) & ~7;
+    }
+
+    private static long align8(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
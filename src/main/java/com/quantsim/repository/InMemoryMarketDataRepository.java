@@ -1,37 +1,58 @@
 package com.quantsim.repository;
 
 import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of {@link MarketDataRepository}.
- * Stores market data in a ConcurrentHashMap keyed by ticker symbol.
- * Thread-safe for concurrent reads and writes.
+ * Stores market data as columnar {@link PriceSeries} in a ConcurrentHashMap keyed by ticker symbol;
+ * {@link #findByTicker(String)} materializes {@link MarketData} objects as a compatibility view.
+ * <p>
+ * Data is sorted once on save and published as an immutable, versioned snapshot. A save replaces
+ * the snapshot wholesale (copy-on-write), so concurrent readers never block and never observe
+ * a partially written series.
  */
 @Repository
+@ConditionalOnProperty(name = "quantsim.data.store", havingValue = "memory", matchIfMissing = true)
 public class InMemoryMarketDataRepository implements MarketDataRepository {
 
-    private final ConcurrentHashMap<String, List<MarketData>> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Snapshot> storage = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
 
     @Override
     public Optional<List<MarketData>> findByTicker(String ticker) {
-        if (ticker == null || ticker.isBlank()) {
-            return Optional.empty();
-        }
-        List<MarketData> data = storage.get(ticker.toUpperCase());
-        if (data == null || data.isEmpty()) {
-            return Optional.empty();
-        }
-        List<MarketData> sorted = new ArrayList<>(data);
-        sorted.sort(Comparator.comparing(MarketData::getDate));
-        return Optional.of(Collections.unmodifiableList(sorted));
+        return findSnapshot(ticker).map(Snapshot::marketData);
+    }
+
+    @Override
+    public Optional<List<MarketData>> findByTicker(String ticker, LocalDate from, LocalDate to) {
+        return findSnapshot(ticker).map(snapshot -> {
+            int fromIndex = snapshot.series.indexOnOrAfter(from);
+            int toIndex = Math.max(fromIndex, snapshot.series.indexAfter(to));
+            return snapshot.marketData().subList(fromIndex, toIndex);
+        });
+    }
+
+    @Override
+    public Optional<PriceSeries> findSeriesByTicker(String ticker) {
+        return findSnapshot(ticker).map(snapshot -> snapshot.series);
+    }
+
+    @Override
+    public Optional<PriceSeries> findSeriesByTicker(String ticker, LocalDate from, LocalDate to) {
+        return findSnapshot(ticker).map(snapshot -> snapshot.series.sliceByDate(from, to));
     }
 
     @Override
@@ -42,15 +63,80 @@ public class InMemoryMarketDataRepository implements MarketDataRepository {
         if (data == null) {
             throw new IllegalArgumentException("Data cannot be null");
         }
-        storage.put(ticker.toUpperCase(), new ArrayList<>(data));
+        String key = ticker.toUpperCase();
+        publish(key, PriceSeries.fromMarketData(key, data));
+    }
+
+    @Override
+    public void saveSeries(String ticker, PriceSeries series) {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        publish(ticker.toUpperCase(), series);
     }
 
     @Override
     public boolean existsByTicker(String ticker) {
+        return findSnapshot(ticker).isPresent();
+    }
+
+    @Override
+    public long getVersion(String ticker) {
+        return findSnapshot(ticker).map(snapshot -> snapshot.version).orElse(0L);
+    }
+
+    @Override
+    public Set<String> findAllTickers() {
+        // Same rule as findSnapshot: a ticker saved with no bars does not exist
+        return storage.entrySet().stream()
+                .filter(entry -> !entry.getValue().series.isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private void publish(String key, PriceSeries series) {
+        PriceSeries sorted = series.sorted();
+        // Assign the version inside compute so concurrent saves of one ticker publish in version order
+        storage.compute(key, (k, previous) -> new Snapshot(versionSequence.incrementAndGet(), sorted));
+    }
+
+    private Optional<Snapshot> findSnapshot(String ticker) {
         if (ticker == null || ticker.isBlank()) {
-            return false;
+            return Optional.empty();
+        }
+        Snapshot snapshot = storage.get(ticker.toUpperCase());
+        if (snapshot == null || snapshot.series.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Immutable published state for one ticker. The {@link MarketData} view is materialized
+     * lazily on first use and then shared by all readers of this version; racing first readers
+     * may each build it, which is harmless since the results are equal.
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final PriceSeries series;
+        private volatile List<MarketData> marketData;
+
+        Snapshot(long version, PriceSeries series) {
+            this.version = version;
+            this.series = series;
+        }
+
+        List<MarketData> marketData() {
+            List<MarketData> view = marketData;
+            if (view == null) {
+                view = Collections.unmodifiableList(series.toMarketDataList());
+                marketData = view;
+            }
+            return view;
         }
-        List<MarketData> data = storage.get(ticker.toUpperCase());
-        return data != null && !data.isEmpty();
     }
 }
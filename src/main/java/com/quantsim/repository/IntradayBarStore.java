@@ -0,0 +1,448 @@
+package com.quantsim.repository;
+
+import com.quantsim.analytics.CapacityExceededException;
+import com.quantsim.domain.BarInterval;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only store for intraday bars and trades, keyed by ticker, kept off the Java heap.
+ * <p>
+ * Each ticker's bars live in fixed-size chunks of {@code quantsim.intraday.chunk-bars} bars, each one direct
+ * {@link ByteBuffer} laid out as columns: the {@code long} epoch-millisecond timestamps followed by the open,
+ * high, low, close and volume {@code double} columns. A bar costs 48 bytes of native memory and no heap
+ * objects, so the GC never scans the data; a trade is stored as a bar whose prices are all the trade price.
+ * Chunks are never moved or copied as a ticker grows, and all chunks together are limited to
+ * {@code quantsim.intraday.max-bytes} (the JVM's {@code -XX:MaxDirectMemorySize} must allow at least that).
+ * <p>
+ * Bars are appended in non-decreasing time order by one writer per ticker at a time. Readers take a
+ * {@link Reader}, an immutable view of the bars published when it was taken, and iterate it with a
+ * {@link Cursor} or a {@link ResamplingCursor} without copying the data onto the heap.
+ */
+@Repository
+public class IntradayBarStore {
+
+    private static final int COLUMNS = 5;
+    private static final int BAR_BYTES = Long.BYTES + COLUMNS * Double.BYTES;
+
+    private final int chunkBars;
+    private final int chunkShift;
+    private final long maxBytes;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicLong generations = new AtomicLong();
+    private final ConcurrentHashMap<String, Column> columns = new ConcurrentHashMap<>();
+
+    public IntradayBarStore(@Value("${quantsim.intraday.chunk-bars:65536}") int chunkBars,
+                            @Value("${quantsim.intraday.max-bytes:1073741824}") long maxBytes) {
+        if (chunkBars < 1 || Integer.bitCount(chunkBars) != 1 || (long) chunkBars * BAR_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("quantsim.intraday.chunk-bars must be a power of two below 2^25");
+        }
+        this.chunkBars = chunkBars;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkBars);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Appends a batch of bars to a ticker, creating the ticker on its first batch. The batch is written
+     * completely or not at all.
+     *
+     * @return the ticker's bar count after the batch
+     * @throws IllegalArgumentException  if the batch is older than the ticker's last bar
+     * @throws CapacityExceededException if the batch would exceed {@code quantsim.intraday.max-bytes}
+     */
+    public long append(String ticker, Batch batch) {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        String key = ticker.toUpperCase();
+        if (batch.size == 0) {
+            Column existing = columns.get(key);
+            return existing != null ? existing.size : 0;
+        }
+        Column column = columns.computeIfAbsent(key, k -> new Column(k, generations.incrementAndGet()));
+        try {
+            return column.append(batch);
+        } catch (RuntimeException e) {
+            if (column.size == 0) {
+                columns.remove(key, column);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a view of the ticker's bars as of now, or empty if the ticker has no bars.
+     */
+    public Optional<Reader> reader(String ticker) {
+        if (ticker == null || ticker.isBlank()) {
+            return Optional.empty();
+        }
+        Column column = columns.get(ticker.toUpperCase());
+        if (column == null) {
+            return Optional.empty();
+        }
+        Reader reader = column.reader();
+        return reader.size() > 0 ? Optional.of(reader) : Optional.empty();
+    }
+
+    /**
+     * Drops a ticker's bars and releases their memory budget. Readers taken earlier stay valid; the native
+     * memory is freed once they are unreachable.
+     *
+     * @return false if the ticker has no bars
+     */
+    public boolean delete(String ticker) {
+        if (ticker == null || ticker.isBlank()) {
+            return false;
+        }
+        Column column = columns.remove(ticker.toUpperCase());
+        if (column == null) {
+            return false;
+        }
+        allocatedBytes.addAndGet(-column.release());
+        return true;
+    }
+
+    public Set<String> findAllTickers() {
+        return Set.copyOf(columns.keySet());
+    }
+
+    public Stats stats() {
+        long bars = 0;
+        for (Column column : columns.values()) {
+            bars += column.size;
+        }
+        return new Stats(columns.size(), bars, allocatedBytes.get(), maxBytes);
+    }
+
+    /**
+     * Bar and native memory totals over all tickers.
+     */
+    public record Stats(int tickers, long bars, long allocatedBytes, long maxBytes) {}
+
+    private ByteBuffer allocateChunk() {
+        long bytes = (long) chunkBars * BAR_BYTES;
+        if (allocatedBytes.addAndGet(bytes) > maxBytes) {
+            allocatedBytes.addAndGet(-bytes);
+            throw new CapacityExceededException("Intraday store is full (quantsim.intraday.max-bytes=" + maxBytes + ")");
+        }
+        try {
+            return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+        } catch (OutOfMemoryError e) {
+            allocatedBytes.addAndGet(-bytes);
+            throw new CapacityExceededException("Direct memory exhausted; raise -XX:MaxDirectMemorySize");
+        }
+    }
+
+    private int columnOffset(int column, int position) {
+        return (chunkBars * Long.BYTES) + (column * chunkBars + position) * Double.BYTES;
+    }
+
+    /**
+     * One ticker's chunks. Appends are serialized on the column; {@code size} is published after the bars
+     * and chunks it covers are written, so readers that read it first see complete bars.
+     */
+    private final class Column {
+
+        private final String ticker;
+        private final long generation;
+        private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+        private volatile long size;
+        private long lastTime = Long.MIN_VALUE;
+        private boolean released;
+
+        Column(String ticker, long generation) {
+            this.ticker = ticker;
+            this.generation = generation;
+        }
+
+        synchronized long append(Batch batch) {
+            if (released) {
+                throw new IllegalStateException("Ticker " + ticker + " was deleted during the append");
+            }
+            int n = batch.size;
+            if (n == 0) {
+                return size;
+            }
+            if (batch.times[0] < lastTime) {
+                throw new IllegalArgumentException("Bars for " + ticker + " must not be older than the last stored bar at "
+                        + Instant.ofEpochMilli(lastTime));
+            }
+            long newSize = size + n;
+            int needed = (int) ((newSize + chunkBars - 1) >>> chunkShift);
+            ByteBuffer[] current = chunks;
+            if (needed > current.length) {
+                ByteBuffer[] grown = Arrays.copyOf(current, needed);
+                int allocated = current.length;
+                try {
+                    for (; allocated < needed; allocated++) {
+                        grown[allocated] = allocateChunk();
+                    }
+                } catch (RuntimeException e) {
+                    allocatedBytes.addAndGet(-(long) (allocated - current.length) * chunkBars * BAR_BYTES);
+                    throw e;
+                }
+                chunks = grown;
+                current = grown;
+            }
+
+            long index = size;
+            for (int i = 0; i < n; i++, index++) {
+                ByteBuffer chunk = current[(int) (index >>> chunkShift)];
+                int position = (int) index & (chunkBars - 1);
+                chunk.putLong(position * Long.BYTES, batch.times[i]);
+                chunk.putDouble(columnOffset(0, position), batch.open[i]);
+                chunk.putDouble(columnOffset(1, position), batch.high[i]);
+                chunk.putDouble(columnOffset(2, position), batch.low[i]);
+                chunk.putDouble(columnOffset(3, position), batch.close[i]);
+                chunk.putDouble(columnOffset(4, position), batch.volume[i]);
+            }
+            lastTime = batch.times[n - 1];
+            size = newSize;
+            return newSize;
+        }
+
+        Reader reader() {
+            long published = size;
+            return new Reader(ticker, generation, chunks, published);
+        }
+
+        synchronized long release() {
+            released = true;
+            return (long) chunks.length * chunkBars * BAR_BYTES;
+        }
+    }
+
+    /**
+     * Immutable view of one ticker's first {@link #size()} bars. Safe for concurrent use; later appends are
+     * not visible through it.
+     */
+    public final class Reader {
+
+        private final String ticker;
+        private final long generation;
+        private final ByteBuffer[] chunks;
+        private final long size;
+
+        private Reader(String ticker, long generation, ByteBuffer[] chunks, long size) {
+            this.ticker = ticker;
+            this.generation = generation;
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        public String getTicker() {
+            return ticker;
+        }
+
+        /**
+         * Identifies the ticker's data since it was last created: the generation changes when the ticker is
+         * deleted and appended to again, and only grows by appends otherwise.
+         */
+        public long generation() {
+            return generation;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        public long getTime(long index) {
+            Objects.checkIndex(index, size);
+            return chunks[(int) (index >>> chunkShift)].getLong(((int) index & (chunkBars - 1)) * Long.BYTES);
+        }
+
+        public long firstTime() {
+            return getTime(0);
+        }
+
+        public long lastTime() {
+            return getTime(size - 1);
+        }
+
+        /**
+         * Returns the index of the first bar at or after {@code epochMillis}, or {@link #size()} if there is none.
+         */
+        public long lowerBound(long epochMillis) {
+            long lo = 0;
+            long hi = size;
+            while (lo < hi) {
+                long mid = (lo + hi) >>> 1;
+                if (getTime(mid) < epochMillis) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * Iterates bars {@code [fromIndex, toIndex)} in time order.
+         */
+        public Cursor cursor(long fromIndex, long toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, size);
+            return new Cursor(chunks, fromIndex, toIndex);
+        }
+
+        /**
+         * Iterates bars {@code [fromIndex, toIndex)} aggregated into {@code interval} buckets.
+         */
+        public ResamplingCursor resample(BarInterval interval, long fromIndex, long toIndex) {
+            return new ResamplingCursor(cursor(fromIndex, toIndex), interval);
+        }
+    }
+
+    /**
+     * Forward-only iterator over a range of stored bars, reading them in place from the chunks.
+     * Call {@link #next()} before reading the first bar. Not thread-safe.
+     */
+    public final class Cursor {
+
+        private final ByteBuffer[] chunks;
+        private final long end;
+        private long index;
+        private ByteBuffer chunk;
+        private int position;
+
+        private Cursor(ByteBuffer[] chunks, long fromIndex, long toIndex) {
+            this.chunks = chunks;
+            this.index = fromIndex;
+            this.end = toIndex;
+        }
+
+        /**
+         * Advances to the next bar.
+         *
+         * @return false once every bar in the range has been read
+         */
+        public boolean next() {
+            if (index >= end) {
+                return false;
+            }
+            position = (int) index & (chunkBars - 1);
+            if (chunk == null || position == 0) {
+                chunk = chunks[(int) (index >>> chunkShift)];
+            }
+            index++;
+            return true;
+        }
+
+        /**
+         * Index of the next bar {@link #next()} moves to; after the last bar, the end of the range.
+         */
+        public long index() {
+            return index;
+        }
+
+        public long time() {
+            return chunk.getLong(position * Long.BYTES);
+        }
+
+        public double open() {
+            return chunk.getDouble(columnOffset(0, position));
+        }
+
+        public double high() {
+            return chunk.getDouble(columnOffset(1, position));
+        }
+
+        public double low() {
+            return chunk.getDouble(columnOffset(2, position));
+        }
+
+        public double close() {
+            return chunk.getDouble(columnOffset(3, position));
+        }
+
+        public double volume() {
+            return chunk.getDouble(columnOffset(4, position));
+        }
+    }
+
+    /**
+     * Reusable heap buffer of bars to append in one call, in time order. Not thread-safe.
+     */
+    public static final class Batch {
+
+        private final long[] times;
+        private final double[] open;
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        private final double[] volume;
+        private int size;
+
+        public Batch(int capacity) {
+            times = new long[capacity];
+            open = new double[capacity];
+            high = new double[capacity];
+            low = new double[capacity];
+            close = new double[capacity];
+            volume = new double[capacity];
+        }
+
+        /**
+         * Adds a bar. Prices must be positive and finite, the volume non-negative and finite, and the time
+         * no earlier than the previous bar's.
+         *
+         * @throws IllegalArgumentException if the bar is invalid
+         * @throws IllegalStateException    if the batch is full
+         */
+        public Batch add(long epochMillis, double o, double h, double l, double c, double v) {
+            if (size == times.length) {
+                throw new IllegalStateException("Batch is full");
+            }
+            if (size > 0 && epochMillis < times[size - 1]) {
+                throw new IllegalArgumentException("Bars must be in time order");
+            }
+            if (!isPrice(o) || !isPrice(h) || !isPrice(l) || !isPrice(c) || !(v >= 0) || Double.isInfinite(v)) {
+                throw new IllegalArgumentException("Prices must be positive and volume non-negative");
+            }
+            if (h < Math.max(o, c) || l > Math.min(o, c)) {
+                throw new IllegalArgumentException("High and low must bound open and close");
+            }
+            times[size] = epochMillis;
+            open[size] = o;
+            high[size] = h;
+            low[size] = l;
+            close[size] = c;
+            volume[size] = v;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isFull() {
+            return size == times.length;
+        }
+
+        /**
+         * Time of the last bar added, or {@link Long#MIN_VALUE} if the batch is empty.
+         */
+        public long lastTime() {
+            return size > 0 ? times[size - 1] : Long.MIN_VALUE;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        private static boolean isPrice(double value) {
+            return value > 0 && !Double.isInfinite(value);
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.quantsim.repository;
+
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * {@link MarketDataRepository} backed by a relational database over plain JDBC.
+ * Enabled with {@code quantsim.data.store=jdbc}; the connection is configured with {@code quantsim.data.jdbc.*}
+ * and defaults to an embedded H2 file database. The repository owns its connection pool, so
+ * {@code DataSourceAutoConfiguration} stays excluded for the other stores.
+ * <p>
+ * Bars live in one row per (ticker, timestamp), whose primary key is the index used by range reads.
+ * A save replaces a ticker's rows in one transaction with batched inserts. Reads stream rows through a
+ * forward-only, read-only cursor with a fetch size straight into {@link PriceSeries.Builder} columns.
+ * <p>
+ * Ticker versions are kept in memory, loaded from the {@code market_series} table at startup, so
+ * {@link #getVersion(String)} never queries the database. Full series of recently read or saved tickers are
+ * kept in an LRU read-through cache of {@code quantsim.data.jdbc.cached-tickers} entries; range reads of a
+ * cached ticker are sliced from it, while range reads of other tickers query only their range and are not
+ * cached. This assumes this process is the only writer.
+ */
+@Repository
+@ConditionalOnProperty(name = "quantsim.data.store", havingValue = "jdbc")
+public class JdbcMarketDataRepository implements MarketDataRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcMarketDataRepository.class);
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS market_series ("
+                    + "ticker VARCHAR(32) NOT NULL PRIMARY KEY, "
+                    + "resolution SMALLINT NOT NULL, "
+                    + "bars INTEGER NOT NULL, "
+                    + "version BIGINT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS market_bar ("
+                    + "ticker VARCHAR(32) NOT NULL, "
+                    + "ts INTEGER NOT NULL, "
+                    + "open_price DOUBLE PRECISION, "
+                    + "high_price DOUBLE PRECISION, "
+                    + "low_price DOUBLE PRECISION, "
+                    + "close_price DOUBLE PRECISION, "
+                    + "volume DOUBLE PRECISION, "
+                    + "PRIMARY KEY (ticker, ts))"
+    };
+    private static final String SELECT_SERIES = "SELECT ticker, resolution, bars, version FROM market_series";
+    private static final String DELETE_SERIES = "DELETE FROM market_series WHERE ticker = ?";
+    private static final String INSERT_SERIES =
+            "INSERT INTO market_series (ticker, resolution, bars, version) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_BARS = "DELETE FROM market_bar WHERE ticker = ?";
+    private static final String INSERT_BAR = "INSERT INTO market_bar "
+            + "(ticker, ts, open_price, high_price, low_price, close_price, volume) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_BARS = "SELECT ts, open_price, high_price, low_price, close_price, volume "
+            + "FROM market_bar WHERE ticker = ? AND ts >= ? AND ts < ? ORDER BY ts";
+
+    private final HikariDataSource dataSource;
+    private final int batchSize;
+    private final int fetchSize;
+    private final int cachedTickers;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> saveLocks = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Snapshot> cache;
+    private final Object cacheLock = new Object();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public JdbcMarketDataRepository(
+            @Value("${quantsim.data.jdbc.url:jdbc:h2:file:./data/h2/quantsim}") String url,
+            @Value("${quantsim.data.jdbc.username:sa}") String username,
+            @Value("${quantsim.data.jdbc.password:}") String password,
+            @Value("${quantsim.data.jdbc.pool-size:4}") int poolSize,
+            @Value("${quantsim.data.jdbc.batch-size:1000}") int batchSize,
+            @Value("${quantsim.data.jdbc.fetch-size:1000}") int fetchSize,
+            @Value("${quantsim.data.jdbc.cached-tickers:64}") int cachedTickers) throws SQLException {
+        if (batchSize < 1 || fetchSize < 1 || cachedTickers < 0) {
+            throw new IllegalArgumentException(
+                    "quantsim.data.jdbc batch-size and fetch-size must be positive, cached-tickers non-negative");
+        }
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
+        this.cachedTickers = cachedTickers;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > JdbcMarketDataRepository.this.cachedTickers;
+            }
+        };
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(poolSize);
+        config.setPoolName("quantsim-market-data");
+        this.dataSource = new HikariDataSource(config);
+        try {
+            long start = System.nanoTime();
+            createSchema();
+            loadEntries();
+            log.info("Loaded {} tickers from {} in {} ms", entries.size(), url,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            dataSource.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<List<MarketData>> findByTicker(String ticker) {
+        return findSeriesByTicker(ticker).map(PriceSeries::toMarketDataList).map(Collections::unmodifiableList);
+    }
+
+    @Override
+    public Optional<List<MarketData>> findByTicker(String ticker, LocalDate from, LocalDate to) {
+        return findSeriesByTicker(ticker, from, to).map(PriceSeries::toMarketDataList).map(Collections::unmodifiableList);
+    }
+
+    @Override
+    public Optional<PriceSeries> findSeriesByTicker(String ticker) {
+        return findSeriesByTicker(ticker, null, null);
+    }
+
+    @Override
+    public Optional<PriceSeries> findSeriesByTicker(String ticker, LocalDate from, LocalDate to) {
+        Optional<String> key = findKey(ticker);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(key.get());
+        Snapshot snapshot = cached(key.get(), entry.version);
+        if (snapshot != null) {
+            return Optional.of(from == null && to == null ? snapshot.series : snapshot.series.sliceByDate(from, to));
+        }
+        if (from != null || to != null) {
+            // A bounded miss reads only its range through the (ticker, ts) index and leaves the cache alone
+            return Optional.of(query(key.get(), entry.resolution, from, to));
+        }
+        snapshot = new Snapshot(entry.version, query(key.get(), entry.resolution, null, null));
+        cache(key.get(), snapshot);
+        return Optional.of(snapshot.series);
+    }
+
+    @Override
+    public void save(String ticker, List<MarketData> data) {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null");
+        }
+        String key = ticker.toUpperCase();
+        publish(key, PriceSeries.fromMarketData(key, data));
+    }
+
+    @Override
+    public void saveSeries(String ticker, PriceSeries series) {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        publish(ticker.toUpperCase(), series);
+    }
+
+    @Override
+    public boolean existsByTicker(String ticker) {
+        return findKey(ticker).isPresent();
+    }
+
+    @Override
+    public long getVersion(String ticker) {
+        return findKey(ticker).map(key -> entries.get(key).version).orElse(0L);
+    }
+
+    @Override
+    public Set<String> findAllTickers() {
+        return entries.entrySet().stream()
+                .filter(entry -> entry.getValue().bars > 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+
+    /**
+     * Replaces the ticker's rows in one transaction, then publishes the new version and caches the series.
+     * Saves of one ticker are serialized by a per-ticker lock, and the database is written outside the entry
+     * map so saves and reads of other tickers never wait on it; readers keep seeing the previous version until
+     * the commit.
+     */
+    private void publish(String key, PriceSeries series) {
+        PriceSeries sorted = series.sorted();
+        synchronized (saveLocks.computeIfAbsent(key, k -> new Object())) {
+            Entry entry = new Entry(sorted.getResolution(), sorted.size(), versionSequence.incrementAndGet());
+            try {
+                write(key, sorted, entry);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to save market data for " + key, e);
+            }
+            cache(key, new Snapshot(entry.version, sorted));
+            entries.put(key, entry);
+        }
+    }
+
+    private void write(String key, PriceSeries series, Entry entry) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_BARS)) {
+                    delete.setString(1, key);
+                    delete.executeUpdate();
+                }
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_BAR)) {
+                    for (int i = 0; i < series.size(); i++) {
+                        insert.setString(1, key);
+                        insert.setInt(2, series.getTimestamp(i));
+                        setDouble(insert, 3, series.getOpen(i));
+                        setDouble(insert, 4, series.getHigh(i));
+                        setDouble(insert, 5, series.getLow(i));
+                        setDouble(insert, 6, series.getClose(i));
+                        setDouble(insert, 7, series.getVolume(i));
+                        insert.addBatch();
+                        if ((i + 1) % batchSize == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+                try (PreparedStatement delete = connection.prepareStatement(DELETE_SERIES);
+                     PreparedStatement insert = connection.prepareStatement(INSERT_SERIES)) {
+                    delete.setString(1, key);
+                    delete.executeUpdate();
+                    insert.setString(1, key);
+                    insert.setInt(2, entry.resolution.ordinal());
+                    insert.setInt(3, entry.bars);
+                    insert.setLong(4, entry.version);
+                    insert.executeUpdate();
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reads bars dated within {@code [from, to]} (either bound may be null) through a forward-only cursor.
+     */
+    private PriceSeries query(String key, BarResolution resolution, LocalDate from, LocalDate to) {
+        int fromTimestamp = from != null ? resolution.fromDate(from) : Integer.MIN_VALUE;
+        int toTimestamp = to != null ? resolution.fromDate(to.plusDays(1)) : Integer.MAX_VALUE;
+        PriceSeries.Builder builder = new PriceSeries.Builder(key, resolution);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_BARS,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Some drivers (PostgreSQL) only honour the fetch size inside a transaction
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            select.setFetchSize(fetchSize);
+            select.setString(1, key);
+            select.setInt(2, fromTimestamp);
+            select.setInt(3, toTimestamp);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    builder.append(rows.getInt(1), getDouble(rows, 2), getDouble(rows, 3), getDouble(rows, 4),
+                            getDouble(rows, 5), getDouble(rows, 6));
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read market data for " + key, e);
+        }
+        return builder.build();
+    }
+
+    private void createSchema() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    private void loadEntries() throws SQLException {
+        long maxVersion = 0;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(SELECT_SERIES)) {
+            while (rows.next()) {
+                int resolution = rows.getInt(2);
+                if (resolution < 0 || resolution >= BarResolution.values().length) {
+                    log.warn("Skipping ticker '{}' with unknown resolution {}", rows.getString(1), resolution);
+                    continue;
+                }
+                long version = rows.getLong(4);
+                entries.put(rows.getString(1), new Entry(BarResolution.values()[resolution], rows.getInt(3), version));
+                maxVersion = Math.max(maxVersion, version);
+            }
+        }
+        versionSequence.set(maxVersion);
+    }
+
+    private Optional<String> findKey(String ticker) {
+        if (ticker == null || ticker.isBlank()) {
+            return Optional.empty();
+        }
+        String key = ticker.toUpperCase();
+        Entry entry = entries.get(key);
+        return entry != null && entry.bars > 0 ? Optional.of(key) : Optional.empty();
+    }
+
+    private Snapshot cached(String key, long version) {
+        synchronized (cacheLock) {
+            Snapshot snapshot = cache.get(key);
+            return snapshot != null && snapshot.version == version ? snapshot : null;
+        }
+    }
+
+    private void cache(String key, Snapshot snapshot) {
+        if (cachedTickers == 0) {
+            return;
+        }
+        synchronized (cacheLock) {
+            Snapshot current = cache.get(key);
+            // A slow reader must not replace a newer version published by a concurrent save
+            if (current == null || current.version <= snapshot.version) {
+                cache.put(key, snapshot);
+            }
+        }
+    }
+
+    private static void setDouble(PreparedStatement statement, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            statement.setNull(index, Types.DOUBLE);
+        } else {
+            statement.setDouble(index, value);
+        }
+    }
+
+    private static double getDouble(ResultSet rows, int index) throws SQLException {
+        double value = rows.getDouble(index);
+        return rows.wasNull() ? Double.NaN : value;
+    }
+
+    /**
+     * Committed state of one ticker; {@code bars == 0} means the ticker has no data.
+     */
+    private record Entry(BarResolution resolution, int bars, long version) {}
+
+    private record Snapshot(long version, PriceSeries series) {}
+}
@@ -0,0 +1,177 @@
+package com.quantsim.repository;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link MarketDataRepository} backed by one memory-mapped {@link BinarySeriesFile} per ticker.
+ * Enabled with {@code quantsim.data.store=mapped}; files live in {@code quantsim.data.cache-directory}.
+ * <p>
+ * Startup only maps existing files, so it takes near-constant time regardless of data size, and
+ * data larger than the heap is served from the OS page cache. Series reads are views over the mapping and
+ * copy nothing onto the heap; date-range reads binary-search the mapped date index first. Only the
+ * {@link MarketData} list form is materialized, behind a {@link SoftReference} the GC may drop.
+ * Saves of one ticker are serialized: each writes the file (atomic replace) and then publishes a new
+ * versioned snapshot of it, so the published snapshot always matches the file on disk.
+ */
+@Repository
+@ConditionalOnProperty(name = "quantsim.data.store", havingValue = "mapped")
+public class MappedMarketDataRepository implements MarketDataRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedMarketDataRepository.class);
+
+    private final Path directory;
+    private final ConcurrentHashMap<String, Snapshot> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> saveLocks = new ConcurrentHashMap<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public MappedMarketDataRepository(@Value("${quantsim.data.cache-directory:data/cache}") String directory) throws IOException {
+        this.directory = Path.of(directory);
+        Files.createDirectories(this.directory);
+        long start = System.nanoTime();
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(BinarySeriesFile.EXTENSION))
+                    .forEach(this::mapExisting);
+        }
+        log.info("Mapped {} tickers from {} in {} ms", storage.size(), this.directory,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public Optional<List<MarketData>> findByTicker(String ticker) {
+        return findSnapshot(ticker).map(Snapshot::marketData);
+    }
+
+    @Override
+    public Optional<List<MarketData>> findByTicker(String ticker, LocalDate from, LocalDate to) {
+        return findSeriesByTicker(ticker, from, to).map(PriceSeries::toMarketDataList).map(Collections::unmodifiableList);
+    }
+
+    @Override
+    public Optional<PriceSeries> findSeriesByTicker(String ticker) {
+        return findSnapshot(ticker).map(snapshot -> snapshot.series);
+    }
+
+    @Override
+    public Optional<PriceSeries> findSeriesByTicker(String ticker, LocalDate from, LocalDate to) {
+        return findSnapshot(ticker).map(snapshot -> snapshot.series.sliceByDate(from, to));
+    }
+
+    @Override
+    public void save(String ticker, List<MarketData> data) {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null");
+        }
+        String key = ticker.toUpperCase(Locale.ROOT);
+        publish(key, PriceSeries.fromMarketData(key, data));
+    }
+
+    @Override
+    public void saveSeries(String ticker, PriceSeries series) {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        String key = ticker.toUpperCase(Locale.ROOT);
+        publish(key, series);
+    }
+
+    @Override
+    public boolean existsByTicker(String ticker) {
+        return findSnapshot(ticker).isPresent();
+    }
+
+    @Override
+    public long getVersion(String ticker) {
+        return findSnapshot(ticker).map(snapshot -> snapshot.version).orElse(0L);
+    }
+
+    @Override
+    public Set<String> findAllTickers() {
+        return Set.copyOf(storage.keySet());
+    }
+
+    private void publish(String key, PriceSeries series) {
+        PriceSeries sorted = series.sorted();
+        Path file = directory.resolve(key.toLowerCase(Locale.ROOT) + BinarySeriesFile.EXTENSION);
+        synchronized (saveLocks.computeIfAbsent(key, k -> new Object())) {
+            try {
+                BinarySeriesFile.write(file, key, sorted);
+                storage.put(key, new Snapshot(versionSequence.incrementAndGet(), BinarySeriesFile.open(file)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write series file for " + key, e);
+            }
+        }
+    }
+
+    private void mapExisting(Path path) {
+        try {
+            BinarySeriesFile file = BinarySeriesFile.open(path);
+            storage.put(file.getTicker().toUpperCase(Locale.ROOT), new Snapshot(versionSequence.incrementAndGet(), file));
+        } catch (IOException e) {
+            log.warn("Skipping unreadable series file '{}': {}", path, e.getMessage());
+        }
+    }
+
+    private Optional<Snapshot> findSnapshot(String ticker) {
+        if (ticker == null || ticker.isBlank()) {
+            return Optional.empty();
+        }
+        Snapshot snapshot = storage.get(ticker.toUpperCase(Locale.ROOT));
+        if (snapshot == null || snapshot.series.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Immutable published state for one ticker: a series view over the mapped file plus a soft heap copy of
+     * its {@link MarketData} form.
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        private final PriceSeries series;
+        private volatile SoftReference<List<MarketData>> marketData;
+
+        Snapshot(long version, BinarySeriesFile file) {
+            this.version = version;
+            this.series = file.readSeries();
+            this.marketData = new SoftReference<>(null);
+        }
+
+        List<MarketData> marketData() {
+            List<MarketData> value = marketData.get();
+            if (value == null) {
+                value = Collections.unmodifiableList(series.toMarketDataList());
+                marketData = new SoftReference<>(value);
+            }
+            return value;
+        }
+    }
+}
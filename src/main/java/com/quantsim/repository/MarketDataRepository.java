@@ -1,24 +1,59 @@
 package com.quantsim.repository;
 
 import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for accessing market data by ticker symbol.
- * Supports both in-memory and future JPA-backed implementations.
+ * Implemented in memory, over memory-mapped files and over JDBC; see {@code quantsim.data.store}.
  */
 public interface MarketDataRepository {
 
     /**
      * Finds all market data for the given ticker symbol, sorted by date ascending.
+     * The returned list is a read-only snapshot that may be shared between callers.
      *
      * @param ticker the stock ticker symbol (e.g., "SPY", "AAPL")
      * @return optional list of market data; empty if ticker not found
      */
     Optional<List<MarketData>> findByTicker(String ticker);
 
+    /**
+     * Finds market data for the given ticker dated within {@code [from, to]}, sorted by date ascending.
+     * Either bound may be null for an open range.
+     *
+     * @param ticker the stock ticker symbol
+     * @param from   first date to include (inclusive), or null
+     * @param to     last date to include (inclusive), or null
+     * @return optional list of market data, possibly empty; empty optional if ticker not found
+     */
+    Optional<List<MarketData>> findByTicker(String ticker, LocalDate from, LocalDate to);
+
+    /**
+     * Finds the columnar price series for the given ticker symbol without materializing
+     * {@link MarketData} objects.
+     *
+     * @param ticker the stock ticker symbol (e.g., "SPY", "AAPL")
+     * @return optional price series; empty if ticker not found
+     */
+    Optional<PriceSeries> findSeriesByTicker(String ticker);
+
+    /**
+     * Finds the columnar price series for the given ticker restricted to dates within {@code [from, to]}.
+     * Either bound may be null for an open range.
+     *
+     * @param ticker the stock ticker symbol
+     * @param from   first date to include (inclusive), or null
+     * @param to     last date to include (inclusive), or null
+     * @return optional price series, possibly empty; empty optional if ticker not found
+     */
+    Optional<PriceSeries> findSeriesByTicker(String ticker, LocalDate from, LocalDate to);
+
     /**
      * Saves market data for a ticker. Replaces any existing data for that ticker.
      *
@@ -27,6 +62,14 @@ public interface MarketDataRepository {
      */
     void save(String ticker, List<MarketData> data);
 
+    /**
+     * Saves a columnar price series for a ticker. Replaces any existing data for that ticker.
+     *
+     * @param ticker the stock ticker symbol
+     * @param series price series, typically sorted by timestamp
+     */
+    void saveSeries(String ticker, PriceSeries series);
+
     /**
      * Checks whether data exists for the given ticker.
      *
@@ -34,4 +77,20 @@ public interface MarketDataRepository {
      * @return true if data exists for the ticker
      */
     boolean existsByTicker(String ticker);
+
+    /**
+     * Returns the data version for the ticker. The version changes every time the ticker's data
+     * is replaced, so callers can detect results derived from stale data.
+     *
+     * @param ticker the stock ticker symbol
+     * @return current data version, or 0 if no data exists for the ticker
+     */
+    long getVersion(String ticker);
+
+    /**
+     * Returns every ticker that currently has data.
+     *
+     * @return immutable set of upper-case ticker symbols
+     */
+    Set<String> findAllTickers();
 }
@@ -0,0 +1,89 @@
+package com.quantsim.repository;
+
+import com.quantsim.domain.BarInterval;
+
+/**
+ * Forward-only iterator that aggregates stored intraday bars into {@link BarInterval} buckets on the fly:
+ * the first open, highest high, lowest low, last close and summed volume of the bars in each bucket.
+ * Only buckets that contain bars are produced. Holds one bucket at a time, so a range of any length is
+ * resampled in constant memory. Call {@link #next()} before reading the first bucket. Not thread-safe.
+ */
+public final class ResamplingCursor {
+
+    private final IntradayBarStore.Cursor bars;
+    private final BarInterval interval;
+    private final long rangeStart;
+    private boolean pending;
+    private int timestamp;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+
+    ResamplingCursor(IntradayBarStore.Cursor bars, BarInterval interval) {
+        this.bars = bars;
+        this.interval = interval;
+        this.rangeStart = bars.index();
+        this.pending = bars.next();
+    }
+
+    /**
+     * Advances to the next non-empty bucket.
+     *
+     * @return false once every bar in the range has been consumed
+     */
+    public boolean next() {
+        if (!pending) {
+            return false;
+        }
+        timestamp = interval.bucket(bars.time());
+        long bucketEnd = interval.bucketStartMillis(timestamp) + interval.millis();
+        open = bars.open();
+        high = bars.high();
+        low = bars.low();
+        close = bars.close();
+        volume = bars.volume();
+        while ((pending = bars.next()) && bars.time() < bucketEnd) {
+            high = Math.max(high, bars.high());
+            low = Math.min(low, bars.low());
+            close = bars.close();
+            volume += bars.volume();
+        }
+        return true;
+    }
+
+    /**
+     * Number of stored bars consumed so far, including those of the current bucket.
+     */
+    public long barsRead() {
+        return bars.index() - rangeStart - (pending ? 1 : 0);
+    }
+
+    /**
+     * The bucket's start in {@link BarInterval#resolution()} units.
+     */
+    public int timestamp() {
+        return timestamp;
+    }
+
+    public double open() {
+        return open;
+    }
+
+    public double high() {
+        return high;
+    }
+
+    public double low() {
+        return low;
+    }
+
+    public double close() {
+        return close;
+    }
+
+    public double volume() {
+        return volume;
+    }
+}
@@ -0,0 +1,28 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.SimulationMode;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One backtest in a batch: a ticker, a strategy with its parameters, starting capital, an optional
+ * inclusive date window, the simulation mode and the execution model.
+ */
+public record BacktestJob(
+        String ticker,
+        String strategyType,
+        Map<String, Double> parameters,
+        BigDecimal initialCapital,
+        LocalDate startDate,
+        LocalDate endDate,
+        SimulationMode mode,
+        ExecutionModel execution
+) {
+
+    public BacktestJob {
+        execution = ExecutionModel.orNone(execution);
+    }
+}
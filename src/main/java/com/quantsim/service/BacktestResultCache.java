@@ -0,0 +1,215 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of backtest results with a time-to-live.
+ * <p>
+ * Keys include the ticker's data version from the repository, so replacing a ticker's data makes
+ * its old entries unreachable at once; they then age out through LRU eviction or the TTL.
+ * Concurrent requests for the same key share one computation: the first caller computes and
+ * the others wait for its result, each within its own deadline and cancellation. Failed computations
+ * are not cached, and if the computing caller's job is cancelled, a waiting caller computes the result
+ * itself instead of failing. A waiter counts as a hit only if it gets the shared result; if the shared
+ * computation fails it counts as a miss.
+ */
+@Component
+public class BacktestResultCache {
+
+    /** How often a caller waiting on another caller's computation checks its own monitor. */
+    private static final long WAIT_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BacktestResultCache(@Value("${quantsim.cache.max-entries:10000}") int maxEntries,
+                               @Value("${quantsim.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlSeconds > 0 ? TimeUnit.SECONDS.toNanos(ttlSeconds) : Long.MAX_VALUE;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > BacktestResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or runs {@code computation} once and caches its result.
+     * Exceptions and errors thrown by the computation propagate to every caller waiting on it. A caller
+     * waiting on another caller's computation stops waiting once its own {@code progress} is cancelled or
+     * its deadline passes.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code progress} is cancelled while waiting
+     * @throws com.quantsim.analytics.DeadlineExceededException if the deadline of {@code progress} passes
+     *                                                          while waiting
+     */
+    public BacktestResult get(Key key, ProgressMonitor progress, Supplier<BacktestResult> computation) {
+        if (maxEntries <= 0) {
+            misses.increment();
+            return computation.get();
+        }
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (lock) {
+            long now = System.nanoTime();
+            entry = entries.get(key);
+            if (entry != null && now - entry.createdNanos >= ttlNanos) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(new CompletableFuture<>(), now);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (owner) {
+            misses.increment();
+            try {
+                BacktestResult result = computation.get();
+                entry.result.complete(result);
+                return result;
+            } catch (Throwable e) {
+                // Errors too: waiters must always wake up, and a failed entry must not outlive the failure.
+                synchronized (lock) {
+                    entries.remove(key, entry);
+                }
+                entry.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        // A hit only once a result is actually shared: a waiter that recomputes is counted by its own call
+        try {
+            BacktestResult result = await(entry.result, progress);
+            hits.increment();
+            return result;
+        } catch (CancellationException e) {
+            if (progress.isCancelled() || Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            return get(key, progress, computation);
+        } catch (ExecutionException e) {
+            misses.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits for another caller's computation in slices of at most {@link #WAIT_POLL_NANOS}, checking
+     * {@code progress} between them. Throws {@link CancellationException} both when {@code progress} is
+     * cancelled and when the computing caller's job was.
+     */
+    private static BacktestResult await(CompletableFuture<BacktestResult> result, ProgressMonitor progress)
+            throws ExecutionException {
+        while (true) {
+            progress.checkCancelled();
+            long waitNanos = Math.max(0L, Math.min(progress.remainingNanos(), WAIT_POLL_NANOS));
+            try {
+                return result.get(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Re-check the monitor, then keep waiting.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted");
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+        }
+    }
+
+    public Stats stats() {
+        int size;
+        synchronized (lock) {
+            size = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size, maxEntries);
+    }
+
+    /**
+     * Normalized identity of a backtest: equal keys produce equal results.
+     */
+    public record Key(
+            String ticker,
+            long dataVersion,
+            String strategyType,
+            Map<String, Double> parameters,
+            BigDecimal initialCapital,
+            LocalDate startDate,
+            LocalDate endDate,
+            SimulationMode mode,
+            ExecutionModel execution
+    ) {
+
+        /**
+         * Builds the key for {@code job} against the given data version. The ticker is upper-cased,
+         * parameters are ordered by name and the capital's trailing zeros are stripped.
+         */
+        public static Key of(BacktestJob job, long dataVersion) {
+            Map<String, Double> parameters = job.parameters() != null
+                    ? Collections.unmodifiableMap(new TreeMap<>(job.parameters()))
+                    : Map.<String, Double>of();
+            return new Key(
+                    job.ticker().toUpperCase(),
+                    dataVersion,
+                    job.strategyType(),
+                    parameters,
+                    job.initialCapital().stripTrailingZeros(),
+                    job.startDate(),
+                    job.endDate(),
+                    job.mode(),
+                    job.execution());
+        }
+    }
+
+    /**
+     * Cache counters; {@code evictions} counts LRU removals and {@code expirations} TTL removals.
+     */
+    public record Stats(long hits, long misses, long evictions, long expirations, int size, int maxEntries) {}
+
+    private record Entry(CompletableFuture<BacktestResult> result, long createdNanos) {}
+}
@@ -0,0 +1,290 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.BacktestTrace;
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.analytics.SimulationService;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.metrics.BacktestMetrics;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.strategy.IndicatorBackedStrategy;
+import com.quantsim.strategy.StrategyRegistry;
+import com.quantsim.strategy.VectorizedStrategy;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service that runs a single backtest job: resolves the strategy and the ticker's data window,
+ * then simulates, serving repeated identical requests from the {@link BacktestResultCache}.
+ * Computed backtests record per-stage timings through {@link BacktestMetrics}.
+ */
+@Service
+public class BacktestService {
+
+    private final MarketDataRepository marketDataRepository;
+    private final StrategyRegistry strategyRegistry;
+    private final SimulationService simulationService;
+    private final BacktestResultCache resultCache;
+    private final IndicatorCache indicatorCache;
+    private final BacktestMetrics metrics;
+    private final int maxStrategies;
+
+    public BacktestService(MarketDataRepository marketDataRepository,
+                           StrategyRegistry strategyRegistry,
+                           SimulationService simulationService,
+                           BacktestResultCache resultCache,
+                           IndicatorCache indicatorCache,
+                           BacktestMetrics metrics,
+                           @Value("${quantsim.multi.max-strategies:1000}") int maxStrategies) {
+        this.marketDataRepository = marketDataRepository;
+        this.strategyRegistry = strategyRegistry;
+        this.simulationService = simulationService;
+        this.resultCache = resultCache;
+        this.indicatorCache = indicatorCache;
+        this.metrics = metrics;
+        this.maxStrategies = maxStrategies;
+    }
+
+    /**
+     * Runs {@code job}, or returns the cached result of an identical job on the same data version.
+     *
+     * @throws TickerNotFoundException  if the ticker has no data
+     * @throws IllegalArgumentException if the date window, strategy type or parameters are invalid, or the job
+     *                                  has an execution model other than {@link ExecutionModel#NONE} outside
+     *                                  {@link SimulationMode#FAST}
+     */
+    public BacktestResult run(BacktestJob job) {
+        return run(job, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Runs {@code job} like {@link #run(BacktestJob)}, reporting simulated bars to {@code progress}.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code progress} is cancelled while computing
+     */
+    public BacktestResult run(BacktestJob job, ProgressMonitor progress) {
+        if (job.startDate() != null && job.endDate() != null && job.startDate().isAfter(job.endDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (job.mode() != SimulationMode.FAST && !job.execution().isFrictionless()) {
+            throw new IllegalArgumentException("Execution models require FAST mode");
+        }
+        TradingStrategy strategy = strategyRegistry.getStrategy(job.strategyType());
+        Map<String, Double> parameters = job.parameters() != null ? job.parameters() : Map.of();
+
+        // Read the version before the data: a concurrent save can only make the cached result newer
+        // than its key, never leave a stale result under the current version.
+        long version = marketDataRepository.getVersion(job.ticker());
+        if (version == 0) {
+            throw new TickerNotFoundException(job.ticker());
+        }
+        return resultCache.get(BacktestResultCache.Key.of(job, version), progress,
+                () -> compute(job, strategy, parameters, version, progress));
+    }
+
+    /**
+     * Runs {@code job} in {@link SimulationMode#FAST} and records its per-bar equity, drawdown and position
+     * columns and its trades. Traces are not cached; the job's mode is ignored.
+     *
+     * @throws TickerNotFoundException  if the ticker has no data
+     * @throws IllegalArgumentException if the date window, strategy type or parameters are invalid,
+     *                                  the job has an execution model other than {@link ExecutionModel#NONE},
+     *                                  or the window has no bars
+     */
+    public BacktestTrace trace(BacktestJob job) {
+        return trace(job, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Traces {@code job} like {@link #trace(BacktestJob)}, reporting simulated bars to {@code progress}.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code progress} is cancelled while computing
+     */
+    public BacktestTrace trace(BacktestJob job, ProgressMonitor progress) {
+        if (job.startDate() != null && job.endDate() != null && job.startDate().isAfter(job.endDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (!job.execution().isFrictionless()) {
+            throw new IllegalArgumentException("Traces do not support execution models");
+        }
+        TradingStrategy strategy = strategyRegistry.getStrategy(job.strategyType());
+        Map<String, Double> parameters = job.parameters() != null ? job.parameters() : Map.of();
+
+        long version = marketDataRepository.getVersion(job.ticker());
+        PriceSeries series = marketDataRepository
+                .findSeriesByTicker(job.ticker(), job.startDate(), job.endDate())
+                .orElseThrow(() -> new TickerNotFoundException(job.ticker()));
+        byte[] signals;
+        if (strategy instanceof VectorizedStrategy vectorized) {
+            signals = new byte[series.size()];
+            vectorized.generateSignals(indicators(job, version, () -> SeriesIndicators.closes(series)),
+                    parameters, signals);
+        } else {
+            signals = TradeSignal.encode(strategy.generateSignals(series.toMarketDataList(), parameters),
+                    series.size());
+        }
+        progress.checkCancelled();
+        return BacktestTrace.simulate(job.initialCapital(), series, signals, progress);
+    }
+
+    /**
+     * Backtests every strategy in {@code strategies} on one ticker in {@link SimulationMode#FAST}, sharing
+     * the work: the series is fetched once, indicator columns come from the shared {@link IndicatorCache},
+     * and all valid strategies are simulated together in one scan of the closes
+     * ({@link SimulationService#simulateAll}). A strategy with an unknown type or invalid parameters gets
+     * an error entry; the others still run. Results are not cached.
+     *
+     * @throws TickerNotFoundException  if the ticker has no data
+     * @throws IllegalArgumentException if the date window is invalid or there are more than
+     *                                  {@code quantsim.multi.max-strategies} strategies
+     */
+    public MultiStrategyResult runStrategies(String ticker, BigDecimal initialCapital, LocalDate from, LocalDate to,
+                                             List<StrategySpec> strategies, ProgressMonitor progress) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (strategies.size() > maxStrategies) {
+            throw new IllegalArgumentException("Request exceeds the maximum of " + maxStrategies + " strategies");
+        }
+        long version = marketDataRepository.getVersion(ticker);
+        PriceSeries series = marketDataRepository
+                .findSeriesByTicker(ticker, from, to)
+                .orElseThrow(() -> new TickerNotFoundException(ticker));
+        SeriesIndicators indicators = indicatorCache.get(ticker, version, from, to,
+                () -> SeriesIndicators.closes(series));
+
+        MultiStrategyResult.Entry[] entries = new MultiStrategyResult.Entry[strategies.size()];
+        List<Map<String, Double>> resolved = new ArrayList<>(strategies.size());
+        List<Integer> simulated = new ArrayList<>(strategies.size());
+        List<byte[]> signals = new ArrayList<>(strategies.size());
+        List<MarketData> data = null;
+        for (int index = 0; index < strategies.size(); index++) {
+            StrategySpec spec = strategies.get(index);
+            Map<String, Double> parameters = spec.parameters() != null ? spec.parameters() : Map.of();
+            resolved.add(parameters);
+            try {
+                TradingStrategy strategy = strategyRegistry.getStrategy(spec.strategyType());
+                byte[] codes;
+                if (strategy instanceof VectorizedStrategy vectorized) {
+                    codes = new byte[indicators.size()];
+                    vectorized.generateSignals(indicators, parameters, codes);
+                } else {
+                    if (data == null) {
+                        data = series.toMarketDataList();
+                    }
+                    codes = TradeSignal.encode(strategy.generateSignals(data, parameters), series.size());
+                }
+                simulated.add(index);
+                signals.add(codes);
+            } catch (IllegalArgumentException e) {
+                entries[index] = new MultiStrategyResult.Entry(index, spec.strategyType(), parameters, null,
+                        e.getMessage());
+            }
+            progress.checkCancelled();
+        }
+
+        List<BacktestResult> results = simulationService.simulateAll(initialCapital, indicators.closes(), signals,
+                progress);
+        for (int k = 0; k < simulated.size(); k++) {
+            int index = simulated.get(k);
+            entries[index] = new MultiStrategyResult.Entry(index, strategies.get(index).strategyType(),
+                    resolved.get(index), results.get(k), null);
+        }
+        return new MultiStrategyResult(ticker.toUpperCase(), series.size(), List.of(entries));
+    }
+
+    /**
+     * Runs the fetch, signal and simulation stages on the calling thread, timing each one.
+     * FAST backtests of a {@link VectorizedStrategy} read the primitive series and pass signals
+     * as a {@code byte[]} column, never materializing {@link MarketData} or {@link TradeSignal} lists.
+     * Strategies backed by indicator columns read them from the shared {@link IndicatorCache}.
+     * A job with an {@link ExecutionModel} other than {@link ExecutionModel#NONE} is simulated over the full
+     * OHLCV series; otherwise only the closes are read.
+     */
+    private BacktestResult compute(BacktestJob job, TradingStrategy strategy, Map<String, Double> parameters,
+                                   long version, ProgressMonitor progress) {
+        if (job.mode() == SimulationMode.FAST && strategy instanceof VectorizedStrategy vectorized) {
+            return computeVectorized(job, vectorized, parameters, version, progress);
+        }
+        Tags tags = metrics.tags(job.strategyType(), job.ticker());
+        long allocatedBefore = BacktestMetrics.threadAllocatedBytes();
+        long start = System.nanoTime();
+
+        List<MarketData> data = marketDataRepository
+                .findByTicker(job.ticker(), job.startDate(), job.endDate())
+                .orElseThrow(() -> new TickerNotFoundException(job.ticker()));
+        long fetched = System.nanoTime();
+        metrics.recordFetch(tags, fetched - start);
+        if (data.isEmpty()) {
+            return simulationService.runBacktest(strategy, job.initialCapital(), data, parameters, job.mode());
+        }
+
+        List<TradeSignal> signals = strategy instanceof IndicatorBackedStrategy backed
+                ? backed.generateSignals(indicators(job, version, () -> SeriesIndicators.closes(data)), parameters)
+                : strategy.generateSignals(data, parameters);
+        long signalled = System.nanoTime();
+        metrics.recordSignals(tags, signalled - fetched);
+        progress.checkCancelled();
+
+        BacktestResult result = job.execution().isFrictionless()
+                ? simulationService.simulate(job.initialCapital(), data, signals, job.mode(), progress)
+                : simulationService.simulate(job.initialCapital(), PriceSeries.fromMarketData(job.ticker(), data),
+                        TradeSignal.encode(signals, data.size()), job.execution(), progress);
+        recordSimulation(tags, job, data.size(), start, signalled, allocatedBefore);
+        return result;
+    }
+
+    private BacktestResult computeVectorized(BacktestJob job, VectorizedStrategy strategy,
+                                             Map<String, Double> parameters, long version,
+                                             ProgressMonitor progress) {
+        Tags tags = metrics.tags(job.strategyType(), job.ticker());
+        long allocatedBefore = BacktestMetrics.threadAllocatedBytes();
+        long start = System.nanoTime();
+
+        PriceSeries series = marketDataRepository
+                .findSeriesByTicker(job.ticker(), job.startDate(), job.endDate())
+                .orElseThrow(() -> new TickerNotFoundException(job.ticker()));
+        long fetched = System.nanoTime();
+        metrics.recordFetch(tags, fetched - start);
+
+        SeriesIndicators indicators = indicators(job, version, () -> SeriesIndicators.closes(series));
+        byte[] signals = new byte[indicators.size()];
+        strategy.generateSignals(indicators, parameters, signals);
+        long signalled = System.nanoTime();
+        metrics.recordSignals(tags, signalled - fetched);
+        progress.checkCancelled();
+
+        BacktestResult result = job.execution().isFrictionless()
+                ? simulationService.simulate(job.initialCapital(), indicators.closes(), signals, progress)
+                : simulationService.simulate(job.initialCapital(), series, signals, job.execution(), progress);
+        recordSimulation(tags, job, series.size(), start, signalled, allocatedBefore);
+        return result;
+    }
+
+    private SeriesIndicators indicators(BacktestJob job, long version, Supplier<double[]> closes) {
+        return indicatorCache.get(job.ticker(), version, job.startDate(), job.endDate(), closes);
+    }
+
+    private void recordSimulation(Tags tags, BacktestJob job, int bars, long start, long signalled,
+                                  long allocatedBefore) {
+        long simulated = System.nanoTime();
+        long allocatedAfter = BacktestMetrics.threadAllocatedBytes();
+        metrics.recordSimulation(tags, job.mode(), bars, simulated - signalled, simulated - start,
+                allocatedBefore >= 0 ? allocatedAfter - allocatedBefore : -1);
+    }
+}
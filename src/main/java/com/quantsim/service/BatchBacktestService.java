@@ -0,0 +1,180 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.CapacityExceededException;
+import com.quantsim.api.exception.TickerNotFoundException;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service that runs many independent backtests (ticker x strategy x parameters) for one request.
+ * Jobs run in parallel on a dedicated ForkJoinPool through {@link BacktestService}, and results are
+ * handed back in completion order so callers can stream them as they finish. A failing job, including one
+ * whose request fails bean validation or cannot be turned into a {@link BacktestJob}, becomes an error entry
+ * instead of aborting the batch.
+ */
+@Service
+public class BatchBacktestService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchBacktestService.class);
+
+    private final BacktestService backtestService;
+    private final Validator validator;
+    private final ForkJoinPool pool;
+    private final Semaphore activeBatches;
+    private final int maxJobs;
+
+    public BatchBacktestService(BacktestService backtestService,
+                                Validator validator,
+                                @Value("${quantsim.batch.parallelism:0}") int parallelism,
+                                @Value("${quantsim.batch.max-concurrent:4}") int maxConcurrentBatches,
+                                @Value("${quantsim.batch.max-jobs:10000}") int maxJobs) {
+        this.backtestService = backtestService;
+        this.validator = validator;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.activeBatches = new Semaphore(maxConcurrentBatches);
+        this.maxJobs = maxJobs;
+    }
+
+    /**
+     * Submits every job and returns a handle to consume their results. The caller must close the handle,
+     * which cancels jobs that have not started yet and frees the batch slot.
+     *
+     * @param requests one request per backtest; each is validated and turned into a job on the pool when its
+     *                 turn comes, so an invalid one only fails itself
+     * @param toJob    builds the job for a valid request
+     * @return running batch
+     * @throws CapacityExceededException if the maximum number of concurrent batches is already running
+     */
+    public <R> BatchRun start(List<R> requests, Function<? super R, BacktestJob> toJob) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one job is required");
+        }
+        if (requests.size() > maxJobs) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxJobs + " jobs");
+        }
+        List<Supplier<BacktestJob>> jobs = new ArrayList<>(requests.size());
+        for (R request : requests) {
+            jobs.add(() -> {
+                validate(request);
+                return toJob.apply(request);
+            });
+        }
+        if (!activeBatches.tryAcquire()) {
+            throw new CapacityExceededException("Too many concurrent batches; retry later");
+        }
+        return new BatchRun(jobs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @throws IllegalArgumentException listing every violated constraint as {@code field: message}, like a
+     *                                  rejected single request
+     */
+    private void validate(Object request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Job must not be null");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private BatchJobResult execute(int index, Supplier<BacktestJob> spec) {
+        BacktestJob job;
+        try {
+            job = spec.get();
+        } catch (IllegalArgumentException e) {
+            return BatchJobResult.rejected(index, e.getMessage());
+        }
+        try {
+            return BatchJobResult.success(index, job, backtestService.run(job));
+        } catch (TickerNotFoundException | IllegalArgumentException e) {
+            return BatchJobResult.failure(index, job, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Batch job {} ({} / {}) failed", index, job.ticker(), job.strategyType(), e);
+            return BatchJobResult.failure(index, job, "Internal error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handle to a submitted batch.
+     */
+    public final class BatchRun implements AutoCloseable {
+
+        private final List<Supplier<BacktestJob>> jobs;
+        private final CompletionService<BatchJobResult> completion = new ExecutorCompletionService<>(pool);
+        private final List<Future<BatchJobResult>> tasks;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private BatchRun(List<Supplier<BacktestJob>> jobs) {
+            this.jobs = List.copyOf(jobs);
+            this.tasks = new ArrayList<>(jobs.size());
+            for (int i = 0; i < this.jobs.size(); i++) {
+                int index = i;
+                tasks.add(completion.submit(() -> execute(index, this.jobs.get(index))));
+            }
+        }
+
+        public int size() {
+            return jobs.size();
+        }
+
+        /**
+         * Passes each job's result to {@code consumer} on the calling thread as soon as it completes,
+         * returning once every job has been reported.
+         */
+        public void forEachCompleted(Consumer<BatchJobResult> consumer) throws InterruptedException {
+            for (int i = 0; i < jobs.size() && !closed.get(); i++) {
+                Future<BatchJobResult> next = completion.take();
+                consumer.accept(resultOf(next));
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                tasks.forEach(task -> task.cancel(false));
+                activeBatches.release();
+            }
+        }
+
+        private BatchJobResult resultOf(Future<BatchJobResult> future) throws InterruptedException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                int index = tasks.indexOf(future);
+                log.error("Batch job {} failed", index, e.getCause());
+                return BatchJobResult.rejected(index, "Internal error: " + e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.quantsim.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.quantsim.analytics.BacktestResult;
+
+/**
+ * Outcome of one batch job. Exactly one of {@code result} and {@code error} is set;
+ * {@code index} is the job's position in the request, since results arrive in completion order.
+ * {@code ticker} and {@code strategyType} are omitted when the job itself could not be built.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchJobResult(
+        int index,
+        String ticker,
+        String strategyType,
+        BacktestResult result,
+        String error
+) {
+
+    static BatchJobResult success(int index, BacktestJob job, BacktestResult result) {
+        return new BatchJobResult(index, job.ticker(), job.strategyType(), result, null);
+    }
+
+    static BatchJobResult failure(int index, BacktestJob job, String error) {
+        return new BatchJobResult(index, job.ticker(), job.strategyType(), null, error);
+    }
+
+    static BatchJobResult rejected(int index, String error) {
+        return new BatchJobResult(index, null, null, null, error);
+    }
+}
@@ -0,0 +1,203 @@
+package com.quantsim.service;
+
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.repository.MarketDataRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Service that bulk-loads per-ticker (or multi-ticker) CSV files into the {@link MarketDataRepository}.
+ * Files are parsed in parallel with {@link CsvBarParser}, largest first for better load balance.
+ * The ticker comes from a Ticker/Symbol column when present, otherwise from the file name
+ * ({@code AAPL.csv} loads as {@code AAPL}). Rows for one ticker spread across several files are merged;
+ * when a date repeats, the bar from the later file (or the later row within a file) wins.
+ */
+@Service
+public class BulkCsvIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkCsvIngestionService.class);
+    private static final String CSV_EXTENSION = ".csv";
+
+    private final MarketDataRepository marketDataRepository;
+    private final ForkJoinPool pool;
+
+    public BulkCsvIngestionService(MarketDataRepository marketDataRepository,
+                                   @Value("${quantsim.ingest.parallelism:0}") int parallelism) {
+        this.marketDataRepository = marketDataRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ingests every {@code *.csv} file directly inside {@code directory}, in file name order.
+     */
+    public IngestionReport ingestDirectory(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Not a directory: " + directory);
+        }
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries
+                    .filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(CSV_EXTENSION))
+                    .sorted()
+                    .toList();
+        }
+        return ingestFiles(files);
+    }
+
+    /**
+     * Parses the given files in parallel and saves one series per ticker found.
+     * Where files overlap, bars from files later in {@code files} replace earlier bars with the same date.
+     */
+    public IngestionReport ingestFiles(List<Path> files) {
+        long start = System.nanoTime();
+        List<Source> ordered = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            ordered.add(new Source(i, files.get(i)));
+        }
+        ordered.sort(Comparator.comparingLong((Source source) -> sizeOf(source.file())).reversed());
+
+        Map<String, List<Part>> parts = new ConcurrentHashMap<>();
+        List<IngestionReport.FileReport> fileReports = pool.submit(() -> ordered.parallelStream()
+                        .map(source -> ingestFile(source, parts))
+                        .toList())
+                .join();
+
+        long duplicates = 0;
+        for (Map.Entry<String, List<Part>> entry : parts.entrySet()) {
+            PriceSeries merged = merge(entry.getKey(), entry.getValue());
+            PriceSeries unique = keepLastPerDate(merged);
+            if (unique.size() < merged.size()) {
+                log.warn("Replaced {} bars with repeated dates for {}", merged.size() - unique.size(), entry.getKey());
+                duplicates += merged.size() - unique.size();
+            }
+            marketDataRepository.saveSeries(entry.getKey(), unique);
+        }
+
+        long rows = 0;
+        long rejected = 0;
+        long bytes = 0;
+        for (IngestionReport.FileReport report : fileReports) {
+            rows += report.rows();
+            rejected += report.rejectedRows();
+            bytes += report.bytes();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        IngestionReport report = new IngestionReport(fileReports.size(), parts.size(), rows, rejected, duplicates, bytes,
+                elapsedNanos / 1_000_000, ratePerSecond(rows - rejected, elapsedNanos), fileReports);
+        log.info("Ingested {} files, {} tickers, {} rows ({} rejected, {} replaced) in {} ms ({} rows/s)",
+                report.files(), report.tickers(), report.rows(), report.rejectedRows(), report.replacedBars(),
+                report.elapsedMillis(), Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private IngestionReport.FileReport ingestFile(Source source, Map<String, List<Part>> parts) {
+        long start = System.nanoTime();
+        Path file = source.file();
+        String fileName = file.getFileName().toString();
+        try (InputStream in = Files.newInputStream(file)) {
+            CsvBarParser.Result result = new CsvBarParser(tickerFromFileName(fileName)).parse(in);
+            result.series().forEach((ticker, series) -> parts.compute(ticker, (t, list) -> {
+                List<Part> merged = list != null ? list : new ArrayList<>();
+                merged.add(new Part(source.order(), series));
+                return merged;
+            }));
+            long elapsedNanos = System.nanoTime() - start;
+            if (result.rejectedRows() > 0) {
+                log.warn("Rejected {} of {} rows in {}", result.rejectedRows(), result.rows(), fileName);
+            }
+            return new IngestionReport.FileReport(fileName, List.copyOf(result.series().keySet()),
+                    result.rows(), result.rejectedRows(), result.bytes(), elapsedNanos / 1_000_000,
+                    ratePerSecond(result.rows() - result.rejectedRows(), elapsedNanos), null);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to ingest CSV file '{}': {}", fileName, e.getMessage());
+            return new IngestionReport.FileReport(fileName, List.of(), 0, 0, sizeOf(file),
+                    (System.nanoTime() - start) / 1_000_000, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Concatenates the parts in file order and sorts by date; the sort is stable, so repeated dates keep file order.
+     */
+    private static PriceSeries merge(String ticker, List<Part> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0).series().sorted();
+        }
+        List<Part> ordered = new ArrayList<>(parts);
+        ordered.sort(Comparator.comparingInt(Part::order));
+        PriceSeries.Builder builder = new PriceSeries.Builder(ticker, BarResolution.DAY);
+        for (Part part : ordered) {
+            builder.appendAll(part.series());
+        }
+        return builder.build().sorted();
+    }
+
+    /**
+     * Drops every bar of a sorted series that is followed by a bar with the same timestamp.
+     */
+    private static PriceSeries keepLastPerDate(PriceSeries sorted) {
+        int n = sorted.size();
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == n - 1 || sorted.getTimestamp(i + 1) != sorted.getTimestamp(i)) {
+                unique++;
+            }
+        }
+        if (unique == n) {
+            return sorted;
+        }
+        PriceSeries.Builder builder = new PriceSeries.Builder(sorted.getTicker(), sorted.getResolution());
+        for (int i = 0; i < n; i++) {
+            if (i == n - 1 || sorted.getTimestamp(i + 1) != sorted.getTimestamp(i)) {
+                builder.append(sorted.getTimestamp(i), sorted.getOpen(i), sorted.getHigh(i), sorted.getLow(i),
+                        sorted.getClose(i), sorted.getVolume(i));
+            }
+        }
+        return builder.build();
+    }
+
+    static String tickerFromFileName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return base.toUpperCase(Locale.ROOT);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static double ratePerSecond(long count, long elapsedNanos) {
+        return elapsedNanos > 0 ? count * 1e9 / elapsedNanos : 0;
+    }
+
+    private record Source(int order, Path file) {}
+
+    private record Part(int order, PriceSeries series) {}
+}
@@ -0,0 +1,125 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.DeadlineExceededException;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.api.exception.OverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sized platform-thread pool for CPU-bound request work, with admission control and per-request deadlines.
+ * <p>
+ * Request threads (virtual threads, see {@code spring.threads.virtual.enabled}) hand simulations to this pool
+ * and wait for the result, so a burst of requests never runs more simulations at once than there are
+ * compute threads. At most {@code quantsim.compute.max-pending} tasks may be running or queued; further
+ * requests are shed at once with {@link OverloadedException} (503 with {@code Retry-After}) rather than
+ * queueing without bound. Every task gets a {@link ProgressMonitor} with the request's deadline, which the
+ * simulation loops check, so work for a request that has timed out stops instead of piling up.
+ */
+@Component
+public class ComputeExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore admissions;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    public ComputeExecutor(@Value("${quantsim.compute.threads:0}") int threads,
+                           @Value("${quantsim.compute.max-pending:64}") int maxPending,
+                           @Value("${quantsim.compute.timeout-ms:30000}") long timeoutMillis,
+                           @Value("${quantsim.compute.retry-after-seconds:1}") long retryAfterSeconds) {
+        if (maxPending < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("quantsim.compute max-pending and timeout-ms must be positive");
+        }
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "quantsim-compute-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // Admission is bounded by the semaphore, so the queue itself never grows past maxPending
+        this.executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), factory);
+        this.admissions = new Semaphore(maxPending);
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Runs {@code task} on the compute pool and waits for its result, for at most the configured timeout or
+     * {@code requestedTimeoutMillis}, whichever is shorter.
+     *
+     * @param requestedTimeoutMillis client-requested deadline in milliseconds, or null for the default
+     * @throws OverloadedException       if {@code max-pending} tasks are already running or queued
+     * @throws DeadlineExceededException if the deadline passes before the task completes
+     */
+    public <T> T call(Long requestedTimeoutMillis, Function<ProgressMonitor, T> task) {
+        long timeout = requestedTimeoutMillis != null && requestedTimeoutMillis > 0
+                ? Math.min(requestedTimeoutMillis, timeoutMillis)
+                : timeoutMillis;
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        ProgressMonitor progress = ProgressMonitor.withDeadline(System.nanoTime() + timeoutNanos);
+
+        if (!admissions.tryAcquire()) {
+            throw new OverloadedException("Server is at compute capacity; retry later", retryAfterSeconds);
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    // A task that waited in the queue past its deadline is dropped before it starts
+                    progress.checkCancelled();
+                    return task.apply(progress);
+                } finally {
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admissions.release();
+            throw new OverloadedException("Server is shutting down; retry later", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(Math.max(0L, progress.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            progress.cancel();
+            throw new DeadlineExceededException("Request deadline of " + timeout + " ms exceeded");
+        } catch (InterruptedException e) {
+            progress.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the computation");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DeadlineExceededException) {
+                throw new DeadlineExceededException("Request deadline of " + timeout + " ms exceeded");
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Computation failed", cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,369 @@
+package com.quantsim.service;
+
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.PriceSeries;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming OHLCV CSV parser that decodes bytes directly into primitive {@link PriceSeries} columns.
+ * <p>
+ * Columns are located by header name (case-insensitive): {@code Date}, {@code Open}, {@code High},
+ * {@code Low}, {@code Close} are required; {@code Volume} and {@code Ticker}/{@code Symbol} are optional.
+ * Without a ticker column every row belongs to the default ticker given at construction.
+ * Rows are parsed without creating intermediate {@code String}s; the only exception is numbers with
+ * more significant digits than a {@code double} can take exactly, which fall back to
+ * {@link Double#parseDouble} to stay correctly rounded. Invalid rows are counted and skipped.
+ * Instances are not thread-safe; use one per file.
+ */
+public final class CsvBarParser {
+
+    private static final int INITIAL_BUFFER = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final String defaultTicker;
+    private final Map<String, PriceSeries.Builder> builders = new LinkedHashMap<>();
+
+    private int dateColumn = -1;
+    private int openColumn = -1;
+    private int highColumn = -1;
+    private int lowColumn = -1;
+    private int closeColumn = -1;
+    private int volumeColumn = -1;
+    private int tickerColumn = -1;
+    private int columnCount;
+
+    private byte[] lastTickerBytes = new byte[0];
+    private PriceSeries.Builder lastBuilder;
+
+    private long rows;
+    private long rejectedRows;
+    private long bytes;
+
+    public CsvBarParser(String defaultTicker) {
+        this.defaultTicker = defaultTicker != null ? defaultTicker.toUpperCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Outcome of parsing one input: the series per ticker in first-seen order, and row counts.
+     */
+    public record Result(Map<String, PriceSeries> series, long rows, long rejectedRows, long bytes) {}
+
+    /**
+     * Parses the whole stream. The stream is read in chunks and not closed.
+     *
+     * @throws IOException if reading fails, the header is missing required columns,
+     *                     or a line exceeds the maximum supported length
+     */
+    public Result parse(InputStream in) throws IOException {
+        byte[] buffer = new byte[INITIAL_BUFFER];
+        int filled = 0;
+        boolean headerParsed = false;
+
+        int read;
+        while ((read = in.read(buffer, filled, buffer.length - filled)) != -1) {
+            bytes += read;
+            filled += read;
+            int lineStart = 0;
+            for (int i = filled - read; i < filled; i++) {
+                if (buffer[i] == '\n') {
+                    headerParsed = handleLine(buffer, lineStart, i, headerParsed);
+                    lineStart = i + 1;
+                }
+            }
+            filled -= lineStart;
+            System.arraycopy(buffer, lineStart, buffer, 0, filled);
+            if (filled == buffer.length) {
+                if (buffer.length >= MAX_LINE_LENGTH) {
+                    throw new IOException("Line exceeds " + MAX_LINE_LENGTH + " bytes");
+                }
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        if (filled > 0) {
+            headerParsed = handleLine(buffer, 0, filled, headerParsed);
+        }
+        if (!headerParsed) {
+            throw new IOException("CSV header missing");
+        }
+
+        Map<String, PriceSeries> series = new LinkedHashMap<>();
+        builders.forEach((ticker, builder) -> series.put(ticker, builder.build()));
+        return new Result(series, rows, rejectedRows, bytes);
+    }
+
+    private boolean handleLine(byte[] buf, int start, int end, boolean headerParsed) throws IOException {
+        if (end > start && buf[end - 1] == '\r') {
+            end--;
+        }
+        if (isBlank(buf, start, end)) {
+            return headerParsed;
+        }
+        if (!headerParsed) {
+            parseHeader(new String(buf, start, end - start, StandardCharsets.UTF_8));
+            return true;
+        }
+        rows++;
+        if (!parseRow(buf, start, end)) {
+            rejectedRows++;
+        }
+        return true;
+    }
+
+    private void parseHeader(String header) throws IOException {
+        String[] names = header.split(",", -1);
+        columnCount = names.length;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim().replace("\"", "").toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            switch (name) {
+                case "date", "timestamp" -> dateColumn = i;
+                case "open" -> openColumn = i;
+                case "high" -> highColumn = i;
+                case "low" -> lowColumn = i;
+                case "close" -> closeColumn = i;
+                case "volume" -> volumeColumn = i;
+                case "ticker", "symbol" -> tickerColumn = i;
+                default -> { }
+            }
+        }
+        if (dateColumn < 0 || openColumn < 0 || highColumn < 0 || lowColumn < 0 || closeColumn < 0) {
+            throw new IOException("CSV header must contain Date, Open, High, Low and Close columns: " + header);
+        }
+        if (tickerColumn < 0 && defaultTicker == null) {
+            throw new IOException("CSV has no Ticker/Symbol column and no default ticker was given");
+        }
+    }
+
+    private boolean parseRow(byte[] buf, int start, int end) {
+        int date = Integer.MIN_VALUE;
+        double open = Double.NaN;
+        double high = Double.NaN;
+        double low = Double.NaN;
+        double close = Double.NaN;
+        double volume = volumeColumn < 0 ? 0.0 : Double.NaN;
+        int tickerStart = -1;
+        int tickerEnd = -1;
+
+        int column = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && buf[i] != ',') {
+                continue;
+            }
+            int fs = fieldStart;
+            int fe = i;
+            while (fs < fe && buf[fs] == ' ') fs++;
+            while (fe > fs && buf[fe - 1] == ' ') fe--;
+
+            if (column == dateColumn) {
+                date = parseEpochDay(buf, fs, fe);
+            } else if (column == openColumn) {
+                open = parseDouble(buf, fs, fe);
+            } else if (column == highColumn) {
+                high = parseDouble(buf, fs, fe);
+            } else if (column == lowColumn) {
+                low = parseDouble(buf, fs, fe);
+            } else if (column == closeColumn) {
+                close = parseDouble(buf, fs, fe);
+            } else if (column == volumeColumn) {
+                volume = parseDouble(buf, fs, fe);
+            } else if (column == tickerColumn) {
+                tickerStart = fs;
+                tickerEnd = fe;
+            }
+            column++;
+            fieldStart = i + 1;
+        }
+
+        if (column < columnCount || date == Integer.MIN_VALUE
+                || Double.isNaN(open) || Double.isNaN(high) || Double.isNaN(low)
+                || Double.isNaN(close) || Double.isNaN(volume)) {
+            return false;
+        }
+        PriceSeries.Builder builder = tickerColumn < 0 ? builderFor(defaultTicker) : builderFor(buf, tickerStart, tickerEnd);
+        if (builder == null) {
+            return false;
+        }
+        builder.append(date, open, high, low, close, volume);
+        return true;
+    }
+
+    private PriceSeries.Builder builderFor(String ticker) {
+        if (lastBuilder == null) {
+            lastBuilder = builders.computeIfAbsent(ticker, t -> new PriceSeries.Builder(t, BarResolution.DAY));
+        }
+        return lastBuilder;
+    }
+
+    private PriceSeries.Builder builderFor(byte[] buf, int start, int end) {
+        if (start < 0 || end <= start) {
+            return null;
+        }
+        // Rows of one ticker are usually contiguous, so only allocate a key when the ticker changes
+        if (lastBuilder != null && Arrays.equals(buf, start, end, lastTickerBytes, 0, lastTickerBytes.length)) {
+            return lastBuilder;
+        }
+        lastTickerBytes = Arrays.copyOfRange(buf, start, end);
+        String ticker = new String(lastTickerBytes, StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+        lastBuilder = builders.computeIfAbsent(ticker, t -> new PriceSeries.Builder(t, BarResolution.DAY));
+        return lastBuilder;
+    }
+
+    /**
+     * Parses {@code yyyy-MM-dd} (or {@code yyyy/MM/dd}), optionally followed by a time part, into an epoch day.
+     * Returns {@link Integer#MIN_VALUE} if the field is not a valid date.
+     */
+    static int parseEpochDay(byte[] buf, int start, int end) {
+        if (end - start < 10) {
+            return Integer.MIN_VALUE;
+        }
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 5, 2);
+        int day = digits(buf, start + 8, 2);
+        byte sep1 = buf[start + 4];
+        byte sep2 = buf[start + 7];
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || sep1 != sep2 || (sep1 != '-' && sep1 != '/')
+                || (end - start > 10 && buf[start + 10] != ' ' && buf[start + 10] != 'T')) {
+            return Integer.MIN_VALUE;
+        }
+        // Days from civil (proleptic Gregorian), valid for all years handled here
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int mp = (month + 9) % 12;
+        int doy = (153 * mp + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /**
+     * Parses a decimal number. Uses exact integer-mantissa arithmetic when the result is guaranteed to be
+     * correctly rounded, otherwise falls back to {@link Double#parseDouble}. Returns NaN for invalid input.
+     */
+    static double parseDouble(byte[] buf, int start, int end) {
+        if (start >= end) {
+            return Double.NaN;
+        }
+        int i = start;
+        boolean negative = false;
+        if (buf[i] == '-' || buf[i] == '+') {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean anyDigits = false;
+        boolean seenPoint = false;
+        for (; i < end; i++) {
+            byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                anyDigits = true;
+                if (mantissa == 0 && b == '0') {
+                    if (seenPoint) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (significantDigits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    significantDigits++;
+                    if (seenPoint) {
+                        exponent--;
+                    }
+                } else {
+                    return parseFallback(buf, start, end);
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else if (b == 'e' || b == 'E') {
+                break;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!anyDigits) {
+            return Double.NaN;
+        }
+        if (i < end) {
+            int exp = 0;
+            boolean expNegative = false;
+            i++;
+            if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+                expNegative = buf[i] == '-';
+                i++;
+            }
+            if (i == end) {
+                return Double.NaN;
+            }
+            for (; i < end; i++) {
+                byte b = buf[i];
+                if (b < '0' || b > '9' || exp > 10_000) {
+                    return Double.NaN;
+                }
+                exp = exp * 10 + (b - '0');
+            }
+            exponent += expNegative ? -exp : exp;
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return parseFallback(buf, start, end);
+        }
+        double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    private static double parseFallback(byte[] buf, int start, int end) {
+        try {
+            return Double.parseDouble(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static int digits(byte[] buf, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            byte b = buf[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isBlank(byte[] buf, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buf[i] != ' ' && buf[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
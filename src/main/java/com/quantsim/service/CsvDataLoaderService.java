@@ -1,29 +1,29 @@
 package com.quantsim.service;
 
-import com.quantsim.domain.MarketData;
 import com.quantsim.repository.MarketDataRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Set;
 
 /**
- * Service that loads historical market data from a CSV file at startup.
- * Reads {@code historical_data.csv} from classpath (src/main/resources).
- * CSV format: Date,Open,High,Low,Close,Volume
- * Assumes ticker is "SPY" for the loaded data.
+ * Service that loads historical market data from CSV at startup.
+ * Reads {@code historical_data.csv} from classpath (src/main/resources) as ticker "SPY" unless it has
+ * a Ticker column, then, if {@code quantsim.data.directory} is set, bulk-ingests every CSV file in that
+ * directory through {@link BulkCsvIngestionService}.
+ * Columns are matched by header name: Date,Open,High,Low,Close[,Volume][,Ticker].
+ * <p>
+ * If the repository already holds data at startup (the persistent {@code mapped} and {@code jdbc} stores), CSV parsing is
+ * skipped entirely; use {@code POST /api/v1/data/ingest} to refresh it.
  */
 @Service
 public class CsvDataLoaderService {
@@ -31,16 +31,37 @@ public class CsvDataLoaderService {
     private static final Logger log = LoggerFactory.getLogger(CsvDataLoaderService.class);
     private static final String CSV_FILE = "historical_data.csv";
     private static final String TICKER = "SPY";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
     private final MarketDataRepository marketDataRepository;
+    private final BulkCsvIngestionService bulkCsvIngestionService;
+    private final String dataDirectory;
 
-    public CsvDataLoaderService(MarketDataRepository marketDataRepository) {
+    public CsvDataLoaderService(MarketDataRepository marketDataRepository,
+                                BulkCsvIngestionService bulkCsvIngestionService,
+                                @Value("${quantsim.data.directory:}") String dataDirectory) {
         this.marketDataRepository = marketDataRepository;
+        this.bulkCsvIngestionService = bulkCsvIngestionService;
+        this.dataDirectory = dataDirectory;
     }
 
     @PostConstruct
     public void loadHistoricalData() {
+        Set<String> existing = marketDataRepository.findAllTickers();
+        if (!existing.isEmpty()) {
+            log.info("Repository already holds {} tickers; skipping CSV load", existing.size());
+            return;
+        }
+        loadClasspathData();
+        if (dataDirectory != null && !dataDirectory.isBlank()) {
+            try {
+                bulkCsvIngestionService.ingestDirectory(Path.of(dataDirectory));
+            } catch (IOException | IllegalArgumentException e) {
+                log.error("Failed to ingest data directory '{}': {}", dataDirectory, e.getMessage());
+            }
+        }
+    }
+
+    private void loadClasspathData() {
         try {
             var resource = new ClassPathResource(CSV_FILE);
             if (!resource.exists()) {
@@ -48,64 +69,28 @@ public class CsvDataLoaderService {
                 return;
             }
 
-            List<MarketData> data = parseCsv(resource);
-            if (!data.isEmpty()) {
-                marketDataRepository.save(TICKER, data);
-                log.info("Loaded {} market data records for ticker '{}' from {}", data.size(), TICKER, CSV_FILE);
-            } else {
+            CsvBarParser.Result result = parseCsv(resource);
+            if (result.rejectedRows() > 0) {
+                log.debug("Skipped {} invalid rows in {}", result.rejectedRows(), CSV_FILE);
+            }
+            if (result.series().isEmpty()) {
                 log.warn("No valid data rows found in {}", CSV_FILE);
             }
+            result.series().forEach((ticker, series) -> {
+                marketDataRepository.saveSeries(ticker, series);
+                log.info("Loaded {} market data records for ticker '{}' from {}", series.size(), ticker, CSV_FILE);
+            });
         } catch (IOException e) {
             log.error("Failed to load CSV file '{}': {}", CSV_FILE, e.getMessage());
         }
     }
 
-    private List<MarketData> parseCsv(org.springframework.core.io.Resource resource) throws IOException {
-        List<MarketData> result = new ArrayList<>();
-
-        try (var reader = new BufferedReader(
-                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-
-            String headerLine = reader.readLine();
-            if (headerLine == null || !headerLine.trim().toLowerCase().startsWith("date")) {
-                log.warn("CSV header missing or invalid. Expected: Date,Open,High,Low,Close,Volume");
-                return result;
-            }
-
-            String line;
-            int lineNum = 1;
-            while ((line = reader.readLine()) != null) {
-                lineNum++;
-                line = line.trim();
-                if (line.isEmpty()) continue;
-
-                try {
-                    MarketData md = parseRow(line);
-                    if (md != null) {
-                        result.add(md);
-                    }
-                } catch (Exception e) {
-                    log.debug("Skipping invalid row {}: {} - {}", lineNum, line, e.getMessage());
-                }
-            }
-        }
-
-        return result;
-    }
-
-    private MarketData parseRow(String line) {
-        String[] parts = line.split(",");
-        if (parts.length < 6) {
-            return null;
+    /**
+     * Parses a CSV resource into primitive series, one per ticker; rows without a Ticker column are "SPY".
+     */
+    public CsvBarParser.Result parseCsv(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new CsvBarParser(TICKER).parse(in);
         }
-
-        LocalDate date = LocalDate.parse(parts[0].trim(), DATE_FORMATTER);
-        BigDecimal open = new BigDecimal(parts[1].trim());
-        BigDecimal high = new BigDecimal(parts[2].trim());
-        BigDecimal low = new BigDecimal(parts[3].trim());
-        BigDecimal close = new BigDecimal(parts[4].trim());
-        BigDecimal volume = new BigDecimal(parts[5].trim());
-
-        return new MarketData(date, TICKER, open, high, low, close, volume);
     }
 }
@@ -0,0 +1,134 @@
+package com.quantsim.service;
+
+import com.quantsim.indicator.SeriesIndicators;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Memory-bounded LRU cache of {@link SeriesIndicators}, one per (ticker, data version, date window).
+ * Each cached instance memoizes its (indicator, parameters) columns, so an indicator such as SMA(50) on SPY
+ * is computed once and then shared by every strategy and request that reads the same data.
+ * <p>
+ * Entries are weighed by the bytes of their columns, including columns computed after insertion, and the
+ * least recently used series are evicted while the total exceeds {@code quantsim.indicators.cache-max-bytes}.
+ * An evicted instance stays valid for callers still holding it. As in {@link BacktestResultCache}, keys carry
+ * the data version, so replacing a ticker's data makes its old entries unreachable.
+ */
+@Component
+public class IndicatorCache {
+
+    private final long maxBytes;
+    private final Object lock = new Object();
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public IndicatorCache(@Value("${quantsim.indicators.cache-max-bytes:268435456}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the shared indicators for the window, creating them from {@code closes} on a miss.
+     * Concurrent misses may each read the closes, but only one instance is kept.
+     *
+     * @param ticker  ticker symbol, case-insensitive
+     * @param version the ticker's data version, read before its data
+     * @param from    first date of the window, or null
+     * @param to      last date of the window, or null
+     * @param closes  close column of the window, sorted by date ascending
+     */
+    public SeriesIndicators get(String ticker, long version, LocalDate from, LocalDate to,
+                                Supplier<double[]> closes) {
+        if (maxBytes <= 0) {
+            misses.increment();
+            return SeriesIndicators.ofCloses(closes.get());
+        }
+        Key key = new Key(ticker.toUpperCase(Locale.ROOT), version, from, to);
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.indicators;
+            }
+        }
+        misses.increment();
+
+        Entry created = new Entry(key);
+        created.indicators = SeriesIndicators.ofCloses(closes.get(), columnBytes -> charge(created, columnBytes));
+        synchronized (lock) {
+            Entry raced = entries.putIfAbsent(key, created);
+            if (raced != null) {
+                return raced.indicators;
+            }
+            created.bytes = created.indicators.memoryBytes();
+            bytes += created.bytes;
+            evictOverflow();
+        }
+        return created.indicators;
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    public Stats stats() {
+        synchronized (lock) {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), bytes, maxBytes);
+        }
+    }
+
+    /**
+     * Adds a newly computed column to its entry's weight, unless the entry was never kept or is gone.
+     */
+    private void charge(Entry entry, long columnBytes) {
+        synchronized (lock) {
+            if (entries.get(entry.key) != entry) {
+                return;
+            }
+            entry.bytes += columnBytes;
+            bytes += columnBytes;
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().bytes;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Key(String ticker, long version, LocalDate from, LocalDate to) {}
+
+    private static final class Entry {
+
+        private final Key key;
+        private SeriesIndicators indicators;
+        private long bytes;
+
+        Entry(Key key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Cache counters plus the current and maximum weight in bytes.
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long bytes, long maxBytes) {}
+}
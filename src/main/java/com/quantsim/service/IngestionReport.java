@@ -0,0 +1,34 @@
+package com.quantsim.service;
+
+import java.util.List;
+
+/**
+ * Summary of a bulk CSV ingestion run, with one entry per file.
+ * {@code replacedBars} counts bars dropped because a later bar of the same ticker had the same date.
+ */
+public record IngestionReport(
+        int files,
+        int tickers,
+        long rows,
+        long rejectedRows,
+        long replacedBars,
+        long bytes,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<FileReport> fileReports
+) {
+
+    /**
+     * Outcome for one file. {@code error} is non-null if the file could not be read at all.
+     */
+    public record FileReport(
+            String file,
+            List<String> tickers,
+            long rows,
+            long rejectedRows,
+            long bytes,
+            long elapsedMillis,
+            double rowsPerSecond,
+            String error
+    ) {}
+}
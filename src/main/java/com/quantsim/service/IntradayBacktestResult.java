@@ -0,0 +1,16 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.BacktestResult;
+
+/**
+ * Result of a backtest on resampled intraday data: the stored bars read, the resampled bars simulated,
+ * and whether the bars were streamed from the store rather than materialized as a series.
+ */
+public record IntradayBacktestResult(
+        String ticker,
+        String interval,
+        long storedBars,
+        long bars,
+        boolean streamed,
+        BacktestResult result
+) {}
@@ -0,0 +1,10 @@
+package com.quantsim.service;
+
+import java.time.Instant;
+
+/**
+ * One intraday bar or trade appended to the intraday store. A trade gives only {@code close} (its price)
+ * and optionally {@code volume} (its size); missing open, high and low default to the close, and a missing
+ * volume to zero.
+ */
+public record IntradayBar(Instant time, Double open, Double high, Double low, Double close, Double volume) {}
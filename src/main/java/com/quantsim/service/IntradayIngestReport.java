@@ -0,0 +1,14 @@
+package com.quantsim.service;
+
+/**
+ * Outcome of streaming intraday CSV rows into the store: rows read, rows skipped as invalid or out of
+ * time order, and the ticker's bar count afterwards.
+ */
+public record IntradayIngestReport(
+        String ticker,
+        long rows,
+        long rejectedRows,
+        long bars,
+        long elapsedMillis,
+        double rowsPerSecond
+) {}
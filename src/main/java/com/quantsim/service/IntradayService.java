@@ -0,0 +1,395 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.IncrementalBacktest;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationService;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.BarInterval;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.repository.IntradayBarStore;
+import com.quantsim.repository.ResamplingCursor;
+import com.quantsim.strategy.IncrementalStrategy;
+import com.quantsim.strategy.IndicatorBackedStrategy;
+import com.quantsim.strategy.StrategyRegistry;
+import com.quantsim.strategy.VectorizedStrategy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.ref.SoftReference;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for intraday data: appends bars and trades to the off-heap {@link IntradayBarStore}, resamples
+ * them into {@link BarInterval} bars, and backtests strategies on the result in FAST mode.
+ * <p>
+ * Resampling is lazy. A resampled series is built the first time it is requested and kept behind a
+ * {@link SoftReference}, so the GC can drop it under memory pressure. Because the store is append-only,
+ * a cached series is extended after appends by resampling only the new bars and its last bucket.
+ * Series longer than {@code quantsim.intraday.max-series-bars} are never materialized.
+ * <p>
+ * Backtests of an {@link IncrementalStrategy} without an execution model stream the resampled bars straight
+ * from the store into an {@link IncrementalBacktest}, in constant memory however many bars are stored.
+ * Other strategies need the resampled series as columns, so they are limited to
+ * {@code quantsim.intraday.max-series-bars} bars.
+ */
+@Service
+public class IntradayService {
+
+    private static final int BATCH_SIZE = 4096;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final IntradayBarStore store;
+    private final StrategyRegistry strategyRegistry;
+    private final SimulationService simulationService;
+    private final int maxSeriesBars;
+    private final ConcurrentHashMap<CacheKey, SoftReference<Resampled>> cache = new ConcurrentHashMap<>();
+
+    public IntradayService(IntradayBarStore store,
+                           StrategyRegistry strategyRegistry,
+                           SimulationService simulationService,
+                           @Value("${quantsim.intraday.max-series-bars:2000000}") int maxSeriesBars) {
+        this.store = store;
+        this.strategyRegistry = strategyRegistry;
+        this.simulationService = simulationService;
+        this.maxSeriesBars = maxSeriesBars;
+    }
+
+    /**
+     * Appends bars, in time order, to a ticker. The bars are stored all or none.
+     *
+     * @throws IllegalArgumentException if a bar is invalid or older than the ticker's last bar
+     * @throws com.quantsim.analytics.CapacityExceededException if the store is full
+     */
+    public IntradayStatus append(String ticker, List<IntradayBar> bars) {
+        IntradayBarStore.Batch batch = new IntradayBarStore.Batch(bars.size());
+        for (IntradayBar bar : bars) {
+            if (bar.time() == null) {
+                throw new IllegalArgumentException("Bar time is required");
+            }
+            if (bar.close() == null) {
+                throw new IllegalArgumentException("Bar close is required");
+            }
+            double close = bar.close();
+            double open = bar.open() != null ? bar.open() : close;
+            batch.add(bar.time().toEpochMilli(), open,
+                    bar.high() != null ? bar.high() : Math.max(open, close),
+                    bar.low() != null ? bar.low() : Math.min(open, close),
+                    close,
+                    bar.volume() != null ? bar.volume() : 0.0);
+        }
+        store.append(ticker, batch);
+        return status(ticker).orElseThrow(() -> new TickerNotFoundException(ticker));
+    }
+
+    /**
+     * Streams CSV rows into the store in batches, so the body is never held in memory. The header names the
+     * columns (case-insensitive): {@code Time} (or {@code Timestamp}/{@code DateTime}) and {@code Close}
+     * (or {@code Price}) are required; {@code Open}, {@code High}, {@code Low} and {@code Volume}
+     * (or {@code Size}) are optional. Times are ISO-8601 date-times, UTC unless they carry an offset, or epoch
+     * milliseconds. Invalid rows and rows older than the previous bar are counted and skipped.
+     *
+     * @throws IllegalArgumentException if the header lacks a time or close column
+     */
+    public IntradayIngestReport ingestCsv(String ticker, InputStream in) throws IOException {
+        if (ticker == null || ticker.isBlank()) {
+            throw new IllegalArgumentException("Ticker cannot be null or blank");
+        }
+        long start = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV body is empty");
+        }
+        int timeColumn = -1, openColumn = -1, highColumn = -1, lowColumn = -1, closeColumn = -1, volumeColumn = -1;
+        String[] names = header.split(",");
+        for (int i = 0; i < names.length; i++) {
+            switch (names[i].trim().toLowerCase(Locale.ROOT)) {
+                case "time", "timestamp", "datetime" -> timeColumn = i;
+                case "open" -> openColumn = i;
+                case "high" -> highColumn = i;
+                case "low" -> lowColumn = i;
+                case "close", "price" -> closeColumn = i;
+                case "volume", "size" -> volumeColumn = i;
+                default -> { }
+            }
+        }
+        if (timeColumn < 0 || closeColumn < 0) {
+            throw new IllegalArgumentException("CSV header must contain Time and Close (or Price) columns: " + header);
+        }
+
+        IntradayBarStore.Batch batch = new IntradayBarStore.Batch(BATCH_SIZE);
+        long lastTime = store.reader(ticker).map(IntradayBarStore.Reader::lastTime).orElse(Long.MIN_VALUE);
+        long rows = 0;
+        long rejected = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rows++;
+            String[] fields = line.split(",", -1);
+            try {
+                long time = parseTime(fields[timeColumn].trim());
+                double close = Double.parseDouble(fields[closeColumn].trim());
+                double open = optional(fields, openColumn, close);
+                double high = optional(fields, highColumn, Math.max(open, close));
+                double low = optional(fields, lowColumn, Math.min(open, close));
+                double volume = optional(fields, volumeColumn, 0.0);
+                if (time < lastTime) {
+                    rejected++;
+                    continue;
+                }
+                batch.add(time, open, high, low, close, volume);
+                lastTime = time;
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+                rejected++;
+                continue;
+            }
+            if (batch.isFull()) {
+                store.append(ticker, batch);
+                batch.clear();
+            }
+        }
+        store.append(ticker, batch);
+        long bars = store.reader(ticker).map(IntradayBarStore.Reader::size).orElse(0L);
+        long elapsedNanos = System.nanoTime() - start;
+        return new IntradayIngestReport(ticker.toUpperCase(), rows, rejected, bars, elapsedNanos / 1_000_000,
+                elapsedNanos > 0 ? rows * 1e9 / elapsedNanos : 0.0);
+    }
+
+    public Optional<IntradayStatus> status(String ticker) {
+        return store.reader(ticker).map(reader -> new IntradayStatus(reader.getTicker(), reader.size(),
+                Instant.ofEpochMilli(reader.firstTime()), Instant.ofEpochMilli(reader.lastTime())));
+    }
+
+    public List<IntradayStatus> list() {
+        return store.findAllTickers().stream()
+                .sorted()
+                .map(this::status)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Drops a ticker's bars and its cached resampled series.
+     *
+     * @return false if the ticker has no bars
+     */
+    public boolean delete(String ticker) {
+        boolean deleted = store.delete(ticker);
+        if (deleted) {
+            cache.keySet().removeIf(key -> key.ticker().equals(ticker.toUpperCase()));
+        }
+        return deleted;
+    }
+
+    public IntradayBarStore.Stats stats() {
+        return store.stats();
+    }
+
+    /**
+     * Returns the ticker's bars resampled to {@code interval} and restricted to the UTC dates
+     * {@code [from, to]}; either bound may be null.
+     *
+     * @throws TickerNotFoundException  if the ticker has no intraday bars
+     * @throws IllegalArgumentException if the window would resample to more than
+     *                                  {@code quantsim.intraday.max-series-bars} bars
+     */
+    public PriceSeries series(String ticker, BarInterval interval, LocalDate from, LocalDate to,
+                              ProgressMonitor progress) {
+        checkWindow(from, to);
+        IntradayBarStore.Reader reader = reader(ticker);
+        return series(reader, interval, from, to, fromIndex(reader, from), toIndex(reader, to), progress);
+    }
+
+    /**
+     * Backtests one strategy on the ticker's bars resampled to {@code interval}, in FAST mode. Sharpe ratios
+     * are annualized as for daily bars, so compare them only between backtests on the same interval.
+     *
+     * @throws TickerNotFoundException  if the ticker has no intraday bars
+     * @throws IllegalArgumentException if the window, strategy or parameters are invalid, or the strategy
+     *                                  must materialize more than {@code quantsim.intraday.max-series-bars} bars
+     */
+    public IntradayBacktestResult backtest(String ticker, BarInterval interval, String strategyType,
+                                           Map<String, Double> parameters, BigDecimal initialCapital,
+                                           LocalDate from, LocalDate to, ExecutionModel execution,
+                                           ProgressMonitor progress) {
+        checkWindow(from, to);
+        TradingStrategy strategy = strategyRegistry.getStrategy(strategyType);
+        Map<String, Double> params = parameters != null ? parameters : Map.of();
+        IntradayBarStore.Reader reader = reader(ticker);
+        long fromIndex = fromIndex(reader, from);
+        long toIndex = toIndex(reader, to);
+
+        if (strategy instanceof IncrementalStrategy incremental && execution.isFrictionless()) {
+            IncrementalBacktest backtest = new IncrementalBacktest(initialCapital, incremental.newGenerator(params));
+            ResamplingCursor bars = reader.resample(interval, fromIndex, toIndex);
+            progress.addTotal(toIndex - fromIndex);
+            long reported = 0;
+            while (bars.next()) {
+                backtest.append(bars.close());
+                long read = bars.barsRead();
+                if (read - reported >= ProgressMonitor.CHECK_INTERVAL) {
+                    progress.advance(read - reported);
+                    reported = read;
+                }
+            }
+            progress.advance(bars.barsRead() - reported);
+            return new IntradayBacktestResult(reader.getTicker(), interval.label(), toIndex - fromIndex,
+                    backtest.bars(), true, backtest.result());
+        }
+
+        PriceSeries series = series(reader, interval, from, to, fromIndex, toIndex, progress);
+        double[] closes = SeriesIndicators.closes(series);
+        byte[] signals;
+        if (strategy instanceof VectorizedStrategy vectorized) {
+            signals = new byte[closes.length];
+            vectorized.generateSignals(SeriesIndicators.ofCloses(closes), params, signals);
+        } else if (strategy instanceof IndicatorBackedStrategy backed) {
+            signals = TradeSignal.encode(backed.generateSignals(SeriesIndicators.ofCloses(closes), params),
+                    closes.length);
+        } else {
+            signals = TradeSignal.encode(strategy.generateSignals(series.toMarketDataList(), params), closes.length);
+        }
+        progress.checkCancelled();
+        BacktestResult result = execution.isFrictionless()
+                ? simulationService.simulate(initialCapital, closes, signals, progress)
+                : simulationService.simulate(initialCapital, series, signals, execution, progress);
+        return new IntradayBacktestResult(reader.getTicker(), interval.label(), toIndex - fromIndex,
+                series.size(), false, result);
+    }
+
+    private PriceSeries series(IntradayBarStore.Reader reader, BarInterval interval, LocalDate from, LocalDate to,
+                               long fromIndex, long toIndex, ProgressMonitor progress) {
+        if (maxBuckets(reader, interval, 0, reader.size()) <= maxSeriesBars) {
+            return cachedSeries(reader, interval, progress).sliceByDate(from, to);
+        }
+        if (maxBuckets(reader, interval, fromIndex, toIndex) > maxSeriesBars) {
+            throw new IllegalArgumentException("Resampling " + reader.getTicker() + " to " + interval.label()
+                    + " would exceed " + maxSeriesBars + " bars; use a coarser interval, a shorter date window"
+                    + " or a strategy that supports streaming");
+        }
+        return resample(reader, interval, fromIndex, toIndex,
+                new PriceSeries.Builder(reader.getTicker(), interval.resolution()), progress);
+    }
+
+    /**
+     * Returns the whole resampled series from the cache, resampling only bars appended since it was built.
+     */
+    private PriceSeries cachedSeries(IntradayBarStore.Reader reader, BarInterval interval, ProgressMonitor progress) {
+        CacheKey key = new CacheKey(reader.getTicker(), interval);
+        SoftReference<Resampled> reference = cache.get(key);
+        Resampled cached = reference != null ? reference.get() : null;
+        PriceSeries series;
+        if (cached != null && cached.generation() == reader.generation() && cached.storedBars() == reader.size()) {
+            return cached.series();
+        } else if (cached != null && cached.generation() == reader.generation() && cached.storedBars() < reader.size()) {
+            // The last bucket may have grown, so it is rebuilt from its first stored bar.
+            PriceSeries previous = cached.series();
+            int last = previous.size() - 1;
+            long reopenedFrom = reader.lowerBound(interval.bucketStartMillis(previous.getTimestamp(last)));
+            PriceSeries.Builder builder = new PriceSeries.Builder(reader.getTicker(), interval.resolution())
+                    .appendAll(previous.slice(0, last));
+            series = resample(reader, interval, reopenedFrom, reader.size(), builder, progress);
+        } else {
+            series = resample(reader, interval, 0, reader.size(),
+                    new PriceSeries.Builder(reader.getTicker(), interval.resolution()), progress);
+        }
+        cache.put(key, new SoftReference<>(new Resampled(reader.generation(), reader.size(), series)));
+        return series;
+    }
+
+    private static PriceSeries resample(IntradayBarStore.Reader reader, BarInterval interval, long fromIndex,
+                                        long toIndex, PriceSeries.Builder builder, ProgressMonitor progress) {
+        ResamplingCursor bars = reader.resample(interval, fromIndex, toIndex);
+        progress.addTotal(toIndex - fromIndex);
+        long reported = 0;
+        while (bars.next()) {
+            builder.append(bars.timestamp(), bars.open(), bars.high(), bars.low(), bars.close(), bars.volume());
+            long read = bars.barsRead();
+            if (read - reported >= ProgressMonitor.CHECK_INTERVAL) {
+                progress.advance(read - reported);
+                reported = read;
+            }
+        }
+        progress.advance(bars.barsRead() - reported);
+        return builder.build();
+    }
+
+    /**
+     * Upper bound on the buckets bars {@code [fromIndex, toIndex)} resample to: no more than the bars, and no
+     * more than the buckets between the first and the last bar.
+     */
+    private static long maxBuckets(IntradayBarStore.Reader reader, BarInterval interval, long fromIndex, long toIndex) {
+        if (fromIndex >= toIndex) {
+            return 0;
+        }
+        long span = Math.floorDiv(reader.getTime(toIndex - 1), interval.millis())
+                - Math.floorDiv(reader.getTime(fromIndex), interval.millis()) + 1;
+        return Math.min(toIndex - fromIndex, span);
+    }
+
+    private IntradayBarStore.Reader reader(String ticker) {
+        return store.reader(ticker).orElseThrow(() -> new TickerNotFoundException(ticker));
+    }
+
+    private static long fromIndex(IntradayBarStore.Reader reader, LocalDate from) {
+        return from != null ? reader.lowerBound(from.toEpochDay() * MILLIS_PER_DAY) : 0;
+    }
+
+    private static long toIndex(IntradayBarStore.Reader reader, LocalDate to) {
+        return to != null ? reader.lowerBound(to.plusDays(1).toEpochDay() * MILLIS_PER_DAY) : reader.size();
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+    }
+
+    private static double optional(String[] fields, int column, double fallback) {
+        if (column < 0) {
+            return fallback;
+        }
+        String field = fields[column].trim();
+        return field.isEmpty() ? fallback : Double.parseDouble(field);
+    }
+
+    private static long parseTime(String field) {
+        if (!field.isEmpty() && field.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(field);
+        }
+        TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parse(field.replace(' ', 'T'));
+        if (parsed.isSupported(ChronoField.OFFSET_SECONDS)) {
+            return Instant.from(parsed).toEpochMilli();
+        }
+        return LocalDateTime.from(parsed).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private record CacheKey(String ticker, BarInterval interval) {}
+
+    private record Resampled(long generation, long storedBars, PriceSeries series) {}
+}
@@ -0,0 +1,13 @@
+package com.quantsim.service;
+
+import java.time.Instant;
+
+/**
+ * Stored intraday data of one ticker: its bar count and time span.
+ */
+public record IntradayStatus(
+        String ticker,
+        long bars,
+        Instant firstTime,
+        Instant lastTime
+) {}
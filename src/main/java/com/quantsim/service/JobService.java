@@ -0,0 +1,197 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.CapacityExceededException;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.api.exception.TickerNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Service that runs long backtests and sweeps as asynchronous jobs, so no request thread waits for them.
+ * <p>
+ * Jobs run on a fixed pool of worker threads behind a bounded queue; when the queue is full, submission
+ * fails with {@link CapacityExceededException} (429). Each job gets a {@link ProgressMonitor} that its
+ * simulation loops report to, and cancelling the job cancels the monitor, so a running job stops at its
+ * next progress report. Jobs are kept in a bounded store: once it holds more than {@code max-retained}
+ * jobs, the oldest finished ones are evicted, and finished jobs expire after {@code retention-seconds}.
+ */
+@Service
+public class JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int maxRetained;
+    private final Duration retention;
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, AsyncJob> jobs = new LinkedHashMap<>();
+
+    public JobService(@Value("${quantsim.jobs.workers:2}") int workers,
+                      @Value("${quantsim.jobs.queue-capacity:16}") int queueCapacity,
+                      @Value("${quantsim.jobs.max-retained:1000}") int maxRetained,
+                      @Value("${quantsim.jobs.retention-seconds:3600}") long retentionSeconds) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "quantsim-job-" + threadCount.incrementAndGet()));
+        this.maxRetained = maxRetained;
+        this.retention = Duration.ofSeconds(retentionSeconds);
+    }
+
+    /**
+     * Queues {@code work} and returns its initial status at once.
+     *
+     * @param type kind of work, recorded in the status
+     * @param work computation to run on a worker thread; it should report progress to, and stop when
+     *             cancelled through, the monitor it is given
+     * @throws CapacityExceededException if the job queue is full
+     */
+    public JobStatus submit(JobType type, Function<ProgressMonitor, ?> work) {
+        AsyncJob job = new AsyncJob(UUID.randomUUID().toString(), type, work);
+        synchronized (lock) {
+            evict(Instant.now());
+            jobs.put(job.id, job);
+        }
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                jobs.remove(job.id);
+            }
+            throw new CapacityExceededException("Job queue is full; retry later");
+        }
+        return job.status();
+    }
+
+    public Optional<JobStatus> get(String id) {
+        synchronized (lock) {
+            evict(Instant.now());
+            AsyncJob job = jobs.get(id);
+            return Optional.ofNullable(job).map(AsyncJob::status);
+        }
+    }
+
+    /**
+     * Cancels a job. A queued job is removed from the queue; a running job stops at its next progress
+     * report. Finished jobs are left unchanged.
+     *
+     * @return the job's status after the request, or empty if no such job is retained
+     */
+    public Optional<JobStatus> cancel(String id) {
+        AsyncJob job;
+        synchronized (lock) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.progress.cancel();
+        if (executor.remove(job)) {
+            job.finish(JobState.CANCELLED, null, null);
+        }
+        return Optional.of(job.status());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Drops expired finished jobs, then the oldest finished jobs while the store is over capacity.
+     * Queued and running jobs are bounded by the workers and queue, so they are never evicted.
+     */
+    private void evict(Instant now) {
+        int excess = jobs.size() - maxRetained;
+        Iterator<AsyncJob> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            AsyncJob job = it.next();
+            Instant finishedAt = job.finishedAt;
+            if (finishedAt == null) {
+                continue;
+            }
+            if (excess > 0 || finishedAt.plus(retention).isBefore(now)) {
+                it.remove();
+                excess--;
+            }
+        }
+    }
+
+    private static final class AsyncJob implements Runnable {
+
+        private final String id;
+        private final JobType type;
+        private final Function<ProgressMonitor, ?> work;
+        private final ProgressMonitor progress = new ProgressMonitor();
+        private final Instant submittedAt = Instant.now();
+        private volatile JobState state = JobState.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Object result;
+        private volatile String error;
+
+        private AsyncJob(String id, JobType type, Function<ProgressMonitor, ?> work) {
+            this.id = id;
+            this.type = type;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (state != JobState.QUEUED) {
+                    return;
+                }
+                if (progress.isCancelled()) {
+                    finish(JobState.CANCELLED, null, null);
+                    return;
+                }
+                state = JobState.RUNNING;
+                startedAt = Instant.now();
+            }
+            try {
+                finish(JobState.SUCCEEDED, work.apply(progress), null);
+            } catch (CancellationException e) {
+                finish(JobState.CANCELLED, null, null);
+            } catch (TickerNotFoundException | IllegalArgumentException | CapacityExceededException e) {
+                finish(JobState.FAILED, null, e.getMessage());
+            } catch (Throwable e) {
+                // Errors too (StackOverflowError, OutOfMemoryError): a job must never stay RUNNING forever.
+                log.error("Job {} ({}) failed", id, type, e);
+                finish(JobState.FAILED, null, "Internal error: " + (e.getMessage() != null ? e.getMessage() : e));
+            }
+        }
+
+        private synchronized void finish(JobState finalState, Object result, String error) {
+            if (state.isFinished()) {
+                return;
+            }
+            this.result = result;
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.state = finalState;
+        }
+
+        private synchronized JobStatus status() {
+            return new JobStatus(id, type, state, progress.completed(), progress.total(),
+                    submittedAt, startedAt, finishedAt, result, error);
+        }
+    }
+}
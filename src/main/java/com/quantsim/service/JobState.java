@@ -0,0 +1,16 @@
+package com.quantsim.service;
+
+/**
+ * Lifecycle state of an asynchronous job. {@code SUCCEEDED}, {@code FAILED} and {@code CANCELLED} are final.
+ */
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,24 @@
+package com.quantsim.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of an asynchronous job. {@code processed} and {@code total} count bars or combinations
+ * depending on the {@link JobType}; {@code total} can grow while the job discovers its work.
+ * {@code result} is set once the job has succeeded and {@code error} once it has failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobStatus(
+        String id,
+        JobType type,
+        JobState state,
+        long processed,
+        long total,
+        Instant submittedAt,
+        Instant startedAt,
+        Instant finishedAt,
+        Object result,
+        String error
+) {}
@@ -0,0 +1,17 @@
+package com.quantsim.service;
+
+/**
+ * Kind of work an asynchronous job runs, which also fixes the unit of its progress counters.
+ */
+public enum JobType {
+    /** Single backtest; progress counts simulated bars. */
+    BACKTEST,
+    /** Parameter sweep; progress counts processed combinations. */
+    SWEEP,
+    /** Monte Carlo robustness run; progress counts simulated paths. */
+    MONTE_CARLO,
+    /** Parameter sweep sharded across workers; progress counts finished shards. */
+    SHARDED_SWEEP,
+    /** Backtest on resampled intraday bars; progress counts stored bars read, plus bars simulated if materialized. */
+    INTRADAY_BACKTEST
+}
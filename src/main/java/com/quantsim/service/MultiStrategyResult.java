@@ -0,0 +1,25 @@
+package com.quantsim.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.quantsim.analytics.BacktestResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of several strategies backtested together on one ticker, in request order.
+ */
+public record MultiStrategyResult(String ticker, int bars, List<Entry> results) {
+
+    /**
+     * Outcome of one strategy. Exactly one of {@code result} and {@code error} is set.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(
+            int index,
+            String strategyType,
+            Map<String, Double> parameters,
+            BacktestResult result,
+            String error
+    ) {}
+}
@@ -0,0 +1,8 @@
+package com.quantsim.service;
+
+import java.time.LocalDate;
+
+/**
+ * One new daily bar appended to a streaming session.
+ */
+public record SessionBar(LocalDate date, double close) {}
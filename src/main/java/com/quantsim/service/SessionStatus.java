@@ -0,0 +1,23 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.domain.TradeSignal;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Snapshot of a streaming session: the bars it has consumed, the signal of the latest bar,
+ * whether it holds a position, and the running backtest metrics.
+ */
+public record SessionStatus(
+        String id,
+        String ticker,
+        String strategyType,
+        Map<String, Double> parameters,
+        long bars,
+        LocalDate lastDate,
+        TradeSignal lastSignal,
+        boolean inPosition,
+        BacktestResult result
+) {}
@@ -0,0 +1,36 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.ParameterRange;
+import com.quantsim.analytics.SweepMetric;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merged result of a sweep sharded across workers: the top-ranked (ticker, parameter set) pairs over all
+ * shards, counters summed over the shards that succeeded, and the shards that failed on every attempt.
+ * {@code retries} counts shard attempts repeated after a worker failed or was busy.
+ */
+public record ShardedSweepResult(
+        SweepMetric rankedBy,
+        int tickers,
+        int shards,
+        long combinations,
+        long evaluated,
+        long skipped,
+        int retries,
+        List<Entry> results,
+        List<FailedShard> failures
+) {
+
+    /**
+     * One evaluated parameter set on one ticker.
+     */
+    public record Entry(String ticker, Map<String, Double> parameters, BacktestResult result) {}
+
+    /**
+     * A shard that no worker completed, with the last worker's error.
+     */
+    public record FailedShard(String ticker, Map<String, ParameterRange> parameterRanges, String error) {}
+}
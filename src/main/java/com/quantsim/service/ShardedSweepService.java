@@ -0,0 +1,493 @@
+package com.quantsim.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ParameterRange;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.analytics.SweepMetric;
+import com.quantsim.analytics.SweepResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coordinator for parameter sweeps too large for one instance: splits a sweep over many tickers into shards
+ * of one ticker and one block of at most {@code quantsim.cluster.shard-combinations} parameter combinations,
+ * runs each shard on a worker instance through the worker's ordinary {@code POST /api/v1/sweep} endpoint,
+ * and merges the shards' top results into a global top-N.
+ * <p>
+ * Workers are the base URLs in {@code quantsim.cluster.workers}. Every shard of a ticker prefers the same
+ * worker, chosen by rendezvous hashing of the ticker over the worker list, so each worker reads only the
+ * tickers it is assigned, and repeated sweeps find them in that worker's caches. A worker that refuses a
+ * connection, times out or fails with a server error is considered dead for the rest of the sweep, and its
+ * shards move to the next worker in their ticker's ranking; a busy worker ({@code 429}/{@code 503}) is
+ * retried after a backoff, and a worker without the ticker ({@code 404}) is skipped for that shard. A shard
+ * that fails {@code quantsim.cluster.max-attempts} times is reported in the result instead of failing the
+ * whole sweep. At most {@code quantsim.cluster.max-in-flight} shards run on one worker at a time; each worker
+ * has its own queue of shards, so a busy worker never holds back the others.
+ */
+@Service
+public class ShardedSweepService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedSweepService.class);
+    private static final String SWEEP_PATH = "/api/v1/sweep";
+    /** How often a sweep waiting for its shards checks its monitor and resumes backed-off shards. */
+    private static final long POLL_MILLIS = 50;
+
+    private final ObjectMapper objectMapper;
+    private final List<URI> workers;
+    private final Map<URI, Semaphore> inFlight = new ConcurrentHashMap<>();
+    private final int shardCombinations;
+    private final int maxShards;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Duration requestTimeout;
+    private final HttpClient client;
+    private final ExecutorService pool;
+
+    public ShardedSweepService(ObjectMapper objectMapper,
+                               @Value("${quantsim.cluster.workers:}") String workers,
+                               @Value("${quantsim.cluster.shard-combinations:1000}") int shardCombinations,
+                               @Value("${quantsim.cluster.max-shards:100000}") int maxShards,
+                               @Value("${quantsim.cluster.max-in-flight:2}") int maxInFlight,
+                               @Value("${quantsim.cluster.max-attempts:3}") int maxAttempts,
+                               @Value("${quantsim.cluster.retry-backoff-ms:500}") long retryBackoffMillis,
+                               @Value("${quantsim.cluster.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                               @Value("${quantsim.cluster.request-timeout-ms:600000}") long requestTimeoutMillis) {
+        if (shardCombinations < 1 || maxInFlight < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException(
+                    "quantsim.cluster shard-combinations, max-in-flight and max-attempts must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.workers = Arrays.stream(workers.split(","))
+                .map(String::trim)
+                .filter(worker -> !worker.isEmpty())
+                .map(URI::create)
+                .distinct()
+                .toList();
+        for (URI worker : this.workers) {
+            inFlight.put(worker, new Semaphore(maxInFlight));
+        }
+        this.shardCombinations = shardCombinations;
+        this.maxShards = maxShards;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, this.workers.size() * maxInFlight), runnable -> {
+            Thread thread = new Thread(runnable, "quantsim-shard-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<URI> getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sweeps {@code ranges} of {@code strategyType} over every ticker on the configured workers and returns
+     * the best {@code topN} (ticker, parameter set) pairs. Reports finished shards to {@code progress} and
+     * stops with a {@link CancellationException} once it is cancelled.
+     *
+     * @throws IllegalArgumentException if no workers are configured, the ranges or tickers are empty, the
+     *                                  sweep needs more than {@code quantsim.cluster.max-shards} shards, or
+     *                                  {@code execution} is not {@link ExecutionModel#NONE} outside
+     *                                  {@link SimulationMode#FAST}
+     */
+    public ShardedSweepResult runSweep(List<String> tickers, String strategyType, BigDecimal initialCapital,
+                                       Map<String, ParameterRange> ranges, SweepMetric rankBy, int topN,
+                                       LocalDate startDate, LocalDate endDate, SimulationMode mode,
+                                       ExecutionModel execution, ProgressMonitor progress) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("No sweep workers are configured (quantsim.cluster.workers)");
+        }
+        if (ranges == null || ranges.isEmpty()) {
+            throw new IllegalArgumentException("At least one parameter range is required");
+        }
+        if (mode != SimulationMode.FAST && !execution.isFrictionless()) {
+            throw new IllegalArgumentException("Execution models require FAST mode");
+        }
+        Set<String> distinctTickers = new LinkedHashSet<>();
+        for (String ticker : tickers) {
+            distinctTickers.add(ticker.trim().toUpperCase(Locale.ROOT));
+        }
+        long gridSize = ParameterRange.gridSize(ranges);
+        if (gridSize < 1) {
+            throw new IllegalArgumentException("Parameter grid must have at least one combination");
+        }
+        if ((double) distinctTickers.size() * Math.ceil((double) gridSize / shardCombinations) > maxShards) {
+            throw new IllegalArgumentException("Sweep exceeds the maximum of " + maxShards + " shards");
+        }
+        List<Map<String, ParameterRange>> blocks = ParameterRange.blocks(ranges, shardCombinations);
+        long shardCount = (long) distinctTickers.size() * blocks.size();
+        if (shardCount > maxShards) {
+            throw new IllegalArgumentException("Sweep exceeds the maximum of " + maxShards + " shards");
+        }
+        long combinations = Math.multiplyExact(distinctTickers.size(), gridSize);
+
+        progress.addTotal(shardCount);
+        Dispatch dispatch = new Dispatch(progress, (int) shardCount);
+        for (String ticker : distinctTickers) {
+            List<URI> ranking = rank(ticker);
+            for (Map<String, ParameterRange> block : blocks) {
+                dispatch.route(new PendingShard(new Shard(ticker, strategyType, initialCapital, block, rankBy, topN,
+                        startDate, endDate, mode, execution), ranking));
+            }
+        }
+        List<Outcome> outcomes = dispatch.run();
+        return merge(outcomes, rankBy, topN, distinctTickers.size(), combinations, dispatch.retries);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Makes one attempt at {@code shard} on {@code worker} and classifies the answer.
+     */
+    private Attempt attempt(URI worker, Shard shard) throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(shard);
+        HttpResponse<byte[]> response;
+        try {
+            response = send(worker, body);
+        } catch (IOException e) {
+            return new Attempt(AttemptStatus.DEAD, null, worker + " failed: " + e);
+        }
+        int status = response.statusCode();
+        if (status == 200) {
+            try {
+                return new Attempt(AttemptStatus.DONE,
+                        objectMapper.readValue(response.body(), SweepResult.class), null);
+            } catch (IOException e) {
+                return new Attempt(AttemptStatus.DEAD, null,
+                        worker + " sent an unreadable result: " + e.getMessage());
+            }
+        }
+        String error = worker + " returned " + status + ": " + message(response.body());
+        if (status == 429 || status == 503) {
+            return new Attempt(AttemptStatus.BUSY, null, error);
+        } else if (status == 404) {
+            return new Attempt(AttemptStatus.MISSING, null, error);
+        } else if (status >= 500) {
+            return new Attempt(AttemptStatus.DEAD, null, error);
+        }
+        // Any other client error is the shard's own fault and would fail on every worker
+        return new Attempt(AttemptStatus.REJECTED, null, error);
+    }
+
+    private HttpResponse<byte[]> send(URI worker, byte[] body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(worker.resolve(SWEEP_PATH))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private String message(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("message").asText("");
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Orders the workers for {@code ticker} by rendezvous (highest random weight) hashing, so a ticker keeps
+     * its worker while the worker list is unchanged and only the tickers of a removed worker move.
+     */
+    List<URI> rank(String ticker) {
+        List<URI> ranking = new ArrayList<>(workers);
+        ranking.sort(Comparator.comparingLong((URI worker) -> weight(worker, ticker)).reversed());
+        return ranking;
+    }
+
+    private static long weight(URI worker, String ticker) {
+        // MurmurHash3 finalizer over the pair's hashes
+        long h = worker.toString().hashCode() * 0x9E3779B97F4A7C15L + ticker.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static ShardedSweepResult merge(List<Outcome> outcomes, SweepMetric rankBy, int topN, int tickers,
+                                            long combinations, int retries) {
+        long evaluated = 0;
+        long skipped = 0;
+        List<ShardedSweepResult.Entry> entries = new ArrayList<>();
+        List<ShardedSweepResult.FailedShard> failures = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            Shard shard = outcome.shard();
+            if (outcome.result() == null) {
+                failures.add(new ShardedSweepResult.FailedShard(shard.ticker(), shard.parameterRanges(),
+                        outcome.error()));
+                continue;
+            }
+            evaluated += outcome.result().evaluated();
+            skipped += outcome.result().skipped();
+            for (SweepResult.Entry entry : outcome.result().results()) {
+                entries.add(new ShardedSweepResult.Entry(shard.ticker(), entry.parameters(), entry.result()));
+            }
+        }
+        // Every global top-N entry is in its own shard's top N, so ranking the shards' tops is exact
+        List<ShardedSweepResult.Entry> ranked = entries.stream()
+                .sorted((a, b) -> rankBy.ranking().compare(a.result(), b.result()))
+                .limit(topN)
+                .toList();
+        return new ShardedSweepResult(rankBy, tickers, outcomes.size(), combinations, evaluated, skipped, retries,
+                ranked, failures);
+    }
+
+    /**
+     * Body of a worker's sweep request; field names match {@code SweepRequest}.
+     */
+    private record Shard(
+            String ticker,
+            String strategyType,
+            BigDecimal initialCapital,
+            Map<String, ParameterRange> parameterRanges,
+            SweepMetric rankBy,
+            int topN,
+            LocalDate startDate,
+            LocalDate endDate,
+            SimulationMode mode,
+            ExecutionModel execution
+    ) {}
+
+    private record Outcome(Shard shard, SweepResult result, String error) {}
+
+    private enum AttemptStatus { DONE, BUSY, MISSING, DEAD, REJECTED }
+
+    private record Attempt(AttemptStatus status, SweepResult result, String error) {}
+
+    /**
+     * A shard with the workers it may still run on, in preference order.
+     */
+    private static final class PendingShard {
+
+        private final Shard shard;
+        private final List<URI> candidates;
+        private int attempts;
+        private String error = "No live worker";
+        private long readyAtNanos;
+
+        PendingShard(Shard shard, List<URI> ranking) {
+            this.shard = shard;
+            this.candidates = new ArrayList<>(ranking);
+        }
+    }
+
+    /**
+     * An attempt handed to the pool while holding one of its worker's permits. Whichever of the attempt and
+     * a cancellation claims it first releases the permit, so a cancelled attempt that never started does not
+     * leak it.
+     */
+    private record Running(PendingShard pending, URI worker, Semaphore permits, AtomicBoolean claimed) {
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    /**
+     * State of one sweep, used only by the sweep's calling thread. Every worker has a queue of the shards
+     * routed to it, and a shard is handed to the pool only after one of its worker's permits is acquired, so
+     * no pool thread waits on a busy worker while another worker is idle. The calling thread collects
+     * finished attempts, re-routes failed shards and checks the sweep's monitor between them; a cancelled
+     * sweep cancels its in-flight attempts instead of waiting for them.
+     */
+    private final class Dispatch {
+
+        private final ProgressMonitor progress;
+        private final int shardCount;
+        private final Map<URI, ArrayDeque<PendingShard>> queues = new LinkedHashMap<>();
+        private final List<PendingShard> backingOff = new ArrayList<>();
+        private final Set<URI> dead = new HashSet<>();
+        private final Map<Future<Attempt>, Running> running = new HashMap<>();
+        private final CompletionService<Attempt> completions = new ExecutorCompletionService<>(pool);
+        private final List<Outcome> outcomes;
+        private int retries;
+
+        Dispatch(ProgressMonitor progress, int shardCount) {
+            this.progress = progress;
+            this.shardCount = shardCount;
+            this.outcomes = new ArrayList<>(shardCount);
+            for (URI worker : workers) {
+                queues.put(worker, new ArrayDeque<>());
+            }
+        }
+
+        List<Outcome> run() {
+            try {
+                while (outcomes.size() < shardCount) {
+                    progress.checkCancelled();
+                    resumeBackedOff();
+                    submitReady();
+                    Future<Attempt> done = completions.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    while (done != null) {
+                        complete(done);
+                        done = completions.poll();
+                    }
+                }
+                return outcomes;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for shards");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Shard failed", e.getCause());
+            } finally {
+                running.forEach((future, attempt) -> {
+                    future.cancel(true);
+                    if (attempt.claim()) {
+                        attempt.permits().release();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Queues {@code pending} on its first live candidate, or records it as failed if none is left.
+         */
+        void route(PendingShard pending) {
+            URI worker = pending.candidates.stream().filter(candidate -> !dead.contains(candidate)).findFirst()
+                    .orElse(null);
+            if (worker == null) {
+                finish(pending, null);
+            } else {
+                queues.get(worker).add(pending);
+            }
+        }
+
+        private void resumeBackedOff() {
+            long now = System.nanoTime();
+            for (Iterator<PendingShard> it = backingOff.iterator(); it.hasNext(); ) {
+                PendingShard pending = it.next();
+                if (now - pending.readyAtNanos >= 0) {
+                    it.remove();
+                    route(pending);
+                }
+            }
+        }
+
+        private void submitReady() {
+            for (Map.Entry<URI, ArrayDeque<PendingShard>> queue : queues.entrySet()) {
+                URI worker = queue.getKey();
+                Semaphore permits = inFlight.get(worker);
+                while (!queue.getValue().isEmpty() && permits.tryAcquire()) {
+                    PendingShard pending = queue.getValue().poll();
+                    if (++pending.attempts > 1) {
+                        retries++;
+                    }
+                    Running attempt = new Running(pending, worker, permits, new AtomicBoolean());
+                    Future<Attempt> future = completions.submit(() -> {
+                        if (!attempt.claim()) {
+                            throw new CancellationException("Sweep cancelled");
+                        }
+                        try {
+                            return attempt(worker, pending.shard);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                    running.put(future, attempt);
+                }
+            }
+        }
+
+        private void complete(Future<Attempt> future) throws ExecutionException, InterruptedException {
+            Running attempt = running.remove(future);
+            Attempt result = future.get();
+            PendingShard pending = attempt.pending();
+            if (result.status() == AttemptStatus.DONE) {
+                finish(pending, result.result());
+                return;
+            }
+            pending.error = result.error();
+            if (result.status() == AttemptStatus.REJECTED || pending.attempts >= maxAttempts) {
+                finish(pending, null);
+                return;
+            }
+            switch (result.status()) {
+                case BUSY -> {
+                    pending.readyAtNanos = System.nanoTime()
+                            + TimeUnit.MILLISECONDS.toNanos(retryBackoffMillis * pending.attempts);
+                    backingOff.add(pending);
+                }
+                case MISSING -> {
+                    pending.candidates.remove(attempt.worker());
+                    route(pending);
+                }
+                default -> {
+                    markDead(attempt.worker(), result.error());
+                    route(pending);
+                }
+            }
+        }
+
+        /**
+         * Drops {@code worker} for the rest of the sweep and moves its queued shards to their next candidates.
+         */
+        private void markDead(URI worker, String error) {
+            if (dead.add(worker)) {
+                log.warn("Dropping sweep worker {} for this sweep: {}", worker, error);
+                ArrayDeque<PendingShard> queue = queues.get(worker);
+                List<PendingShard> orphans = new ArrayList<>(queue);
+                queue.clear();
+                orphans.forEach(this::route);
+            }
+        }
+
+        private void finish(PendingShard pending, SweepResult result) {
+            outcomes.add(new Outcome(pending.shard, result, result == null ? pending.error : null));
+            progress.advance(1);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.quantsim.service;
+
+import java.util.Map;
+
+/**
+ * One strategy of a shared-scan run: its type and parameters.
+ */
+public record StrategySpec(String strategyType, Map<String, Double> parameters) {}
@@ -0,0 +1,321 @@
+package com.quantsim.service;
+
+import com.quantsim.analytics.CapacityExceededException;
+import com.quantsim.analytics.IncrementalBacktest;
+import com.quantsim.api.exception.TickerNotFoundException;
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.strategy.IncrementalStrategy;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Service that keeps streaming backtest sessions: one {@link IncrementalStrategy} and parameter set
+ * on one ticker, whose indicator and portfolio state live in an {@link IncrementalBacktest}.
+ * <p>
+ * A session replays the ticker's stored daily history once when it is created; after that each appended bar
+ * updates its signal and metrics in O(1). Sessions can be snapshotted to {@code snapshot-directory}
+ * (one file per session, atomically replaced), are snapshotted on shutdown if configured, and every snapshot
+ * found there is restored at startup.
+ */
+@Service
+public class StreamingSessionService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingSessionService.class);
+
+    static final String EXTENSION = ".qss";
+    private static final int MAGIC = 0x51535353; // "QSSS"
+    private static final int FORMAT_VERSION = 1;
+
+    private final StrategyRegistry strategyRegistry;
+    private final MarketDataRepository marketDataRepository;
+    private final Path snapshotDirectory;
+    private final int maxSessions;
+    private final boolean snapshotOnShutdown;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public StreamingSessionService(StrategyRegistry strategyRegistry,
+                                   MarketDataRepository marketDataRepository,
+                                   @Value("${quantsim.sessions.snapshot-directory:data/sessions}") String snapshotDirectory,
+                                   @Value("${quantsim.sessions.max-sessions:1000}") int maxSessions,
+                                   @Value("${quantsim.sessions.snapshot-on-shutdown:true}") boolean snapshotOnShutdown)
+            throws IOException {
+        this.strategyRegistry = strategyRegistry;
+        this.marketDataRepository = marketDataRepository;
+        this.snapshotDirectory = Path.of(snapshotDirectory);
+        this.maxSessions = maxSessions;
+        this.snapshotOnShutdown = snapshotOnShutdown;
+        if (Files.isDirectory(this.snapshotDirectory)) {
+            try (Stream<Path> files = Files.list(this.snapshotDirectory)) {
+                files.filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                        .forEach(this::restore);
+            }
+            log.info("Restored {} streaming sessions from {}", sessions.size(), this.snapshotDirectory);
+        }
+    }
+
+    /**
+     * Creates a session and replays the ticker's stored daily bars from {@code startDate} (or the first bar).
+     *
+     * @throws TickerNotFoundException   if the ticker has no data
+     * @throws IllegalArgumentException  if the strategy does not support streaming or the parameters are invalid
+     * @throws CapacityExceededException if the maximum number of sessions already exists
+     */
+    public SessionStatus create(String ticker, String strategyType, Map<String, Double> parameters,
+                                BigDecimal initialCapital, LocalDate startDate) {
+        IncrementalStrategy strategy = incrementalStrategy(strategyType);
+        Map<String, Double> params = parameters != null
+                ? Collections.unmodifiableMap(new TreeMap<>(parameters))
+                : Map.of();
+        PriceSeries series = marketDataRepository.findSeriesByTicker(ticker, startDate, null)
+                .orElseThrow(() -> new TickerNotFoundException(ticker));
+        if (series.getResolution() != BarResolution.DAY) {
+            throw new IllegalArgumentException("Streaming sessions support daily series only");
+        }
+        if (sessions.size() >= maxSessions) {
+            throw new CapacityExceededException("Maximum of " + maxSessions + " streaming sessions reached");
+        }
+
+        Session session = new Session(UUID.randomUUID().toString(), ticker.toUpperCase(), strategyType, params,
+                initialCapital, new IncrementalBacktest(initialCapital, strategy.newGenerator(params)));
+        for (int i = 0; i < series.size(); i++) {
+            session.append(series.getTimestamp(i), series.getClose(i));
+        }
+        sessions.put(session.id, session);
+        return session.status();
+    }
+
+    /**
+     * Appends bars, in order, to a session. Each bar must be dated after the session's latest bar.
+     * Bars before an invalid one are kept.
+     *
+     * @return the session's status after the last bar, or empty if no such session exists
+     */
+    public Optional<SessionStatus> append(String id, List<SessionBar> bars) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return Optional.empty();
+        }
+        synchronized (session) {
+            for (SessionBar bar : bars) {
+                if (bar.date() == null) {
+                    throw new IllegalArgumentException("Bar date is required");
+                }
+                if (!(bar.close() > 0.0) || Double.isInfinite(bar.close())) {
+                    throw new IllegalArgumentException("Bar close must be a positive number: " + bar.close());
+                }
+                int timestamp = BarResolution.DAY.fromDate(bar.date());
+                if (session.bars() > 0 && timestamp <= session.lastTimestamp) {
+                    throw new IllegalArgumentException("Bar date " + bar.date() + " is not after the session's last bar "
+                            + BarResolution.DAY.toDate(session.lastTimestamp));
+                }
+                session.append(timestamp, bar.close());
+            }
+            return Optional.of(session.status());
+        }
+    }
+
+    public Optional<SessionStatus> get(String id) {
+        return Optional.ofNullable(sessions.get(id)).map(Session::status);
+    }
+
+    public List<SessionStatus> list() {
+        return sessions.values().stream()
+                .map(Session::status)
+                .sorted((a, b) -> a.id().compareTo(b.id()))
+                .toList();
+    }
+
+    /**
+     * Removes a session and its snapshot file. Takes the session's lock, so a snapshot in progress finishes
+     * first and a later one cannot bring the file back.
+     *
+     * @return false if no such session exists
+     */
+    public boolean delete(String id) {
+        Session session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        synchronized (session) {
+            session.deleted = true;
+            try {
+                Files.deleteIfExists(snapshotFile(id));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete snapshot of session " + id, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the session's current state to its snapshot file, atomically replacing the previous snapshot.
+     *
+     * @return the snapshotted status, or empty if no such session exists
+     */
+    public Optional<SessionStatus> snapshot(String id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return Optional.empty();
+        }
+        try {
+            return write(session);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to snapshot session " + id, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!snapshotOnShutdown) {
+            return;
+        }
+        for (Session session : sessions.values()) {
+            try {
+                write(session);
+            } catch (IOException e) {
+                log.error("Failed to snapshot session {} on shutdown", session.id, e);
+            }
+        }
+    }
+
+    private IncrementalStrategy incrementalStrategy(String strategyType) {
+        TradingStrategy strategy = strategyRegistry.getStrategy(strategyType);
+        if (!(strategy instanceof IncrementalStrategy incremental)) {
+            throw new IllegalArgumentException("Strategy " + strategyType + " does not support streaming sessions");
+        }
+        return incremental;
+    }
+
+    private Path snapshotFile(String id) {
+        return snapshotDirectory.resolve(id + EXTENSION);
+    }
+
+    /**
+     * Writes and moves the snapshot under the session's lock, so concurrent snapshots of one session never
+     * share its temporary file and a deleted session is never written again. Appends wait for the write;
+     * a snapshot is small and does not grow with the number of bars.
+     *
+     * @return the snapshotted status, or empty if the session was deleted
+     */
+    private Optional<SessionStatus> write(Session session) throws IOException {
+        Files.createDirectories(snapshotDirectory);
+        Path file = snapshotFile(session.id);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        synchronized (session) {
+            if (session.deleted) {
+                return Optional.empty();
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(session.id);
+                out.writeUTF(session.ticker);
+                out.writeUTF(session.strategyType);
+                out.writeInt(session.parameters.size());
+                for (Map.Entry<String, Double> parameter : session.parameters.entrySet()) {
+                    out.writeUTF(parameter.getKey());
+                    out.writeDouble(parameter.getValue());
+                }
+                out.writeUTF(session.initialCapital.toPlainString());
+                out.writeInt(session.lastTimestamp);
+                out.writeByte(session.lastSignal);
+                session.backtest.writeState(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Optional.of(session.status());
+        }
+    }
+
+    private void restore(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a QuantSim session snapshot");
+            }
+            String id = in.readUTF();
+            String ticker = in.readUTF();
+            String strategyType = in.readUTF();
+            int parameterCount = in.readInt();
+            Map<String, Double> parameters = new TreeMap<>();
+            for (int i = 0; i < parameterCount; i++) {
+                parameters.put(in.readUTF(), in.readDouble());
+            }
+            BigDecimal initialCapital = new BigDecimal(in.readUTF());
+            IncrementalBacktest backtest = new IncrementalBacktest(initialCapital,
+                    incrementalStrategy(strategyType).newGenerator(parameters));
+            Session session = new Session(id, ticker, strategyType, Collections.unmodifiableMap(parameters),
+                    initialCapital, backtest);
+            session.lastTimestamp = in.readInt();
+            session.lastSignal = in.readByte();
+            backtest.readState(in);
+            sessions.put(id, session);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Skipping unreadable session snapshot '{}': {}", file, e.getMessage());
+        }
+    }
+
+    private static final class Session {
+
+        private final String id;
+        private final String ticker;
+        private final String strategyType;
+        private final Map<String, Double> parameters;
+        private final BigDecimal initialCapital;
+        private final IncrementalBacktest backtest;
+        private int lastTimestamp;
+        private byte lastSignal = TradeSignal.HOLD_CODE;
+        private boolean deleted;
+
+        private Session(String id, String ticker, String strategyType, Map<String, Double> parameters,
+                        BigDecimal initialCapital, IncrementalBacktest backtest) {
+            this.id = id;
+            this.ticker = ticker;
+            this.strategyType = strategyType;
+            this.parameters = parameters;
+            this.initialCapital = initialCapital;
+            this.backtest = backtest;
+        }
+
+        long bars() {
+            return backtest.bars();
+        }
+
+        void append(int timestamp, double close) {
+            lastSignal = backtest.append(close);
+            lastTimestamp = timestamp;
+        }
+
+        synchronized SessionStatus status() {
+            return new SessionStatus(id, ticker, strategyType, parameters, backtest.bars(),
+                    backtest.bars() > 0 ? BarResolution.DAY.toDate(lastTimestamp) : null,
+                    TradeSignal.fromCode(lastSignal), backtest.inPosition(), backtest.result());
+        }
+    }
+}
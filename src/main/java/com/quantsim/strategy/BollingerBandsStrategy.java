@@ -0,0 +1,78 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Bollinger band mean-reversion strategy over a simple moving average of {@code window} closes
+ * plus or minus {@code numStdDev} population standard deviations.
+ * BUY when the close drops below the lower band; SELL when it rises above the upper band.
+ * Requires parameter: window (integer, at least 2). Optional: numStdDev (positive, default 2).
+ * Shares the SMA and standard deviation columns of {@link SeriesIndicators} with other strategies.
+ */
+@Component
+public class BollingerBandsStrategy implements VectorizedStrategy {
+
+    public static final String TYPE = "BOLLINGER_BANDS";
+
+    private static final String WINDOW = "window";
+    private static final String NUM_STD_DEV = "numStdDev";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void validateParameters(Map<String, Double> parameters) {
+        Settings.of(parameters);
+    }
+
+    @Override
+    public void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out) {
+        StrategyParameters.checkLength(indicators, out);
+        Settings settings = Settings.of(parameters);
+        Arrays.fill(out, TradeSignal.HOLD_CODE);
+        int first = settings.window() - 1;
+        if (first >= out.length) {
+            return;
+        }
+        double[] closes = indicators.closes();
+        double[] mean = indicators.sma(settings.window());
+        double[] std = indicators.rollingStd(settings.window());
+        double k = settings.numStdDev();
+        boolean wasBelow = closes[first] < mean[first] - k * std[first];
+        boolean wasAbove = closes[first] > mean[first] + k * std[first];
+        for (int i = first + 1; i < out.length; i++) {
+            double width = k * std[i];
+            boolean below = closes[i] < mean[i] - width;
+            boolean above = closes[i] > mean[i] + width;
+            if (below && !wasBelow) {
+                out[i] = TradeSignal.BUY_CODE;
+            } else if (above && !wasAbove) {
+                out[i] = TradeSignal.SELL_CODE;
+            }
+            wasBelow = below;
+            wasAbove = above;
+        }
+    }
+
+    private record Settings(int window, double numStdDev) {
+
+        static Settings of(Map<String, Double> parameters) {
+            int window = StrategyParameters.requiredInt(parameters, WINDOW);
+            if (window < 2) {
+                throw new IllegalArgumentException("window must be at least 2");
+            }
+            double numStdDev = StrategyParameters.optional(parameters, NUM_STD_DEV, 2.0);
+            if (!(numStdDev > 0.0)) {
+                throw new IllegalArgumentException("numStdDev must be positive");
+            }
+            return new Settings(window, numStdDev);
+        }
+    }
+}
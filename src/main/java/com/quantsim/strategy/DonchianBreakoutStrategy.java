@@ -0,0 +1,65 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Donchian channel breakout strategy on closing prices.
+ * BUY when the close exceeds the highest close of the previous {@code window} bars; SELL when it falls
+ * below the lowest close of the previous {@code exitWindow} bars.
+ * Requires parameter: window (positive integer). Optional: exitWindow (positive integer, default window).
+ * The channels are the shared rolling max/min columns of {@link SeriesIndicators}.
+ */
+@Component
+public class DonchianBreakoutStrategy implements VectorizedStrategy {
+
+    public static final String TYPE = "DONCHIAN_BREAKOUT";
+
+    private static final String WINDOW = "window";
+    private static final String EXIT_WINDOW = "exitWindow";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void validateParameters(Map<String, Double> parameters) {
+        Settings.of(parameters);
+    }
+
+    @Override
+    public void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out) {
+        StrategyParameters.checkLength(indicators, out);
+        Settings settings = Settings.of(parameters);
+        Arrays.fill(out, TradeSignal.HOLD_CODE);
+        int first = Math.max(settings.window(), settings.exitWindow());
+        if (first >= out.length) {
+            return;
+        }
+        double[] closes = indicators.closes();
+        double[] upper = indicators.rollingMax(settings.window());
+        double[] lower = indicators.rollingMin(settings.exitWindow());
+        for (int i = first; i < out.length; i++) {
+            if (closes[i] > upper[i - 1]) {
+                out[i] = TradeSignal.BUY_CODE;
+            } else if (closes[i] < lower[i - 1]) {
+                out[i] = TradeSignal.SELL_CODE;
+            }
+        }
+    }
+
+    private record Settings(int window, int exitWindow) {
+
+        static Settings of(Map<String, Double> parameters) {
+            int window = StrategyParameters.positive(StrategyParameters.requiredInt(parameters, WINDOW), WINDOW);
+            int exitWindow = StrategyParameters.positive(
+                    StrategyParameters.optionalInt(parameters, EXIT_WINDOW, window), EXIT_WINDOW);
+            return new Settings(window, exitWindow);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradingStrategy;
+
+import java.util.Map;
+
+/**
+ * A strategy that can also generate signals incrementally, one new bar at a time, for streaming sessions
+ * that must not re-process history on every update.
+ */
+public interface IncrementalStrategy extends TradingStrategy {
+
+    /**
+     * Creates a generator positioned before the first bar.
+     *
+     * @throws IllegalArgumentException if the parameters are invalid
+     */
+    SignalGenerator newGenerator(Map<String, Double> parameters);
+}
@@ -0,0 +1,25 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A strategy that can generate signals from shared, memoized indicator columns
+ * instead of walking {@link com.quantsim.domain.MarketData} objects itself.
+ * Callers that evaluate many parameter sets over one series should prefer this entry point.
+ */
+public interface IndicatorBackedStrategy extends TradingStrategy {
+
+    /**
+     * Generates signals aligned by index with the series behind {@code indicators}.
+     *
+     * @param indicators shared indicator columns for the series, sorted by date ascending
+     * @param parameters strategy-specific parameters
+     * @return list of signals aligned by index with the series
+     */
+    List<TradeSignal> generateSignals(SeriesIndicators indicators, Map<String, Double> parameters);
+}
@@ -0,0 +1,70 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * MACD signal-line crossover strategy.
+ * BUY when the MACD line ({@code ema(fastPeriod) - ema(slowPeriod)}) crosses above its {@code signalPeriod}
+ * EMA; SELL when it crosses below. The first bar with both lines is always HOLD.
+ * Optional parameters: fastPeriod (default 12), slowPeriod (default 26), signalPeriod (default 9);
+ * all positive integers with fastPeriod &lt; slowPeriod. The EMA, MACD and signal columns are shared
+ * through {@link SeriesIndicators}.
+ */
+@Component
+public class MacdStrategy implements VectorizedStrategy {
+
+    public static final String TYPE = "MACD";
+
+    private static final String FAST_PERIOD = "fastPeriod";
+    private static final String SLOW_PERIOD = "slowPeriod";
+    private static final String SIGNAL_PERIOD = "signalPeriod";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void validateParameters(Map<String, Double> parameters) {
+        Settings.of(parameters);
+    }
+
+    @Override
+    public void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out) {
+        StrategyParameters.checkLength(indicators, out);
+        Settings settings = Settings.of(parameters);
+        Arrays.fill(out, TradeSignal.HOLD_CODE);
+        // The signal line needs slowPeriod closes for the first MACD value, then signalPeriod MACD values
+        int first = settings.slowPeriod() + settings.signalPeriod() - 2;
+        if (first >= out.length) {
+            return;
+        }
+        double[] line = indicators.macd(settings.fastPeriod(), settings.slowPeriod());
+        double[] signal = indicators.macdSignal(settings.fastPeriod(), settings.slowPeriod(), settings.signalPeriod());
+        int prevSign = Double.compare(line[first], signal[first]);
+        for (int i = first + 1; i < out.length; i++) {
+            int sign = Double.compare(line[i], signal[i]);
+            out[i] = (byte) (sign != prevSign ? sign : TradeSignal.HOLD_CODE);
+            prevSign = sign;
+        }
+    }
+
+    private record Settings(int fastPeriod, int slowPeriod, int signalPeriod) {
+
+        static Settings of(Map<String, Double> parameters) {
+            int fast = StrategyParameters.positive(StrategyParameters.optionalInt(parameters, FAST_PERIOD, 12), FAST_PERIOD);
+            int slow = StrategyParameters.positive(StrategyParameters.optionalInt(parameters, SLOW_PERIOD, 26), SLOW_PERIOD);
+            int signal = StrategyParameters.positive(
+                    StrategyParameters.optionalInt(parameters, SIGNAL_PERIOD, 9), SIGNAL_PERIOD);
+            if (fast >= slow) {
+                throw new IllegalArgumentException("fastPeriod must be less than slowPeriod");
+            }
+            return new Settings(fast, slow, signal);
+        }
+    }
+}
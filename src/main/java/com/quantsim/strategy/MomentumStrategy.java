@@ -0,0 +1,62 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Time-series momentum strategy on the rate of change over {@code lookback} bars.
+ * BUY when the rate of change crosses above {@code threshold}; SELL when it crosses below {@code -threshold}.
+ * Requires parameter: lookback (positive integer). Optional: threshold (non-negative fraction, default 0).
+ */
+@Component
+public class MomentumStrategy implements VectorizedStrategy {
+
+    public static final String TYPE = "MOMENTUM";
+
+    private static final String LOOKBACK = "lookback";
+    private static final String THRESHOLD = "threshold";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void validateParameters(Map<String, Double> parameters) {
+        Settings.of(parameters);
+    }
+
+    @Override
+    public void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out) {
+        StrategyParameters.checkLength(indicators, out);
+        Settings settings = Settings.of(parameters);
+        Arrays.fill(out, TradeSignal.HOLD_CODE);
+        double[] roc = indicators.rateOfChange(settings.lookback());
+        double threshold = settings.threshold();
+        for (int i = settings.lookback() + 1; i < out.length; i++) {
+            double previous = roc[i - 1];
+            double current = roc[i];
+            if (previous <= threshold && current > threshold) {
+                out[i] = TradeSignal.BUY_CODE;
+            } else if (previous >= -threshold && current < -threshold) {
+                out[i] = TradeSignal.SELL_CODE;
+            }
+        }
+    }
+
+    private record Settings(int lookback, double threshold) {
+
+        static Settings of(Map<String, Double> parameters) {
+            int lookback = StrategyParameters.positive(StrategyParameters.requiredInt(parameters, LOOKBACK), LOOKBACK);
+            double threshold = StrategyParameters.optional(parameters, THRESHOLD, 0.0);
+            if (!(threshold >= 0.0)) {
+                throw new IllegalArgumentException("threshold must not be negative");
+            }
+            return new Settings(lookback, threshold);
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.quantsim.strategy;
 
 import com.quantsim.domain.MarketData;
 import com.quantsim.domain.TradeSignal;
-import com.quantsim.domain.TradingStrategy;
+import com.quantsim.indicator.SeriesIndicators;
+import com.quantsim.indicator.SimpleMovingAverage;
+import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.ArrayList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -14,78 +17,171 @@ import java.util.Map;
  * Moving average crossover strategy.
  * BUY when short MA crosses above long MA; SELL when short MA crosses below long MA.
  * Requires parameters: shortWindow, longWindow (both positive integers, shortWindow < longWindow).
+ * Runs in O(n) per call regardless of window length, using {@link SimpleMovingAverage} columns
+ * that are shared across calls on the same {@link SeriesIndicators}, or in O(1) per bar through
+ * {@link #newGenerator(Map)} for streaming sessions.
  */
-public class MovingAverageCrossoverStrategy implements TradingStrategy {
+@Component
+public class MovingAverageCrossoverStrategy implements VectorizedStrategy, IncrementalStrategy {
+
+    public static final String TYPE = "MOVING_AVERAGE_CROSSOVER";
 
     private static final String SHORT_WINDOW = "shortWindow";
     private static final String LONG_WINDOW = "longWindow";
+    private static final double MA_TICKS_PER_UNIT = 10_000.0;
+    private static final int BLOCK_SIZE = 4096;
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
 
     @Override
     public List<TradeSignal> generateSignals(List<MarketData> data, Map<String, Double> parameters) {
         if (data == null || data.isEmpty()) {
             return List.of();
         }
+        return generateSignals(SeriesIndicators.of(data), parameters);
+    }
 
-        int shortWindow = getRequiredParam(parameters, SHORT_WINDOW);
-        int longWindow = getRequiredParam(parameters, LONG_WINDOW);
+    @Override
+    public void validateParameters(Map<String, Double> parameters) {
+        Windows.of(parameters);
+    }
 
-        if (shortWindow <= 0 || longWindow <= 0) {
-            throw new IllegalArgumentException("shortWindow and longWindow must be positive");
-        }
-        if (shortWindow >= longWindow) {
-            throw new IllegalArgumentException("shortWindow must be less than longWindow");
+    @Override
+    public void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out) {
+        StrategyParameters.checkLength(indicators, out);
+        if (indicators.size() == 0) {
+            return;
         }
+        Windows windows = Windows.of(parameters);
+        crossoverSignals(indicators.sma(windows.shortWindow()), indicators.sma(windows.longWindow()),
+                windows.longWindow(), out, 0, out.length);
+    }
 
-        List<TradeSignal> signals = new ArrayList<>();
-        for (int i = 0; i < data.size(); i++) {
-            if (i < longWindow - 1) {
-                signals.add(TradeSignal.HOLD);
+    /**
+     * Evaluates every parameter set block by block: each block of bars is processed for all sets
+     * before moving on, so the shared moving-average columns are read from cache.
+     */
+    @Override
+    public void generateSignals(SeriesIndicators indicators, List<Map<String, Double>> parameterSets, byte[][] out) {
+        int sets = parameterSets.size();
+        double[][] shortSmas = new double[sets][];
+        double[][] longSmas = new double[sets][];
+        int[] longWindows = new int[sets];
+        for (int p = 0; p < sets; p++) {
+            StrategyParameters.checkLength(indicators, out[p]);
+            if (indicators.size() == 0) {
                 continue;
             }
+            Windows windows = Windows.of(parameterSets.get(p));
+            longWindows[p] = windows.longWindow();
+            shortSmas[p] = indicators.sma(windows.shortWindow());
+            longSmas[p] = indicators.sma(windows.longWindow());
+        }
 
-            BigDecimal shortMa = computeSma(data, i - shortWindow + 1, i);
-            BigDecimal longMa = computeSma(data, i - longWindow + 1, i);
-
-            TradeSignal signal;
-            if (i == longWindow - 1) {
-                signal = TradeSignal.HOLD;
-            } else {
-                BigDecimal prevShortMa = computeSma(data, i - shortWindow, i - 1);
-                BigDecimal prevLongMa = computeSma(data, i - longWindow, i - 1);
-
-                boolean shortCrossedAbove = shortMa.compareTo(longMa) > 0 && prevShortMa.compareTo(prevLongMa) <= 0;
-                boolean shortCrossedBelow = shortMa.compareTo(longMa) < 0 && prevShortMa.compareTo(prevLongMa) >= 0;
-
-                if (shortCrossedAbove) {
-                    signal = TradeSignal.BUY;
-                } else if (shortCrossedBelow) {
-                    signal = TradeSignal.SELL;
-                } else {
-                    signal = TradeSignal.HOLD;
-                }
+        int n = indicators.size();
+        for (int from = 0; from < n; from += BLOCK_SIZE) {
+            int to = Math.min(n, from + BLOCK_SIZE);
+            for (int p = 0; p < sets; p++) {
+                crossoverSignals(shortSmas[p], longSmas[p], longWindows[p], out[p], from, to);
             }
-            signals.add(signal);
         }
-        return signals;
     }
 
-    private int getRequiredParam(Map<String, Double> parameters, String key) {
-        if (parameters == null || !parameters.containsKey(key)) {
-            throw new IllegalArgumentException("Missing required parameter: " + key);
+    /**
+     * Writes crossover codes for bars {@code [from, to)} from precomputed moving averages.
+     * Averages are compared after rounding to 4 decimal places (HALF_UP), so equal-after-rounding
+     * averages never count as a cross. A cross is a change in the sign of (short - long) between
+     * consecutive bars; the first bar with both averages (index {@code longWindow - 1}) is always HOLD.
+     */
+    private static void crossoverSignals(double[] shortSma, double[] longSma, int longWindow,
+                                         byte[] out, int from, int to) {
+        int first = Math.max(from, longWindow);
+        Arrays.fill(out, from, Math.min(first, to), TradeSignal.HOLD_CODE);
+        if (first >= to) {
+            return;
         }
-        Double value = parameters.get(key);
-        if (value == null) {
-            throw new IllegalArgumentException("Parameter '" + key + "' cannot be null");
+        int prevSign = Long.compare(toTicks(shortSma[first - 1]), toTicks(longSma[first - 1]));
+        for (int i = first; i < to; i++) {
+            int sign = Long.compare(toTicks(shortSma[i]), toTicks(longSma[i]));
+            out[i] = (byte) (sign != prevSign ? sign : TradeSignal.HOLD_CODE);
+            prevSign = sign;
         }
-        return value.intValue();
     }
 
-    private BigDecimal computeSma(List<MarketData> data, int from, int to) {
-        BigDecimal sum = BigDecimal.ZERO;
-        for (int i = from; i <= to; i++) {
-            sum = sum.add(data.get(i).getClose());
+    @Override
+    public SignalGenerator newGenerator(Map<String, Double> parameters) {
+        Windows windows = Windows.of(parameters);
+        return new CrossoverGenerator(windows.shortWindow(), windows.longWindow());
+    }
+
+    private record Windows(int shortWindow, int longWindow) {
+
+        static Windows of(Map<String, Double> parameters) {
+            int shortWindow = StrategyParameters.requiredInt(parameters, SHORT_WINDOW);
+            int longWindow = StrategyParameters.requiredInt(parameters, LONG_WINDOW);
+            if (shortWindow <= 0 || longWindow <= 0) {
+                throw new IllegalArgumentException("shortWindow and longWindow must be positive");
+            }
+            if (shortWindow >= longWindow) {
+                throw new IllegalArgumentException("shortWindow must be less than longWindow");
+            }
+            return new Windows(shortWindow, longWindow);
+        }
+    }
+
+    /**
+     * Incremental form of {@link #crossoverSignals}: the same rounding and sign-change rule on two
+     * {@link SimpleMovingAverage}s, which produce the same values as the batch columns.
+     */
+    private static final class CrossoverGenerator implements SignalGenerator {
+
+        private final SimpleMovingAverage shortSma;
+        private final SimpleMovingAverage longSma;
+        private final int longWindow;
+        private long bars;
+        private int prevSign;
+
+        CrossoverGenerator(int shortWindow, int longWindow) {
+            this.shortSma = new SimpleMovingAverage(shortWindow);
+            this.longSma = new SimpleMovingAverage(longWindow);
+            this.longWindow = longWindow;
         }
-        int count = to - from + 1;
-        return sum.divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP);
+
+        @Override
+        public byte next(double close) {
+            int sign = Long.compare(toTicks(shortSma.update(close)), toTicks(longSma.update(close)));
+            long index = bars++;
+            byte signal = index >= longWindow && sign != prevSign ? (byte) sign : TradeSignal.HOLD_CODE;
+            prevSign = sign;
+            return signal;
+        }
+
+        @Override
+        public void writeState(DataOutput out) throws IOException {
+            out.writeLong(bars);
+            out.writeInt(prevSign);
+            shortSma.writeState(out);
+            longSma.writeState(out);
+        }
+
+        @Override
+        public void readState(DataInput in) throws IOException {
+            bars = in.readLong();
+            prevSign = in.readInt();
+            shortSma.readState(in);
+            longSma.readState(in);
+        }
+    }
+
+    /**
+     * Rounds a moving average to 4 decimal places, HALF_UP, as an integer tick count.
+     */
+    private static long toTicks(double value) {
+        double scaled = Math.abs(value) * MA_TICKS_PER_UNIT;
+        long ticks = (long) Math.floor(scaled + 0.5);
+        return value < 0 ? -ticks : ticks;
     }
 }
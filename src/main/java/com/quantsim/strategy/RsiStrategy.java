@@ -0,0 +1,67 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * RSI mean-reversion strategy.
+ * BUY when the RSI crosses back above {@code oversold}; SELL when it crosses back below {@code overbought}.
+ * Requires parameter: period (positive integer). Optional: oversold (default 30), overbought (default 70),
+ * with 0 &lt;= oversold &lt; overbought &lt;= 100.
+ */
+@Component
+public class RsiStrategy implements VectorizedStrategy {
+
+    public static final String TYPE = "RSI";
+
+    private static final String PERIOD = "period";
+    private static final String OVERSOLD = "oversold";
+    private static final String OVERBOUGHT = "overbought";
+
+    @Override
+    public String getType() {
+        return TYPE;
+    }
+
+    @Override
+    public void validateParameters(Map<String, Double> parameters) {
+        Settings.of(parameters);
+    }
+
+    @Override
+    public void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out) {
+        StrategyParameters.checkLength(indicators, out);
+        Settings settings = Settings.of(parameters);
+        if (out.length == 0) {
+            return;
+        }
+        double[] rsi = indicators.rsi(settings.period());
+        Arrays.fill(out, TradeSignal.HOLD_CODE);
+        for (int i = settings.period() + 1; i < out.length; i++) {
+            double previous = rsi[i - 1];
+            double current = rsi[i];
+            if (previous < settings.oversold() && current >= settings.oversold()) {
+                out[i] = TradeSignal.BUY_CODE;
+            } else if (previous > settings.overbought() && current <= settings.overbought()) {
+                out[i] = TradeSignal.SELL_CODE;
+            }
+        }
+    }
+
+    private record Settings(int period, double oversold, double overbought) {
+
+        static Settings of(Map<String, Double> parameters) {
+            int period = StrategyParameters.positive(StrategyParameters.requiredInt(parameters, PERIOD), PERIOD);
+            double oversold = StrategyParameters.optional(parameters, OVERSOLD, 30.0);
+            double overbought = StrategyParameters.optional(parameters, OVERBOUGHT, 70.0);
+            if (!(oversold >= 0.0 && oversold < overbought && overbought <= 100.0)) {
+                throw new IllegalArgumentException("oversold and overbought must satisfy 0 <= oversold < overbought <= 100");
+            }
+            return new Settings(period, oversold, overbought);
+        }
+    }
+}
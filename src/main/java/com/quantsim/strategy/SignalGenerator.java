@@ -0,0 +1,26 @@
+package com.quantsim.strategy;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Stateful, bar-by-bar signal source for one parameter set of an {@link IncrementalStrategy}.
+ * Feeding a series one close at a time yields the same codes as the strategy's batch signal generation.
+ * Not thread-safe.
+ */
+public interface SignalGenerator {
+
+    /**
+     * Consumes the next close and returns its {@link com.quantsim.domain.TradeSignal} code, in O(1).
+     */
+    byte next(double close);
+
+    /**
+     * Writes the generator's state so that {@link #readState(DataInput)} on a generator created with
+     * the same parameters continues exactly where this one stopped.
+     */
+    void writeState(DataOutput out) throws IOException;
+
+    void readState(DataInput in) throws IOException;
+}
@@ -0,0 +1,49 @@
+package com.quantsim.strategy;
+
+import com.quantsim.indicator.SeriesIndicators;
+
+import java.util.Map;
+
+/**
+ * Parameter and argument checks shared by the strategy implementations.
+ */
+final class StrategyParameters {
+
+    private StrategyParameters() {
+    }
+
+    static int requiredInt(Map<String, Double> parameters, String key) {
+        if (parameters == null || !parameters.containsKey(key)) {
+            throw new IllegalArgumentException("Missing required parameter: " + key);
+        }
+        Double value = parameters.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Parameter '" + key + "' cannot be null");
+        }
+        return value.intValue();
+    }
+
+    static int optionalInt(Map<String, Double> parameters, String key, int defaultValue) {
+        Double value = parameters != null ? parameters.get(key) : null;
+        return value != null ? value.intValue() : defaultValue;
+    }
+
+    static double optional(Map<String, Double> parameters, String key, double defaultValue) {
+        Double value = parameters != null ? parameters.get(key) : null;
+        return value != null ? value : defaultValue;
+    }
+
+    static int positive(int value, String key) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(key + " must be positive");
+        }
+        return value;
+    }
+
+    static void checkLength(SeriesIndicators indicators, byte[] out) {
+        if (out.length != indicators.size()) {
+            throw new IllegalArgumentException("Signal column has " + out.length
+                    + " elements for a series of " + indicators.size());
+        }
+    }
+}
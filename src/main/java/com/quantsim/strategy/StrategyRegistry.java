@@ -3,19 +3,37 @@ package com.quantsim.strategy;
 import com.quantsim.domain.TradingStrategy;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Registry mapping strategy type names to strategy implementations.
+ * Every {@link TradingStrategy} bean in the application context is registered under its
+ * {@link TradingStrategy#getType()}, so adding a strategy only takes a new {@code @Component}.
+ * Also advertises which strategies implement the primitive {@link VectorizedStrategy} contract.
  */
 @Component
 public class StrategyRegistry {
 
-    public static final String MOVING_AVERAGE_CROSSOVER = "MOVING_AVERAGE_CROSSOVER";
+    public static final String MOVING_AVERAGE_CROSSOVER = MovingAverageCrossoverStrategy.TYPE;
 
-    private final Map<String, TradingStrategy> strategies = Map.of(
-            MOVING_AVERAGE_CROSSOVER, new MovingAverageCrossoverStrategy()
-    );
+    private final Map<String, TradingStrategy> strategies;
+
+    /**
+     * @throws IllegalStateException if two strategies declare the same type
+     */
+    public StrategyRegistry(List<TradingStrategy> strategies) {
+        Map<String, TradingStrategy> byType = new HashMap<>();
+        for (TradingStrategy strategy : strategies) {
+            TradingStrategy previous = byType.putIfAbsent(strategy.getType(), strategy);
+            if (previous != null) {
+                throw new IllegalStateException("Strategy type " + strategy.getType() + " is declared by both "
+                        + previous.getClass().getName() + " and " + strategy.getClass().getName());
+            }
+        }
+        this.strategies = Map.copyOf(byType);
+    }
 
     public TradingStrategy getStrategy(String strategyType) {
         TradingStrategy strategy = strategies.get(strategyType);
@@ -24,4 +42,26 @@ public class StrategyRegistry {
         }
         return strategy;
     }
+
+    /**
+     * Returns true if the strategy writes signals into primitive columns ({@link VectorizedStrategy}).
+     */
+    public boolean isVectorized(String strategyType) {
+        return getStrategy(strategyType) instanceof VectorizedStrategy;
+    }
+
+    /**
+     * Describes every registered strategy, ordered by type name.
+     */
+    public List<StrategyInfo> getStrategies() {
+        return strategies.entrySet().stream()
+                .map(entry -> new StrategyInfo(entry.getKey(), entry.getValue() instanceof VectorizedStrategy))
+                .sorted((a, b) -> a.type().compareTo(b.type()))
+                .toList();
+    }
+
+    /**
+     * A registered strategy type and whether it supports the vectorized signal contract.
+     */
+    public record StrategyInfo(String type, boolean vectorized) {}
 }
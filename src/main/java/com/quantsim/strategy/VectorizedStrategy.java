@@ -0,0 +1,64 @@
+package com.quantsim.strategy;
+
+import com.quantsim.domain.MarketData;
+import com.quantsim.domain.TradeSignal;
+import com.quantsim.indicator.SeriesIndicators;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A strategy that writes signals as {@link TradeSignal} codes into caller-supplied {@code byte[]} columns,
+ * computed from the primitive columns behind {@link SeriesIndicators}, instead of building a
+ * {@code List<TradeSignal>}.
+ * <p>
+ * The batch form evaluates many parameter sets in one pass over the data. Implementations should walk
+ * the bars in cache-sized blocks, so the shared indicator columns stay in cache while every parameter set
+ * consumes them, and keep the inner loops free of objects and branches so the JIT can vectorize them.
+ */
+public interface VectorizedStrategy extends IndicatorBackedStrategy {
+
+    /**
+     * Checks {@code parameters} without generating signals.
+     *
+     * @throws IllegalArgumentException if the parameters are missing or invalid
+     */
+    void validateParameters(Map<String, Double> parameters);
+
+    /**
+     * Writes one signal code per bar into {@code out}, which must have {@code indicators.size()} elements.
+     *
+     * @param indicators shared indicator columns for the series, sorted by date ascending
+     * @param parameters strategy-specific parameters
+     * @param out        destination signal column
+     * @throws IllegalArgumentException if the parameters are invalid
+     */
+    void generateSignals(SeriesIndicators indicators, Map<String, Double> parameters, byte[] out);
+
+    /**
+     * Writes signals for every parameter set: {@code out[p]} receives the column for {@code parameterSets.get(p)}.
+     * The default implementation evaluates the sets one after another.
+     *
+     * @throws IllegalArgumentException if any parameter set is invalid
+     */
+    default void generateSignals(SeriesIndicators indicators, List<Map<String, Double>> parameterSets, byte[][] out) {
+        for (int p = 0; p < parameterSets.size(); p++) {
+            generateSignals(indicators, parameterSets.get(p), out[p]);
+        }
+    }
+
+    @Override
+    default List<TradeSignal> generateSignals(List<MarketData> data, Map<String, Double> parameters) {
+        if (data == null || data.isEmpty()) {
+            return List.of();
+        }
+        return generateSignals(SeriesIndicators.of(data), parameters);
+    }
+
+    @Override
+    default List<TradeSignal> generateSignals(SeriesIndicators indicators, Map<String, Double> parameters) {
+        byte[] codes = new byte[indicators.size()];
+        generateSignals(indicators, parameters, codes);
+        return TradeSignal.decode(codes);
+    }
+}
@@ -0,0 +1,273 @@
+package com.quantsim.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quantsim.QuantSimApplication;
+import com.quantsim.analytics.BacktestResult;
+import com.quantsim.analytics.ExecutionModel;
+import com.quantsim.analytics.ParameterRange;
+import com.quantsim.analytics.ProgressMonitor;
+import com.quantsim.analytics.SimulationMode;
+import com.quantsim.analytics.SweepMetric;
+import com.quantsim.analytics.SweepResult;
+import com.quantsim.analytics.SweepService;
+import com.quantsim.domain.BarResolution;
+import com.quantsim.domain.PriceSeries;
+import com.quantsim.repository.MarketDataRepository;
+import com.quantsim.strategy.StrategyRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a sharded sweep against three worker application contexts on random ports and checks that the
+ * coordinator survives the failures it is built for: worker A answers its first requests with {@code 429}
+ * and {@code 503}, worker B is shut down after its first shard, and worker C holds no market data and
+ * answers {@code 404}. The merged top-N must still equal a single-instance sweep of every ticker.
+ */
+class ShardedSweepServiceIntegrationTest {
+
+    private static final String STRATEGY = "MOVING_AVERAGE_CROSSOVER";
+    private static final BigDecimal CAPITAL = new BigDecimal("100000");
+    private static final Map<String, ParameterRange> RANGES = Map.of(
+            "shortWindow", new ParameterRange(2, 20, 2),
+            "longWindow", new ParameterRange(20, 100, 10));
+    private static final int SHARD_COMBINATIONS = 15;
+    private static final int TICKERS_PER_WORKER = 2;
+    private static final int TOP_N = 10;
+    private static final int BARS = 2000;
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private ShardedSweepService coordinator;
+
+    @BeforeEach
+    void startWorkers() {
+        for (int i = 0; i < 3; i++) {
+            // Arguments rather than builder properties, which application.properties would override
+            contexts.add(new SpringApplicationBuilder(QuantSimApplication.class, WorkerFaultsConfiguration.class)
+                    .run("--server.port=0",
+                            "--management.server.port=0",
+                            "--spring.main.banner-mode=off",
+                            "--quantsim.sessions.snapshot-on-shutdown=false"));
+        }
+    }
+
+    @AfterEach
+    void stopWorkers() {
+        if (coordinator != null) {
+            coordinator.shutdown();
+        }
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void sweepSurvivesBusyMissingAndDeadWorkers() throws Exception {
+        ConfigurableApplicationContext busy = contexts.get(0);
+        ConfigurableApplicationContext dying = contexts.get(1);
+        ConfigurableApplicationContext empty = contexts.get(2);
+        URI busyUri = uri(busy);
+        URI dyingUri = uri(dying);
+        URI emptyUri = uri(empty);
+
+        coordinator = new ShardedSweepService(busy.getBean(ObjectMapper.class),
+                busyUri + "," + dyingUri + "," + emptyUri,
+                SHARD_COMBINATIONS, 1000, 2, 6, 20, 1000, 30_000);
+
+        // Pick tickers that prefer each worker, so every failure mode is hit regardless of the random ports
+        Map<URI, List<String>> preferred = new LinkedHashMap<>();
+        for (int i = 0; preferred.values().stream().mapToInt(List::size).sum() < 3 * TICKERS_PER_WORKER; i++) {
+            String ticker = "T" + i;
+            List<String> tickers = preferred.computeIfAbsent(coordinator.rank(ticker).get(0), k -> new ArrayList<>());
+            if (tickers.size() < TICKERS_PER_WORKER) {
+                tickers.add(ticker);
+            }
+        }
+        List<String> tickers = preferred.values().stream().flatMap(List::stream).toList();
+
+        // Workers A and B hold every ticker; C holds none
+        Random random = new Random(42);
+        for (String ticker : tickers) {
+            PriceSeries series = randomWalk(ticker, random);
+            busy.getBean(MarketDataRepository.class).saveSeries(ticker, series);
+            dying.getBean(MarketDataRepository.class).saveSeries(ticker, series);
+        }
+        Map<String, BacktestResult> reference = new HashMap<>();
+        List<BacktestResult> expected = singleInstanceTop(busy, tickers, reference);
+
+        WorkerFaults busyFaults = busy.getBean(WorkerFaults.class);
+        WorkerFaults dyingFaults = dying.getBean(WorkerFaults.class);
+        WorkerFaults emptyFaults = empty.getBean(WorkerFaults.class);
+        busyFaults.busyReplies.set(2);
+        dyingFaults.delayMillis = 100;
+
+        CompletableFuture<ShardedSweepResult> sweep = CompletableFuture.supplyAsync(() -> coordinator.runSweep(
+                tickers, STRATEGY, CAPITAL, RANGES, SweepMetric.SHARPE, TOP_N, null, null,
+                SimulationMode.FAST, ExecutionModel.NONE, ProgressMonitor.NONE));
+        assertTrue(dyingFaults.firstServed.await(30, TimeUnit.SECONDS), "worker B never served a shard");
+        dying.close();
+        ShardedSweepResult result = sweep.get(60, TimeUnit.SECONDS);
+
+        int blocks = ParameterRange.blocks(RANGES, SHARD_COMBINATIONS).size();
+        long gridSize = ParameterRange.gridSize(RANGES);
+        assertTrue(result.failures().isEmpty(), () -> "failed shards: " + result.failures());
+        assertEquals(tickers.size() * blocks, result.shards());
+        assertEquals(tickers.size() * gridSize, result.combinations());
+        assertEquals(result.combinations(), result.evaluated() + result.skipped());
+
+        // 429/503: both refusals were retried after the backoff
+        assertEquals(2, busyFaults.refused.get());
+        // 404: shards of the tickers preferring C were re-routed to a worker that has them
+        assertTrue(emptyFaults.notFound.get() >= TICKERS_PER_WORKER * blocks,
+                () -> "worker C answered 404 only " + emptyFaults.notFound.get() + " times");
+        assertEquals(0, emptyFaults.served.get());
+        // Dead worker: B stopped partway and its remaining shards ran elsewhere
+        assertTrue(dyingFaults.served.get() < TICKERS_PER_WORKER * blocks,
+                () -> "worker B served all " + dyingFaults.served.get() + " shards before it was stopped");
+        assertTrue(result.retries() >= busyFaults.refused.get() + emptyFaults.notFound.get(),
+                () -> "retries " + result.retries());
+
+        // Top-K merge: same ranking as a single-instance sweep, and every entry matches its reference result
+        assertEquals(expected.size(), result.results().size());
+        for (int i = 0; i < expected.size(); i++) {
+            ShardedSweepResult.Entry entry = result.results().get(i);
+            assertEquals(expected.get(i).sharpeRatio(), entry.result().sharpeRatio(), "rank " + i);
+            BacktestResult single = reference.get(key(entry.ticker(), entry.parameters()));
+            assertNotNull(single, () -> "unknown entry " + entry);
+            assertEquals(single, entry.result());
+        }
+    }
+
+    /**
+     * Sweeps every ticker's full grid on {@code worker} in-process and returns the global top-N results;
+     * fills {@code reference} with every evaluated combination.
+     */
+    private static List<BacktestResult> singleInstanceTop(ConfigurableApplicationContext worker, List<String> tickers,
+                                                          Map<String, BacktestResult> reference) {
+        SweepService sweepService = worker.getBean(SweepService.class);
+        StrategyRegistry strategies = worker.getBean(StrategyRegistry.class);
+        MarketDataRepository repository = worker.getBean(MarketDataRepository.class);
+        int gridSize = (int) ParameterRange.gridSize(RANGES);
+        for (String ticker : tickers) {
+            SweepResult result = sweepService.runSweep(strategies.getStrategy(STRATEGY), CAPITAL,
+                    repository.findByTicker(ticker).orElseThrow(), RANGES, SweepMetric.SHARPE, gridSize,
+                    SimulationMode.FAST, ExecutionModel.NONE, ProgressMonitor.NONE);
+            for (SweepResult.Entry entry : result.results()) {
+                reference.put(key(ticker, entry.parameters()), entry.result());
+            }
+        }
+        Comparator<BacktestResult> ranking = SweepMetric.SHARPE.ranking();
+        return reference.values().stream().sorted(ranking).limit(TOP_N).toList();
+    }
+
+    private static String key(String ticker, Map<String, Double> parameters) {
+        return ticker + " " + parameters.get("shortWindow") + " " + parameters.get("longWindow");
+    }
+
+    private static PriceSeries randomWalk(String ticker, Random random) {
+        PriceSeries.Builder builder = new PriceSeries.Builder(ticker, BarResolution.DAY);
+        int start = (int) LocalDate.of(2015, 1, 1).toEpochDay();
+        double price = 100.0;
+        for (int i = 0; i < BARS; i++) {
+            double open = price;
+            price *= 1.0 + random.nextGaussian() * 0.015;
+            builder.append(start + i, open, Math.max(open, price) * 1.005, Math.min(open, price) * 0.995, price,
+                    1_000_000);
+        }
+        return builder.build();
+    }
+
+    private static URI uri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:"
+                + ((ServletWebServerApplicationContext) context).getWebServer().getPort());
+    }
+
+    /**
+     * Extra worker configuration; a plain source class rather than {@code @Configuration}, so the
+     * application's component scan never picks it up.
+     */
+    static class WorkerFaultsConfiguration {
+
+        @Bean
+        WorkerFaults workerFaults() {
+            return new WorkerFaults();
+        }
+    }
+
+    /**
+     * Servlet filter in front of a worker's {@code POST /api/v1/sweep} that refuses the next
+     * {@code busyReplies} requests with alternating {@code 429}/{@code 503}, optionally slows every request
+     * down, and counts what the worker answered.
+     */
+    static class WorkerFaults implements Filter {
+
+        final AtomicInteger busyReplies = new AtomicInteger();
+        final AtomicInteger refused = new AtomicInteger();
+        final AtomicInteger notFound = new AtomicInteger();
+        final AtomicInteger served = new AtomicInteger();
+        final CountDownLatch firstServed = new CountDownLatch(1);
+        volatile long delayMillis;
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            HttpServletResponse http = (HttpServletResponse) response;
+            if (!"/api/v1/sweep".equals(((HttpServletRequest) request).getRequestURI())) {
+                chain.doFilter(request, response);
+                return;
+            }
+            int left = busyReplies.getAndUpdate(n -> Math.max(0, n - 1));
+            if (left > 0) {
+                refused.incrementAndGet();
+                http.setStatus(left % 2 == 0 ? 429 : 503);
+                http.setContentType("application/json");
+                http.getWriter().write("{\"message\":\"busy\"}");
+                return;
+            }
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServletException("Worker stopping", e);
+                }
+            }
+            chain.doFilter(request, response);
+            if (http.getStatus() == 404) {
+                notFound.incrementAndGet();
+            } else if (http.getStatus() == 200) {
+                served.incrementAndGet();
+                firstServed.countDown();
+            }
+        }
+    }
+}